@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar and the vector implementation of the fuel channel power
+ * model. The kernel is filled with random but reproducible values, it does not
+ * need a full plant, so the number of channels can be set to values way above
+ * the 376 channels of the current core.
+ *
+ * @author Viktor Alexander Hartung
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class ChannelPowerModelBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String implementation;
+
+    @Param({"376", "1504", "6016"})
+    public int channels;
+
+    private FuelChannelKernel kernel;
+
+    @Setup
+    public void setup() {
+        kernel = new FuelChannelKernel(channels);
+        if (implementation.equals("scalar")) {
+            kernel.setPowerModel(ScalarChannelPowerModel.INSTANCE);
+        } else if (kernel.getPowerModel() == ScalarChannelPowerModel.INSTANCE) {
+            throw new IllegalStateException(
+                    "Vector power model is not available.");
+        }
+        Random random = new Random(376);
+        double sum = 0.0;
+        for (int idx = 0; idx < channels; idx++) {
+            kernel.affection[idx] = random.nextDouble();
+            kernel.radialWeight[idx] = 0.6 + 0.8 * random.nextDouble();
+            kernel.fuelTemperature[idx] = 280.0 + 450.0 * random.nextDouble();
+            sum += kernel.affection[idx];
+        }
+        kernel.setAverageAffection(sum / channels);
+        kernel.setGlobalFlux(100.0);
+    }
+
+    @Benchmark
+    public double runPowerModel() {
+        return kernel.runPowerModel();
+    }
+}
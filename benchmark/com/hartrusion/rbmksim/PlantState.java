@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.modeling.solvers.DomainAnalogySolver;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Provides a fully initialized simulation at a representative plant state
+ * for the benchmarks. The states are the StartupState library that is
+ * shipped with the simulator, so the benchmarks run the same states the
+ * simulator starts from. A state without its file makes the setup fail, the
+ * benchmark must never measure a different state than the one it claims.
+ *
+ * @author Viktor Alexander Hartung
+ */
+@State(Scope.Benchmark)
+public class PlantState {
+
+    /**
+     * Number of cycles to run after loading before measuring, the first
+     * cycles after loading a state are always slower.
+     */
+    private static final int SETTLE_CYCLES = 50;
+
+    /**
+     * File names of the StartupState values, a single one can be selected
+     * with -p plantState=full-power. The state files are created as described
+     * in src/com/hartrusion/rbmksim/states/README.md.
+     */
+    @Param({"cold-shutdown", "hot-standby", "power-700mw", "full-power"})
+    public String plantState;
+
+    HeadlessSimulator sim;
+    MainLoop mainLoop;
+
+    private ExecutorService threadPool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StartupState state = StartupState.fromFileName(plantState);
+        if (!state.isAvailable()) {
+            throw new IllegalStateException("State " + plantState
+                    + " is not part of this build, see "
+                    + "src/com/hartrusion/rbmksim/states/README.md");
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        threadPool = Executors.newFixedThreadPool(cores);
+        DomainAnalogySolver.setThreadPool(threadPool);
+
+        sim = new HeadlessSimulator(false);
+        mainLoop = sim.getMainLoop();
+        mainLoop.setThreadPool(threadPool, cores);
+
+        sim.queueAction("NewSimulation", state.getFileName());
+        sim.runFor(SETTLE_CYCLES * HeadlessSimulator.STEP_TIME);
+        if (mainLoop.isPaused()) {
+            throw new IllegalStateException(
+                    "Simulation paused during setup of " + plantState);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        threadPool.shutdown();
+    }
+}
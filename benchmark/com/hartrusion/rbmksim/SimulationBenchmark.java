@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.values.ValueSnapshot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the parts of the main loop cycle. Each benchmark calls one
+ * part of the cycle on its own, as the model keeps running with each call
+ * the plant state will drift slowly but stays representative for the short
+ * measurement time.
+ *
+ * <p>
+ * All results are in microseconds per call, compare them against the 100 ms
+ * cycle time.
+ *
+ * @author Viktor Alexander Hartung
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+    /**
+     * Holds a view that receives the snapshots like the GUI does, but without
+     * any open control panel windows.
+     */
+    @State(Scope.Benchmark)
+    public static class ViewState {
+
+        ControlPanelManager view;
+        ValueSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void setup(PlantState state) {
+            view = new ControlPanelManager();
+            snapshot = state.mainLoop.createOutputSnapshot();
+        }
+    }
+
+    @Benchmark
+    public void coreRun(PlantState state) {
+        state.mainLoop.getCore().run();
+    }
+
+    @Benchmark
+    public void coreRunProcessResults(PlantState state) {
+        state.mainLoop.getCore().runProcessResults();
+    }
+
+    @Benchmark
+    public void processRun(PlantState state) {
+        state.mainLoop.getProcess().run();
+    }
+
+    @Benchmark
+    public void turbineRun(PlantState state) {
+        state.mainLoop.getTurbine().run();
+    }
+
+    @Benchmark
+    public ValueSnapshot snapshotCreation(PlantState state) {
+        return state.mainLoop.createOutputSnapshot();
+    }
+
+    @Benchmark
+    public void viewDispatch(ViewState viewState) {
+        viewState.view.updateComponent("OutputSnapshot", viewState.snapshot);
+    }
+
+    /**
+     * Full cycle including all parts, same as called by the scheduler.
+     */
+    @Benchmark
+    public void mainLoopRun(PlantState state) {
+        state.mainLoop.run();
+    }
+}
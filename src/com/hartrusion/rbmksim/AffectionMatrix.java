@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import java.util.List;
+
+/**
+ * Sparse matrix that maps the affection value of each control rod to the
+ * affection of each fuel element. It is stored in compressed sparse row
+ * (CSR) format with one row for each fuel element, each row holds the rods
+ * that affect this fuel element and their weights.
+ * <p>
+ * The weights are already divided by the maximum sum of affections of the
+ * fuel element, so the matrix vector product directly gives the normalized
+ * affection between 0 and 1 for each fuel element. Each row is calculated on
+ * its own, there is no write to shared values which makes it possible to
+ * calculate the rows in any order or in parallel.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class AffectionMatrix {
+
+    private final int rows;
+
+    /**
+     * Index of the first entry of each row in columnIndex and weight, the
+     * entries for row i are from rowStart[i] to rowStart[i + 1] - 1.
+     */
+    private final int[] rowStart;
+
+    /**
+     * Index of the control rod for each entry.
+     */
+    private final int[] columnIndex;
+
+    /**
+     * Normalized weight for each entry.
+     */
+    private final double[] weight;
+
+    /**
+     * The same matrix stored by columns (CSC) to allow updating the result
+     * if only some of the rods have changed. The entries of column j are from
+     * columnStart[j] to columnStart[j + 1] - 1.
+     */
+    private final int[] columnStart;
+    private final int[] rowIndex;
+    private final double[] columnWeight;
+
+    private AffectionMatrix(int rows, int columns, int entries) {
+        this.rows = rows;
+        rowStart = new int[rows + 1];
+        columnIndex = new int[entries];
+        weight = new double[entries];
+        columnStart = new int[columns + 1];
+        rowIndex = new int[entries];
+        columnWeight = new double[entries];
+    }
+
+    /**
+     * Builds the matrix from the affected fuel elements of all control rods.
+     * The initAffection method has to be called on all control rods before,
+     * this also sets the maximum sum of affections for each fuel element in
+     * the kernel which is used for normalization.
+     *
+     * @param controlRods All control rods, their index in this list will be
+     * the column index of the matrix.
+     * @param kernel Holds the max sum of affections of all fuel elements.
+     * @return New matrix
+     */
+    public static AffectionMatrix build(List<ControlRod> controlRods,
+            FuelChannelKernel kernel) {
+        int[] count = new int[kernel.size()];
+        int entries = 0;
+        for (ControlRod rod : controlRods) {
+            for (FuelElement f : rod.getAffectedFuel()) {
+                count[f.getKernelIndex()]++;
+                entries++;
+            }
+        }
+
+        AffectionMatrix m = new AffectionMatrix(kernel.size(),
+                controlRods.size(), entries);
+        for (int row = 0; row < m.rows; row++) {
+            m.rowStart[row + 1] = m.rowStart[row] + count[row];
+        }
+
+        // Fill the rows in order of the control rods, each row will have its
+        // columns in ascending order.
+        int[] next = new int[m.rows];
+        System.arraycopy(m.rowStart, 0, next, 0, m.rows);
+        int row, pos, colPos = 0;
+        List<FuelElement> affected;
+        for (int col = 0; col < controlRods.size(); col++) {
+            affected = controlRods.get(col).getAffectedFuel();
+            m.columnStart[col] = colPos;
+            for (int idx = 0; idx < affected.size(); idx++) {
+                row = affected.get(idx).getKernelIndex();
+                pos = next[row]++;
+                m.columnIndex[pos] = col;
+                m.weight[pos] = controlRods.get(col)
+                        .getAffectedFuelMultiplier(idx)
+                        / kernel.maxSumOfAffections[row];
+                m.rowIndex[colPos] = row;
+                m.columnWeight[colPos] = m.weight[pos];
+                colPos++;
+            }
+        }
+        m.columnStart[controlRods.size()] = colPos;
+        return m;
+    }
+
+    /**
+     * Calculates result = M * rodAffection for all rows.
+     *
+     * @param rodAffection Affection value of each control rod.
+     * @param result Affection of each fuel element, will be overwritten.
+     */
+    public void multiply(double[] rodAffection, double[] result) {
+        multiply(rodAffection, result, 0, rows);
+    }
+
+    /**
+     * Calculates result = M * rodAffection for the rows from (inclusive) to
+     * to (exclusive).
+     *
+     * @param rodAffection Affection value of each control rod.
+     * @param result Affection of each fuel element, will be overwritten.
+     * @param from first row
+     * @param to last row + 1
+     */
+    public void multiply(double[] rodAffection, double[] result,
+            int from, int to) {
+        double sum;
+        for (int row = from; row < to; row++) {
+            sum = 0.0;
+            for (int pos = rowStart[row]; pos < rowStart[row + 1]; pos++) {
+                sum += weight[pos] * rodAffection[columnIndex[pos]];
+            }
+            result[row] = sum;
+        }
+    }
+
+    /**
+     * Updates the result for a change of one rod affection value only by
+     * adding delta times the column to the result. This is much cheaper than
+     * the full multiplication if only a few rods have changed, but it will
+     * accumulate rounding errors, so a full multiplication has to be done from
+     * time to time.
+     *
+     * @param column Index of the control rod that has changed
+     * @param delta Change of the affection value of this rod
+     * @param result Affection of each fuel element, will be updated.
+     */
+    public void addColumn(int column, double delta, double[] result) {
+        for (int pos = columnStart[column]; pos < columnStart[column + 1];
+                pos++) {
+            result[rowIndex[pos]] += delta * columnWeight[pos];
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Number of stored entries.
+     */
+    public int getEntries() {
+        return weight.length;
+    }
+}
@@ -56,6 +56,12 @@ public final class ChannelData {
      */
     public static final int CENTER = (MIN_NUMBER + MAX_NUMBER) / 2;
 
+    /**
+     * Number of entries of an array that holds one value for each possible
+     * position of the LENGTH x LENGTH grid, see getGridIndex.
+     */
+    public static final int GRID_SIZE = LENGTH * LENGTH;
+
     /**
      * Returns the type of channel for a given coordinate. So far this is hand-
      * coded to match a certain pattern which can be found in the docs as svg.
@@ -380,6 +386,19 @@ public final class ChannelData {
         return identifier % 100;
     }
 
+    /**
+     * Index of the given coordinate in a flat array of GRID_SIZE which holds
+     * the values of the whole core. Row by row, beginning with MIN_NUMBER.
+     *
+     * @param idx first coordinate, Y, from bottom to top.
+     * @param jdx second coordinate, X, from left to right.
+     *
+     * @return index from 0 to GRID_SIZE - 1
+     */
+    public static int getGridIndex(int idx, int jdx) {
+        return (idx - MIN_NUMBER) * LENGTH + (jdx - MIN_NUMBER);
+    }
+
     /**
      * Merges the given rotated coordinates back into one identifier, keeping
      * the "no evaporator assigned" identifier zero untouched.
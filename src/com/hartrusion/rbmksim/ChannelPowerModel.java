@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+/**
+ * Calculation of the power model for a range of fuel channels in the
+ * FuelChannelKernel. There is a plain scalar implementation which is always
+ * available and an implementation using the incubating vector API which is
+ * used if the jdk.incubator.vector module is available at runtime.
+ * <p>
+ * All implementations have to give exactly the same results.
+ *
+ * @author Viktor Alexander Hartung
+ */
+interface ChannelPowerModel {
+
+    /**
+     * Runs the power model for the channels from index from (inclusive) to
+     * index to (exclusive). See FuelElement for the description of the model.
+     *
+     * @param kernel Kernel holding the channel values
+     * @param from first channel index
+     * @param to last channel index + 1
+     * @return Sum of the display power of the channels in MW.
+     */
+    double runPowerModel(FuelChannelKernel kernel, int from, int to);
+
+    /**
+     * @return Short name of the implementation, used for logging.
+     */
+    String getName();
+}
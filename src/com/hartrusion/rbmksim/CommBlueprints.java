@@ -54,6 +54,22 @@ public final class CommBlueprints {
                 (dos, value) -> dos.writeInt(value),
                 (dis) -> dis.readInt()
         );
+
+        registry.registerType(double[].class,
+                (dos, value) -> {
+                    dos.writeInt(value.length);
+                    for (double d : value) {
+                        dos.writeDouble(d);
+                    }
+                },
+                (dis) -> {
+                    double[] value = new double[dis.readInt()];
+                    for (int idx = 0; idx < value.length; idx++) {
+                        value[idx] = dis.readDouble();
+                    }
+                    return value;
+                }
+        );
     }
 
     private static void registerEnums(ClassBlueprints registry) {
@@ -62,6 +78,7 @@ public final class CommBlueprints {
         registry.registerEnum(PumpState.class);
         registry.registerEnum(SpeedSelect.class);
         registry.registerEnum(AlarmState.class);
+        registry.registerEnum(SimulationSpeed.class);
 
         // Weitere Enums hier ergänzen, sobald sie beim Test benötigt werden.
     }
@@ -69,5 +86,9 @@ public final class CommBlueprints {
     private static void registerProjectTypes(ClassBlueprints registry) {
         ValueSnapshot.registerToRegistry(registry);
         AlarmListSnapshot.registerToRegistry(registry);
+        registry.registerType(OutputDelta.class,
+                (dos, value) -> value.writeTo(dos),
+                (dis) -> OutputDelta.readFrom(dis)
+        );
     }
 }
\ No newline at end of file
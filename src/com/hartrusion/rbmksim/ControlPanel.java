@@ -18,6 +18,7 @@ package com.hartrusion.rbmksim;
 
 import com.hartrusion.rbmksim.gui.diagrams.DiagramPresets;
 import com.hartrusion.rbmksim.gui.diagrams.InternalFrameDiagram;
+import com.hartrusion.rbmksim.gui.diagrams.TrendHistory;
 import com.hartrusion.rbmksim.gui.panels.PanelCondensation;
 import com.hartrusion.rbmksim.gui.panels.PanelBlowdown;
 import com.hartrusion.rbmksim.gui.panels.PanelMCP;
@@ -51,6 +52,8 @@ import java.util.List;
 import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JInternalFrame;
+import javax.swing.JMenu;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.event.InternalFrameAdapter;
 import javax.swing.event.InternalFrameEvent;
@@ -78,6 +81,16 @@ public class ControlPanel extends javax.swing.JFrame implements
         this.plotData = plotData;
     }
 
+    /**
+     * Recorded values for the line diagrams, shared with the other control
+     * panels.
+     */
+    private TrendHistory trendHistory;
+
+    public void setTrendHistory(TrendHistory trendHistory) {
+        this.trendHistory = trendHistory;
+    }
+
     public void updatePlots() {
         for (InternalFrameDiagram df : diagrams) {
             df.updatePlots();
@@ -123,11 +136,41 @@ public class ControlPanel extends javax.swing.JFrame implements
     private FrameDebugVoiding frameDebugVoiding;
     private FrameDebugFlow frameDebugFlow;
 
+    private JMenu jMenuNewSimulation;
+
     /**
      * Creates new form ControlPanel
      */
     public ControlPanel() {
         initComponents();
+        initNewSimulationMenu();
+    }
+
+    /**
+     * Adds the New Simulation menu with one entry for each StartupState to
+     * the file menu, right above Load. States which are not part of the build
+     * are disabled.
+     */
+    private void initNewSimulationMenu() {
+        jMenuNewSimulation = new JMenu("New Simulation");
+        for (StartupState state : StartupState.values()) {
+            JMenuItem item = new JMenuItem(state.getDescription());
+            item.setEnabled(state.isAvailable());
+            item.addActionListener(evt -> {
+                if (JOptionPane.showConfirmDialog(this,
+                        "Start a new simulation from "
+                        + state.getDescription()
+                        + "? The current state will be lost.",
+                        "New Simulation", JOptionPane.OK_CANCEL_OPTION)
+                        == JOptionPane.OK_OPTION) {
+                    controller.userAction(new ActionCommand(
+                            "NewSimulation", state.getFileName()));
+                }
+            });
+            jMenuNewSimulation.add(item);
+        }
+        jMenuFile.insert(jMenuNewSimulation,
+                jMenuFile.getPopupMenu().getComponentIndex(jMenuLoad));
     }
 
     /**
@@ -139,6 +182,7 @@ public class ControlPanel extends javax.swing.JFrame implements
     // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
     private void initComponents() {
 
+        buttonGroupSpeed = new javax.swing.ButtonGroup();
         jTextField1 = new javax.swing.JTextField();
         jSeparator4 = new javax.swing.JSeparator();
         jScrollPane1 = new javax.swing.JScrollPane();
@@ -148,6 +192,12 @@ public class ControlPanel extends javax.swing.JFrame implements
         jMenuItemNewPanel = new javax.swing.JMenuItem();
         jSeparator5 = new javax.swing.JPopupMenu.Separator();
         jMenuItemPause = new javax.swing.JMenuItem();
+        jMenuSpeed = new javax.swing.JMenu();
+        jRadioButtonMenuItemSpeed1x = new javax.swing.JRadioButtonMenuItem();
+        jRadioButtonMenuItemSpeed2x = new javax.swing.JRadioButtonMenuItem();
+        jRadioButtonMenuItemSpeed5x = new javax.swing.JRadioButtonMenuItem();
+        jRadioButtonMenuItemSpeed10x = new javax.swing.JRadioButtonMenuItem();
+        jRadioButtonMenuItemSpeedMax = new javax.swing.JRadioButtonMenuItem();
         jMenuItemRepair = new javax.swing.JMenuItem();
         jSeparator2 = new javax.swing.JPopupMenu.Separator();
         jMenuLoad = new javax.swing.JMenuItem();
@@ -254,6 +304,36 @@ public class ControlPanel extends javax.swing.JFrame implements
         jMenuItemPause.addActionListener(this::jMenuItemPauseActionPerformed);
         jMenuFile.add(jMenuItemPause);
 
+        jMenuSpeed.setText("Simulation Speed");
+
+        buttonGroupSpeed.add(jRadioButtonMenuItemSpeed1x);
+        jRadioButtonMenuItemSpeed1x.setSelected(true);
+        jRadioButtonMenuItemSpeed1x.setText("1x (Real Time)");
+        jRadioButtonMenuItemSpeed1x.addActionListener(this::jRadioButtonMenuItemSpeed1xActionPerformed);
+        jMenuSpeed.add(jRadioButtonMenuItemSpeed1x);
+
+        buttonGroupSpeed.add(jRadioButtonMenuItemSpeed2x);
+        jRadioButtonMenuItemSpeed2x.setText("2x");
+        jRadioButtonMenuItemSpeed2x.addActionListener(this::jRadioButtonMenuItemSpeed2xActionPerformed);
+        jMenuSpeed.add(jRadioButtonMenuItemSpeed2x);
+
+        buttonGroupSpeed.add(jRadioButtonMenuItemSpeed5x);
+        jRadioButtonMenuItemSpeed5x.setText("5x");
+        jRadioButtonMenuItemSpeed5x.addActionListener(this::jRadioButtonMenuItemSpeed5xActionPerformed);
+        jMenuSpeed.add(jRadioButtonMenuItemSpeed5x);
+
+        buttonGroupSpeed.add(jRadioButtonMenuItemSpeed10x);
+        jRadioButtonMenuItemSpeed10x.setText("10x");
+        jRadioButtonMenuItemSpeed10x.addActionListener(this::jRadioButtonMenuItemSpeed10xActionPerformed);
+        jMenuSpeed.add(jRadioButtonMenuItemSpeed10x);
+
+        buttonGroupSpeed.add(jRadioButtonMenuItemSpeedMax);
+        jRadioButtonMenuItemSpeedMax.setText("Maximum");
+        jRadioButtonMenuItemSpeedMax.addActionListener(this::jRadioButtonMenuItemSpeedMaxActionPerformed);
+        jMenuSpeed.add(jRadioButtonMenuItemSpeedMax);
+
+        jMenuFile.add(jMenuSpeed);
+
         jMenuItemRepair.setText("Repair Ruptured Channels");
         jMenuItemRepair.addActionListener(this::jMenuItemRepairActionPerformed);
         jMenuFile.add(jMenuItemRepair);
@@ -904,7 +984,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         InternalFrameDiagram df = new InternalFrameDiagram();
         JDesktopPaneEnhanced.windowSetSize(df, 500, 300);
         df.setTitle("Neutron Flux");
-        DiagramPresets.neutronFlux(df.getFigure(), plotData);
+        DiagramPresets.neutronFlux(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuNeutronFluxActionPerformed
 
@@ -918,7 +998,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Global Control");
-        DiagramPresets.globalControl(df.getFigure(), plotData);
+        DiagramPresets.globalControl(df.getFigure(), df.createTrendLines(trendHistory));
 
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuGlobalControlActionPerformed
@@ -933,7 +1013,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Drum Separators");
-        DiagramPresets.drums(df.getFigure(), plotData);
+        DiagramPresets.drums(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuDrumSeparatorsActionPerformed
 
@@ -947,7 +1027,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Loop 1 Level Control");
-        DiagramPresets.loopLevelControl(df.getFigure(), plotData, 1);
+        DiagramPresets.loopLevelControl(df.getFigure(), df.createTrendLines(trendHistory), 1);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemLoop1LevelControlActionPerformed
 
@@ -961,7 +1041,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Loop 2 Level Control");
-        DiagramPresets.loopLevelControl(df.getFigure(), plotData, 2);
+        DiagramPresets.loopLevelControl(df.getFigure(), df.createTrendLines(trendHistory), 2);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemLoop2LevelControlActionPerformed
 
@@ -989,7 +1069,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Turbine: HP Temperatures");
-        DiagramPresets.turbineHPTemperatures(df.getFigure(), plotData, false);
+        DiagramPresets.turbineHPTemperatures(df.getFigure(), df.createTrendLines(trendHistory), false);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemTurbineHPTemperaturesActionPerformed
 
@@ -1232,7 +1312,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Turbine: Superheater Control");
-        DiagramPresets.reheaterControl(df.getFigure(), plotData);
+        DiagramPresets.reheaterControl(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemTurbineReheaterDiagActionPerformed
 
@@ -1250,7 +1330,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Loop 2 PRV");
-        DiagramPresets.loopPressureRelievValves(df.getFigure(), plotData, 1);
+        DiagramPresets.loopPressureRelievValves(df.getFigure(), df.createTrendLines(trendHistory), 1);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemPRV2ActionPerformed
 
@@ -1264,7 +1344,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Loop 1 PRV");
-        DiagramPresets.loopPressureRelievValves(df.getFigure(), plotData, 1);
+        DiagramPresets.loopPressureRelievValves(df.getFigure(), df.createTrendLines(trendHistory), 1);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemPRV1ActionPerformed
 
@@ -1362,7 +1442,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("DA 1 Steam");
-        DiagramPresets.daSteam(df.getFigure(), plotData, 1);
+        DiagramPresets.daSteam(df.getFigure(), df.createTrendLines(trendHistory), 1);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemDA1SteamActionPerformed
 
@@ -1376,7 +1456,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("DA 2 Steam");
-        DiagramPresets.daSteam(df.getFigure(), plotData, 1);
+        DiagramPresets.daSteam(df.getFigure(), df.createTrendLines(trendHistory), 1);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemDA2SteamActionPerformed
 
@@ -1390,7 +1470,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Preheaters Model Temperatures");
-        DiagramPresets.preheaterTemperaturesDebugging(df.getFigure(), plotData);
+        DiagramPresets.preheaterTemperaturesDebugging(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemDebugDiagramPreheatersActionPerformed
 
@@ -1404,7 +1484,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Turbine: HP Temperatures");
-        DiagramPresets.turbineHPTemperatures(df.getFigure(), plotData, true);
+        DiagramPresets.turbineHPTemperatures(df.getFigure(), df.createTrendLines(trendHistory), true);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemDebugTurbineHPTempActionPerformed
 
@@ -1418,7 +1498,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Turbine: Expansion");
-        DiagramPresets.turbineExpansion(df.getFigure(), plotData);
+        DiagramPresets.turbineExpansion(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemTurbineExpansionActionPerformed
 
@@ -1432,7 +1512,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Turbine: LP Temperatures");
-        DiagramPresets.turbineLPTemperatures(df.getFigure(), plotData, false);
+        DiagramPresets.turbineLPTemperatures(df.getFigure(), df.createTrendLines(trendHistory), false);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemTurbineLPTemperaturesActionPerformed
 
@@ -1446,7 +1526,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Hotwell and DA Levels");
-        DiagramPresets.hotwellAndDaLevels(df.getFigure(), plotData);
+        DiagramPresets.hotwellAndDaLevels(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemHotwellDALevelsActionPerformed
 
@@ -1519,7 +1599,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Drum Pressure");
-        DiagramPresets.drumPressures(df.getFigure(), plotData);
+        DiagramPresets.drumPressures(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItem2ActionPerformed
 
@@ -1548,7 +1628,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Turbine: LP Temperatures");
-        DiagramPresets.turbineLPTemperatures(df.getFigure(), plotData, true);
+        DiagramPresets.turbineLPTemperatures(df.getFigure(), df.createTrendLines(trendHistory), true);
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemDebugTurbineLPTempActionPerformed
 
@@ -1622,7 +1702,7 @@ public class ControlPanel extends javax.swing.JFrame implements
         // if not, generate a new diagram and make it known.
         InternalFrameDiagram df = new InternalFrameDiagram();
         df.setTitle("Reactor Reactivity Components");
-        DiagramPresets.coreReactivityComponents(df.getFigure(), plotData);
+        DiagramPresets.coreReactivityComponents(df.getFigure(), df.createTrendLines(trendHistory));
         initializeDiagram(df);
     }//GEN-LAST:event_jMenuItemDebugReactivityActionPerformed
 
@@ -1646,6 +1726,26 @@ public class ControlPanel extends javax.swing.JFrame implements
         controller.userAction(new ActionCommand("RepairAllChannels", null));
     }//GEN-LAST:event_jMenuItemRepairActionPerformed
 
+    private void jRadioButtonMenuItemSpeed1xActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jRadioButtonMenuItemSpeed1xActionPerformed
+        controller.userAction(new ActionCommand("SimulationSpeed", SimulationSpeed.X1));
+    }//GEN-LAST:event_jRadioButtonMenuItemSpeed1xActionPerformed
+
+    private void jRadioButtonMenuItemSpeed2xActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jRadioButtonMenuItemSpeed2xActionPerformed
+        controller.userAction(new ActionCommand("SimulationSpeed", SimulationSpeed.X2));
+    }//GEN-LAST:event_jRadioButtonMenuItemSpeed2xActionPerformed
+
+    private void jRadioButtonMenuItemSpeed5xActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jRadioButtonMenuItemSpeed5xActionPerformed
+        controller.userAction(new ActionCommand("SimulationSpeed", SimulationSpeed.X5));
+    }//GEN-LAST:event_jRadioButtonMenuItemSpeed5xActionPerformed
+
+    private void jRadioButtonMenuItemSpeed10xActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jRadioButtonMenuItemSpeed10xActionPerformed
+        controller.userAction(new ActionCommand("SimulationSpeed", SimulationSpeed.X10));
+    }//GEN-LAST:event_jRadioButtonMenuItemSpeed10xActionPerformed
+
+    private void jRadioButtonMenuItemSpeedMaxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jRadioButtonMenuItemSpeedMaxActionPerformed
+        controller.userAction(new ActionCommand("SimulationSpeed", SimulationSpeed.MAX));
+    }//GEN-LAST:event_jRadioButtonMenuItemSpeedMaxActionPerformed
+
     /**
      * Makes some initializations to the mnemonic frame object and add it to the
      * list to have a reference to the created instance.
@@ -1781,6 +1881,7 @@ public class ControlPanel extends javax.swing.JFrame implements
 
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.ButtonGroup buttonGroupSpeed;
     private com.hartrusion.util.JDesktopPaneEnhanced jDesktopPane1;
     private javax.swing.JMenuItem jMenuAbout;
     private javax.swing.JMenuBar jMenuBar1;
@@ -1858,8 +1959,14 @@ public class ControlPanel extends javax.swing.JFrame implements
     private javax.swing.JMenu jMenuPresets;
     private javax.swing.JMenuItem jMenuSave;
     private javax.swing.JMenu jMenuSecret;
+    private javax.swing.JMenu jMenuSpeed;
     private javax.swing.JMenu jMenuView;
     private javax.swing.JMenuItem jMenuWords;
+    private javax.swing.JRadioButtonMenuItem jRadioButtonMenuItemSpeed10x;
+    private javax.swing.JRadioButtonMenuItem jRadioButtonMenuItemSpeed1x;
+    private javax.swing.JRadioButtonMenuItem jRadioButtonMenuItemSpeed2x;
+    private javax.swing.JRadioButtonMenuItem jRadioButtonMenuItemSpeed5x;
+    private javax.swing.JRadioButtonMenuItem jRadioButtonMenuItemSpeedMax;
     private javax.swing.JScrollPane jScrollPane1;
     private javax.swing.JPopupMenu.Separator jSeparator1;
     private javax.swing.JPopupMenu.Separator jSeparator10;
@@ -1896,6 +2003,7 @@ public class ControlPanel extends javax.swing.JFrame implements
      * that are not available on clients)
      */
     public void setAsClient() {
+        jMenuNewSimulation.setEnabled(false);
         jMenuLoad.setEnabled(false);
         jMenuSave.setEnabled(false);
         jMenuItemStartServer.setEnabled(false);
@@ -1905,6 +2013,21 @@ public class ControlPanel extends javax.swing.JFrame implements
 
     @Override
     public void updateComponent(PropertyChangeEvent evt) {
+        if (evt.getPropertyName().equals("SimulationSpeed")) {
+            switch ((SimulationSpeed) evt.getNewValue()) {
+                case X1 ->
+                    jRadioButtonMenuItemSpeed1x.setSelected(true);
+                case X2 ->
+                    jRadioButtonMenuItemSpeed2x.setSelected(true);
+                case X5 ->
+                    jRadioButtonMenuItemSpeed5x.setSelected(true);
+                case X10 ->
+                    jRadioButtonMenuItemSpeed10x.setSelected(true);
+                case MAX ->
+                    jRadioButtonMenuItemSpeedMax.setSelected(true);
+            }
+            return;
+        }
         for (InternalFramePanel pf : panels) {
             pf.updateComponent(evt);
         }
@@ -1950,6 +2073,23 @@ public class ControlPanel extends javax.swing.JFrame implements
         if (coreActivity2 != null) {
             coreActivity2.updateComponent(propertyName, newValue);
         }
+        // Array parameters with one value for each channel are only used
+        // by the core displays.
+        if (newValue instanceof double[]) {
+            if (frameDebugTemperature != null) {
+                frameDebugTemperature.updateComponent(propertyName, newValue);
+            }
+            if (frameDebugPower != null) {
+                frameDebugPower.updateComponent(propertyName, newValue);
+            }
+            if (frameDebugVoiding != null) {
+                frameDebugVoiding.updateComponent(propertyName, newValue);
+            }
+            if (frameDebugFlow != null) {
+                frameDebugFlow.updateComponent(propertyName, newValue);
+            }
+            return;
+        }
 
         for (InternalFramePanel pf : panels) {
             pf.updateComponent(propertyName, newValue);
@@ -1996,18 +2136,6 @@ public class ControlPanel extends javax.swing.JFrame implements
         if (coreActivity2 != null) {
             coreActivity2.updateComponent(propertyName, newValue);
         }
-        if (frameDebugTemperature != null) {
-            frameDebugTemperature.updateComponent(propertyName, newValue);
-        }
-        if (frameDebugPower != null) {
-            frameDebugPower.updateComponent(propertyName, newValue);
-        }
-        if (frameDebugVoiding != null) {
-            frameDebugVoiding.updateComponent(propertyName, newValue);
-        }
-        if (frameDebugFlow != null) {
-            frameDebugFlow.updateComponent(propertyName, newValue);
-        }
     }
 
     @Override
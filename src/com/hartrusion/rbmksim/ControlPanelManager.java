@@ -18,6 +18,8 @@ package com.hartrusion.rbmksim;
 
 import java.beans.PropertyChangeEvent;
 import com.hartrusion.values.ValueHandler;
+import com.hartrusion.values.ValueSnapshot;
+import com.hartrusion.rbmksim.gui.diagrams.TrendHistory;
 import com.hartrusion.mvc.InteractiveView;
 import com.hartrusion.mvc.UpdateReceiver;
 import com.hartrusion.mvc.ViewerController;
@@ -38,8 +40,22 @@ public class ControlPanelManager implements InteractiveView {
 
     private List alarmList;
 
+    /**
+     * Full state of all output values, put together from the last full
+     * snapshot and all deltas that were received since then.
+     */
     private ValueHandler plotData;
 
+    /**
+     * History of the values shown in the line diagrams of all panels.
+     */
+    private final TrendHistory trendHistory = new TrendHistory();
+
+    /**
+     * Deltas can only be applied after a full snapshot was received.
+     */
+    private boolean hasKeyframe;
+
     private boolean isClient;
 
     /**
@@ -67,6 +83,7 @@ public class ControlPanelManager implements InteractiveView {
         });
         p.registerController(controller);
         p.setPlotData(plotData);
+        p.setTrendHistory(trendHistory);
         if (alarmList != null) {
             p.setAlarmList(alarmList);
         }
@@ -119,8 +136,35 @@ public class ControlPanelManager implements InteractiveView {
     @Override
     public void updateComponent(String propertyName, Object newValue) {
         if (propertyName.equals("OutputSnapshot")) {
-            plotData.processSnapshot((com.hartrusion.values.ValueSnapshot) newValue);
+            hasKeyframe = true;
+            plotData.processSnapshot((ValueSnapshot) newValue);
             plotData.fireAllToMvcView(this);
+            trendHistory.record(
+                    plotData.getParameterDouble("Simulation#Time"), plotData);
+
+            for (ControlPanel p : controlPanels) {
+                p.updatePlots();
+            }
+            return;
+        }
+        // Only the changed values are sent in between the full snapshots,
+        // they are applied to the current values and only they have to be
+        // sent to the views. The line diagrams get their values from the
+        // trend history.
+        if (propertyName.equals("OutputDelta")) {
+            if (!hasKeyframe) {
+                return; // connected in between, wait for the next one.
+            }
+            OutputDelta delta = (OutputDelta) newValue;
+            for (int idx = 0; idx < delta.size(); idx++) {
+                plotData.setParameterValue(delta.getName(idx),
+                        delta.getValue(idx));
+            }
+            trendHistory.record(
+                    plotData.getParameterDouble("Simulation#Time"), plotData);
+            for (int idx = 0; idx < delta.size(); idx++) {
+                updateComponent(delta.getName(idx), delta.getValue(idx));
+            }
 
             for (ControlPanel p : controlPanels) {
                 p.updatePlots();
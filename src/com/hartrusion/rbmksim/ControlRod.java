@@ -49,6 +49,24 @@ public class ControlRod extends ReactorElement implements Runnable {
 
     private double displacerBoost;
 
+    /**
+     * Value between 0 (fully inserted) and 1 that describes how much this rod
+     * allows the surrounding fuel elements to produce power. It is applied to
+     * the fuel elements with the AffectionMatrix.
+     */
+    private double affection;
+
+    /**
+     * Position for which absorption, displacer boost and affection were
+     * calculated. NaN forces a new calculation.
+     */
+    private double lastPosition = Double.NaN;
+
+    /**
+     * True if the rod position has changed in the last run call.
+     */
+    private boolean changed;
+
     private final ChannelType rodType;
 
     /**
@@ -121,6 +139,7 @@ public class ControlRod extends ReactorElement implements Runnable {
      * Name of the parameter that is this rods position
      */
     private final String positionParameter;
+    private int positionHandle;
 
     /**
      * Property Change Event description which describes the control state.
@@ -176,6 +195,12 @@ public class ControlRod extends ReactorElement implements Runnable {
         selectedProperty = "Reactor#RodSelection" + String.format("%04d", identifier);
     }
 
+    @Override
+    public void registerParameterRegistry(ParameterRegistry registry) {
+        super.registerParameterRegistry(registry);
+        positionHandle = registry.register(positionParameter);
+    }
+
     @Override
     public void run() {
         if (controller != null) {
@@ -185,12 +210,19 @@ public class ControlRod extends ReactorElement implements Runnable {
             }
         }
         swi.run();
-        calculateAbsorption();
-        calculateDisplacerBoost();
-        distributeAffection();
+        // Absorption, displacer boost and affection only depend on the 
+        // position, most rods do not move in most cycles so there is nothing
+        // to be updated for them.
+        changed = swi.getOutput() != lastPosition;
+        if (changed) {
+            calculateAbsorption();
+            calculateDisplacerBoost();
+            calculateAffection();
+            lastPosition = swi.getOutput();
+        }
 
         // Send the current position as parameter
-        outputValues.setParameterValue(positionParameter, swi.getOutput());
+        parameters.set(positionHandle, swi.getOutput());
 
         // Send the control state to registered listeners
         if (automatic != oldAutomatic) {
@@ -333,23 +365,40 @@ public class ControlRod extends ReactorElement implements Runnable {
     }
 
     /**
-     * Distributes the current affection value from this control rod to all
-     * surounding fuel rods.
+     * Calculates the current affection value of this control rod. It will be
+     * distributed to all surrounding fuel rods by the AffectionMatrix.
      */
-    private void distributeAffection() {
-        FuelElement f;
-        double affection = (maxAbsorption - absorption) / maxAbsorption;
-        if (affection > 1e-18) {
-            for (int idx = 0; idx < affectedFuel.size(); idx++) {
-                affectedFuel.get(idx).addAffection(
-                        affection * affectedFuelMultiplier[idx]);
-            }
+    private void calculateAffection() {
+        affection = (maxAbsorption - absorption) / maxAbsorption;
+        if (affection <= 1e-18) {
+            affection = 0.0;
         }
     }
 
+    /**
+     * Tells if the position and therefore absorption, displacer boost and
+     * affection values have changed in the last run call.
+     *
+     * @return true if the rod has moved.
+     */
+    public boolean hasChanged() {
+        return changed;
+    }
+
+    /**
+     * Value that is distributed to the affected fuel elements.
+     *
+     * @return Value between 0.0 and 1.0
+     */
+    public double getAffection() {
+        return affection;
+    }
+
     /**
      * Initializes the affection from this control rod towards nearby fuel
-     * elements.
+     * elements. Each affected fuel element gets its max affection increased,
+     * the affected elements and their multipliers are then used to build the
+     * AffectionMatrix.
      *
      * @param fuelElements List of all FuelElements.
      */
@@ -376,6 +425,24 @@ public class ControlRod extends ReactorElement implements Runnable {
         }
     }
 
+    /**
+     * @return All fuel elements that are affected by this rod.
+     */
+    public List<FuelElement> getAffectedFuel() {
+        return affectedFuel;
+    }
+
+    /**
+     * Multiplier between 0..1 for the affection of the element with the same
+     * index in the list of affected fuel elements.
+     *
+     * @param index index in the affected fuel list
+     * @return multiplier
+     */
+    public double getAffectedFuelMultiplier(int index) {
+        return affectedFuelMultiplier[index];
+    }
+
     /**
      * The maximum possible absorption value for this control rod. Used to
      * determine the maximum absorption over all rods.
@@ -490,5 +557,7 @@ public class ControlRod extends ReactorElement implements Runnable {
         }
         calculateAbsorption(); // those have to be updated on loading
         calculateDisplacerBoost();
+        calculateAffection();
+        lastPosition = Double.NaN; // report as changed on next run
     }
 }
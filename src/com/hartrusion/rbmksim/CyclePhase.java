@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+/**
+ * Describes the parts of one main loop cycle that are measured separately
+ * to find out where the cycle time goes.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public enum CyclePhase {
+    CORE("Core"),
+    PROCESS("Process"),
+    PROCESS_RESULTS("ProcessResults"),
+    TURBINE("Turbine"),
+    /**
+     * Work time of the lube oil solve which runs at the same time as the
+     * thermal layout.
+     */
+    LUBE_OIL("LubeOil"),
+    /**
+     * Real time of one complete model step. This is the critical path, it is
+     * less than the sum of all phases if some of them run at the same time.
+     */
+    CRITICAL_PATH("CriticalPath"),
+    /**
+     * Time that was saved by running phases at the same time.
+     */
+    OVERLAP("Overlap"),
+    OUTPUT_SNAPSHOT("OutputSnapshot"),
+    ALARM_SNAPSHOT("AlarmSnapshot"),
+    TOTAL("Total");
+
+    private final String parameterName;
+
+    CyclePhase(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * @return Name used for the output values of this phase.
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.values.ValueHandler;
+
+/**
+ * Collects the measured durations of each phase of the main loop cycle in
+ * histograms. The results are written as parameter values to the value
+ * handler so they are available in the GUI and also over the network, for
+ * each phase there will be "Timing#(Phase)#P50", "#P99", "#P999", "#Max" in
+ * microseconds and "#Overruns" which counts the durations above the cycle
+ * time.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class CycleTiming {
+
+    private final LatencyHistogram[] histograms
+            = new LatencyHistogram[CyclePhase.values().length];
+
+    /**
+     * Names of the output values for each phase, prepared once to not create
+     * new strings each time the values are published.
+     */
+    private final String[][] parameterNames
+            = new String[CyclePhase.values().length][];
+
+    /**
+     * Start time of the phase that is currently measured.
+     */
+    private long phaseStart;
+
+    /**
+     * Creates the timing with one histogram for each phase.
+     *
+     * @param budgetNanos Cycle time, durations above this are overruns.
+     */
+    public CycleTiming(long budgetNanos) {
+        String prefix;
+        for (CyclePhase phase : CyclePhase.values()) {
+            histograms[phase.ordinal()] = new LatencyHistogram(budgetNanos);
+            prefix = "Timing#" + phase.getParameterName();
+            parameterNames[phase.ordinal()] = new String[]{
+                prefix + "#P50", prefix + "#P99", prefix + "#P999",
+                prefix + "#Max", prefix + "#Overruns"};
+        }
+    }
+
+    /**
+     * Marks the start time of the next phase to measure.
+     */
+    public void start() {
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Records the time since the last call of start or stop for the given
+     * phase and starts measuring the next phase. This allows calling stop for
+     * each phase in a row without calling start in between.
+     *
+     * @param phase The phase that was just completed.
+     */
+    public void stop(CyclePhase phase) {
+        long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - phaseStart);
+        phaseStart = now;
+    }
+
+    /**
+     * Records a duration that was measured elsewhere.
+     *
+     * @param phase Phase to record the duration for
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(CyclePhase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    public LatencyHistogram getHistogram(CyclePhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Removes all recorded values, for example after loading a state where
+     * the first cycles are not representative.
+     */
+    public void reset() {
+        for (LatencyHistogram h : histograms) {
+            h.reset();
+        }
+    }
+
+    /**
+     * Writes the current statistics of all phases to the value handler.
+     *
+     * @param output ValueHandler to write the values to.
+     */
+    public void publishTo(ValueHandler output) {
+        LatencyHistogram h;
+        String[] names;
+        for (int idx = 0; idx < histograms.length; idx++) {
+            h = histograms[idx];
+            names = parameterNames[idx];
+            output.setParameterValue(names[0],
+                    h.getValueAtPercentile(50.0) * 1e-3);
+            output.setParameterValue(names[1],
+                    h.getValueAtPercentile(99.0) * 1e-3);
+            output.setParameterValue(names[2],
+                    h.getValueAtPercentile(99.9) * 1e-3);
+            output.setParameterValue(names[3], h.getMax() * 1e-3);
+            output.setParameterValue(names[4], h.getOverruns());
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.util.SimpleLogOut;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Runs the same starting state with different operator scripts, each one as
+ * its own independent simulation without GUI. The simulations run at the
+ * same time, one on each thread, and the results of all of them are written
+ * to one CSV file for comparison.
+ *
+ * <p>
+ * Each simulation has its own MainLoop with its own HeadlessModelListener, so
+ * nothing is shared between them. The solvers get no thread pool here, each
+ * simulation is calculated completely on one thread of the ensemble pool,
+ * which is more efficient than sharing the cores inside one simulation.
+ *
+ * <p>
+ * Usage: EnsembleRunner [-t seconds] [-l savefile] [-o output] [-j threads]
+ * script...
+ * <ul>
+ * <li>-t: Simulated duration in seconds, default is 600 s.</li>
+ * <li>-l: Load this simulation state at the start of each simulation.</li>
+ * <li>-o: Output file, default is ensemble.csv.</li>
+ * <li>-j: Number of simulations at the same time, default is the number of
+ * cores.</li>
+ * <li>script: OperatorScript files, or directories from which all .txt files
+ * are used.</li>
+ * </ul>
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class EnsembleRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(
+            EnsembleRunner.class.getName());
+
+    private final double duration;
+    private final String loadFile;
+
+    /**
+     * @param duration Simulated time for each simulation in seconds
+     * @param loadFile Saved state to start from, null to start from the
+     * initial state.
+     */
+    public EnsembleRunner(double duration, String loadFile) {
+        this.duration = duration;
+        this.loadFile = loadFile;
+    }
+
+    /**
+     * Outcome of one simulation of the ensemble.
+     */
+    public static class Result {
+
+        private final String name;
+        private double simulatedTime;
+        private double runTime;
+        private boolean paused;
+        private boolean exploded;
+        private boolean promptExcursion;
+        private boolean tpsActive;
+        private int rupturedChannels;
+        private double maxNeutronFlux;
+        private double maxThermalPower;
+        private double finalNeutronFlux;
+        private double finalThermalPower;
+
+        Result(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Takes the values of the current step.
+         */
+        void sample(MainLoop mainLoop) {
+            ReactorCore core = mainLoop.getCore();
+            finalNeutronFlux = core.getNeutronModel().getYNeutronFlux();
+            finalThermalPower = core.getThermalPowerDisplayed();
+            maxNeutronFlux = Math.max(maxNeutronFlux, finalNeutronFlux);
+            maxThermalPower = Math.max(maxThermalPower, finalThermalPower);
+        }
+
+        /**
+         * Takes the values at the end of the simulation.
+         */
+        void finish(MainLoop mainLoop, double simulatedTime,
+                double runTime) {
+            ReactorCore core = mainLoop.getCore();
+            this.simulatedTime = simulatedTime;
+            this.runTime = runTime;
+            paused = mainLoop.isPaused();
+            exploded = core.isExploded();
+            promptExcursion = core.getNeutronModel().isPromptExcursion();
+            tpsActive = mainLoop.getTurbine().isTpsActive();
+            rupturedChannels = core.getRupturedChannelCount();
+        }
+
+        static String getHeader() {
+            return "Script;SimulatedTime;RunTime;Paused;Exploded;"
+                    + "PromptExcursion;TurbineTrip;RupturedChannels;"
+                    + "MaxNeutronFlux;MaxThermalPower;FinalNeutronFlux;"
+                    + "FinalThermalPower";
+        }
+
+        String toCsvLine() {
+            return String.format(Locale.ROOT,
+                    "%s;%.1f;%.3f;%b;%b;%b;%b;%d;%.4f;%.1f;%.4f;%.1f",
+                    name, simulatedTime, runTime, paused, exploded,
+                    promptExcursion, tpsActive, rupturedChannels,
+                    maxNeutronFlux, maxThermalPower, finalNeutronFlux,
+                    finalThermalPower);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isExploded() {
+            return exploded;
+        }
+
+        public double getMaxNeutronFlux() {
+            return maxNeutronFlux;
+        }
+
+        public double getMaxThermalPower() {
+            return maxThermalPower;
+        }
+    }
+
+    /**
+     * Runs one simulation with the given script on the calling thread.
+     *
+     * @param script Actions of the operator
+     * @return Outcome of the simulation
+     */
+    public Result runScenario(OperatorScript script) {
+        long startTime = System.nanoTime();
+        long stepMillis = Math.round(HeadlessSimulator.STEP_TIME * 1000);
+        long targetCycles = Math.round(duration / HeadlessSimulator.STEP_TIME);
+        Result result = new Result(script.getName());
+
+        HeadlessSimulator sim = new HeadlessSimulator(false);
+        sim.getMainLoop().setFasterThanRealTime(true);
+        if (loadFile != null) {
+            sim.loadState(loadFile);
+        }
+        script.rewind();
+        long n;
+        for (n = 0; n < targetCycles; n++) {
+            script.queueDueActions(sim, n * stepMillis);
+            sim.runFor(HeadlessSimulator.STEP_TIME);
+            if (sim.getMainLoop().isPaused()) {
+                break;
+            }
+            result.sample(sim.getMainLoop());
+        }
+        result.finish(sim.getMainLoop(), n * HeadlessSimulator.STEP_TIME,
+                (System.nanoTime() - startTime) * 1e-9);
+        LOGGER.log(Level.INFO, "Finished " + script.getName() + " after "
+                + n + " cycles.");
+        return result;
+    }
+
+    /**
+     * Runs all scripts, each one in its own simulation, with the given number
+     * of simulations at the same time.
+     *
+     * @param scripts Scripts to run
+     * @param threads Number of simulations at the same time
+     * @return Results in the same order as the scripts
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public List<Result> run(List<OperatorScript> scripts, int threads)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Result>> futures = new ArrayList<>();
+        List<Result> results = new ArrayList<>();
+        try {
+            for (OperatorScript s : scripts) {
+                futures.add(pool.submit(() -> runScenario(s)));
+            }
+            for (Future<Result> f : futures) {
+                results.add(f.get());
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Writes all results to one CSV file, one line for each script.
+     *
+     * @param results Results from run
+     * @param file Output file
+     * @throws IOException if the file can not be written.
+     */
+    public static void writeResults(List<Result> results, Path file)
+            throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file,
+                StandardCharsets.UTF_8)) {
+            w.write(Result.getHeader());
+            w.newLine();
+            for (Result r : results) {
+                w.write(r.toCsvLine());
+                w.newLine();
+            }
+        }
+    }
+
+    /**
+     * Adds the script file or all .txt files in a directory, sorted by name.
+     */
+    private static void addScripts(List<OperatorScript> scripts, Path path)
+            throws IOException {
+        if (!Files.isDirectory(path)) {
+            scripts.add(OperatorScript.load(path));
+            return;
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            for (Path p : files.filter(f -> f.toString().endsWith(".txt"))
+                    .sorted().toList()) {
+                scripts.add(OperatorScript.load(p));
+            }
+        }
+    }
+
+    /**
+     * @param args the command line arguments
+     */
+    public static void main(String[] args)
+            throws IOException, InterruptedException {
+        SimpleLogOut.configureLoggingToStdOut();
+
+        double duration = 600.0;
+        String loadFile = null;
+        String outputFile = "ensemble.csv";
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<OperatorScript> scripts = new ArrayList<>();
+
+        for (int idx = 0; idx < args.length; idx++) {
+            switch (args[idx]) {
+                case "-t" ->
+                    duration = Double.parseDouble(args[++idx]);
+                case "-l" ->
+                    loadFile = args[++idx];
+                case "-o" ->
+                    outputFile = args[++idx];
+                case "-j" ->
+                    threads = Integer.parseInt(args[++idx]);
+                default ->
+                    addScripts(scripts, Path.of(args[idx]));
+            }
+        }
+        if (scripts.isEmpty()) {
+            throw new IllegalArgumentException("No scripts given.");
+        }
+
+        EnsembleRunner runner = new EnsembleRunner(duration, loadFile);
+        long startTime = System.nanoTime();
+        List<Result> results = runner.run(scripts, threads);
+        writeResults(results, Path.of(outputFile));
+        LOGGER.log(Level.INFO, String.format(
+                "Simulated %d scripts of %.1f s in %.1f s with %d threads, "
+                + "results written to %s.", scripts.size(), duration,
+                (System.nanoTime() - startTime) * 1e-9, threads, outputFile));
+    }
+}
@@ -92,9 +92,9 @@ public class EvaporatorElement extends FuelElement {
     private final HeatNode leakOut = new HeatNode();
     private final HeatNode leakOutGrav = new HeatNode();
 
-    private final String propertyFlow;
-    private final String propertyVoiding;
-    private final String propertyCpr;
+    private int flowHandle;
+    private int voidingHandle;
+    private int cprHandle;
 
     /**
      * Reference to the array that holds the temperature of the downcomers which
@@ -121,11 +121,6 @@ public class EvaporatorElement extends FuelElement {
     public EvaporatorElement(int x, int y) {
         super(x, y);
 
-        propertyFlow = "Fuel" + (100 * x + y) + "#Flow";
-        propertyVoiding = "Fuel" + (100 * x + y) + "#Voiding";
-
-        propertyCpr = "Fuel" + x + "-" + y + "#CriticalPowerRatio";
-
         // Generate instances
         toReactorConverter = new PhasedHeatFluidConverter(Water.INSTANCE);
         toPoolConverter = new PhasedHeatFluidConverter(Water.INSTANCE);
@@ -328,16 +323,26 @@ public class EvaporatorElement extends FuelElement {
                 .setInitialTemperature(273.15 + 25.3);
     }
 
-    @Override
-    public void runProcessResults() {
-        super.runProcessResults();
+    /**
+     * Returns all fuel elements which are assigned to this evaporator,
+     * including this one.
+     *
+     * @return List of fuel elements
+     */
+    public List<FuelElement> getFuelElements() {
+        return fuelElements;
+    }
 
+    /**
+     * Calculates the values of the evaporator group. Has to be called after
+     * calculateProcessResults was called on all fuel elements of this group as
+     * their rupture state is used here. Only elements of this group are
+     * changed, so different groups can be calculated at the same time.
+     */
+    public void calculateEvaporatorResults() {
         voiding = evapHandler.getVoiding(1e5);
         flow = toReactorConverter.getFlow();
 
-        outputValues.setParameterValue(propertyFlow, flow);
-        outputValues.setParameterValue(propertyVoiding, voiding);
-
         // Limit the thermal loop to always have a minimum flow and not exceed 
         // a certain limit - due to the nature of the model it is otherwise 
         // possible that the flow goes reversed, there is no real gravity.
@@ -383,19 +388,35 @@ public class EvaporatorElement extends FuelElement {
         // With X_crit = 0.25 and r = 2100000 (Water-Model)
         if (groupFissionPower > localIdlePower * 1e6 * fuelElements.size()) {
             double deltaT_subcooling
-                    = (Water.INSTANCE.getSaturationTemperature(evapToDrumNode.getEffort())
+                    = (SteamTable.INSTANCE.getSaturationTemperature(evapToDrumNode.getEffort())
                     - ((HeatNode) flowResistance.getNode(1)).getTemperature());
-            double deltaH_subcooling = deltaT_subcooling * Water.INSTANCE.getSpecificHeatCapacity();
+            double deltaH_subcooling = deltaT_subcooling * SteamTable.INSTANCE.getSpecificHeatCapacity();
 
             criticalPowerRatio = Math.min(-evapToDrumNode.getFlow(evaporator)
-                    * (deltaH_subcooling + 0.25 * Water.INSTANCE.getVaporizationHeatEnergy())
+                    * (deltaH_subcooling + 0.25 * SteamTable.INSTANCE.getVaporizationHeatEnergy())
                     / groupFissionPower, 9.990);
         } else {
             criticalPowerRatio = 9.990;
         }
+    }
 
-        // Send this also
-        outputValues.setParameterValue(propertyCpr, criticalPowerRatio);
+    @Override
+    public void registerParameterRegistry(ParameterRegistry registry) {
+        super.registerParameterRegistry(registry);
+        flowHandle = registry.registerArray("Core#FuelFlow",
+                ChannelData.GRID_SIZE);
+        voidingHandle = registry.registerArray("Core#FuelVoiding",
+                ChannelData.GRID_SIZE);
+        cprHandle = registry.registerArray("Core#FuelCriticalPowerRatio",
+                ChannelData.GRID_SIZE);
+    }
+
+    @Override
+    public void publishProcessResults() {
+        super.publishProcessResults();
+        parameters.setArrayValue(flowHandle, gridIndex, flow);
+        parameters.setArrayValue(voidingHandle, gridIndex, voiding);
+        parameters.setArrayValue(cprHandle, gridIndex, criticalPowerRatio);
     }
 
     /**
@@ -0,0 +1,424 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Holds the state of the power model of all fuel channels in primitive arrays
+ * and does the calculation for all channels in one loop. The FuelElement
+ * objects only hold their index and read and write their values here, this
+ * keeps the values that are needed in each cycle close together in memory
+ * instead of having them scattered over 376 objects.
+ * <p>
+ * The arrays are accessed directly by the FuelElement class, they are not
+ * meant to be used from anywhere else.
+ * <p>
+ * The power model runs over the whole contiguous range of channels at once,
+ * only this gives the vector implementation enough channels to work with.
+ * The channels can be divided into groups of consecutive indices (the core
+ * uses one group per evaporator), the display power is summed up per group
+ * and the group sums are added up in the order of the groups afterwards. For
+ * the parallel calculation, the range is split into a few large slices at
+ * group borders. As the channels do not depend on each other and the sums
+ * are always done in the same order, it does not matter if the channels are
+ * calculated in one piece or in slices, the result is always exactly the
+ * same.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class FuelChannelKernel {
+
+    private static final Logger LOGGER = Logger.getLogger(
+            FuelChannelKernel.class.getName());
+
+    /**
+     * Power model implementation that was selected on the first call of
+     * createPowerModel, all kernels use the same.
+     */
+    private static ChannelPowerModel selectedPowerModel;
+
+    /**
+     * Number of fuel channels of the reference core. The flux is distributed
+     * over this number of channels.
+     */
+    static final double REFERENCE_CHANNELS = 376.0;
+
+    /**
+     * Fraction of the neutron flux that is distributed among the fuel elements
+     * using their affection value. The remaining fraction (1 -
+     * DISTRIBUTED_FLUX) is applied directly as fission power, independent of
+     * the affection. The affection is therefore only used to redistribute this
+     * fraction of the power without changing the overall amount.
+     */
+    static final double DISTRIBUTED_FLUX = 0.15;
+
+    /**
+     * Manipulates the time the decay heat goes down so the decay heat will be
+     * available much longer. This allows less waiting for full load and at the
+     * same time causes problems when having a coolant problem accident, making
+     * the heat not disappear that fast and cooling of the reactor is required
+     * for a way longer period of time.
+     */
+    static final double DECAY_DOWN_MODIFIER = 0.07;
+
+    /**
+     * Fraction of thermal power that will be delayed as it occurs by delayed
+     * decay instead of the uranium fission. This will be the part that is still
+     * there and slowly decays after scram.
+     */
+    static final double P_DECAY = 0.062;
+
+    /**
+     * Time constant (seconds) for the delayed thermal heat production.
+     */
+    static final double T_DECAY = 120;
+
+    /**
+     * Factor to get Megawatts out of the flux, without idle heat.
+     */
+    static final double FLUX_TO_POWER
+            = (FuelElement.FULL_FLUX_POWER - FuelElement.IDLE_HEAT) / 100;
+
+    /**
+     * Factor to get Megawatts out of the flux for the power display.
+     */
+    static final double FLUX_TO_DISPLAY_POWER
+            = FuelElement.FULL_FLUX_POWER / 100;
+
+    static final double LOCAL_IDLE_POWER
+            = FuelElement.IDLE_HEAT / REFERENCE_CHANNELS;
+
+    private final int size;
+
+    /**
+     * First channel index of each group, the last entry holds size. Without
+     * any groups set, all channels are one group.
+     */
+    private int[] groupStart;
+
+    /**
+     * First channel index of each slice for the parallel calculation, the
+     * last entry holds size. Slices always start at a group border.
+     */
+    private int[] sliceStart;
+
+    private boolean parallel;
+
+    private ChannelPowerModel powerModel = createPowerModel();
+
+    private double stepTime = 0.1;
+
+    /**
+     * Global neutron flux value, it is the same for all fuel elements. From 0
+     * to 100 %. Gets set from ReactorCore to value
+     * neutronFluxModel.getYNeutronFlux()
+     */
+    private double globalFlux;
+
+    /**
+     * Average affection over all fuel elements. It is used to normalize the
+     * affection based distribution so the affection only redistributes power
+     * without changing the overall amount.
+     */
+    private double averageAffection;
+
+    /**
+     * Sum of all affection multipliers of the rods that affect each element,
+     * used to normalize the affection.
+     */
+    final double[] maxSumOfAffections;
+
+    /**
+     * Normalized value between 0..1
+     */
+    final double[] affection;
+
+    /**
+     * Local neutron flux for each element in the same range of the global
+     * flux, it consideres the affection distribution and the total number of
+     * rods in the core. The sum of all localFlux values is globalFlux.
+     */
+    final double[] localFlux;
+
+    /**
+     * Static, geometry based weight that redistributes fission power towards
+     * the core center, average is 1.0.
+     */
+    final double[] radialWeight;
+
+    final double[] xFirstDelay;
+    final double[] xDelayedPower;
+
+    /**
+     * Fission power given in MW, already considering the affection value and
+     * the idle power.
+     */
+    final double[] fissionPower;
+
+    /**
+     * Fission power for display - this does not consider the idle power.
+     */
+    final double[] fissionPowerDisplay;
+
+    /**
+     * Fuel temperature in degrees Celsius from the previous cycle.
+     */
+    final double[] fuelTemperature;
+
+    /**
+     * Heat flow in Watts that has to be applied to the thermal network of each
+     * fuel element.
+     */
+    final double[] thermalFlow;
+
+    /**
+     * Creates the arrays for the given number of fuel channels.
+     *
+     * @param size Number of fuel channels.
+     */
+    public FuelChannelKernel(int size) {
+        this.size = size;
+        maxSumOfAffections = new double[size];
+        affection = new double[size];
+        localFlux = new double[size];
+        radialWeight = new double[size];
+        Arrays.fill(radialWeight, 1.0);
+        xFirstDelay = new double[size];
+        xDelayedPower = new double[size];
+        fissionPower = new double[size];
+        fissionPowerDisplay = new double[size];
+        fuelTemperature = new double[size];
+        thermalFlow = new double[size];
+        groupStart = new int[]{0, size};
+        sliceStart = groupStart;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Divides the channels into groups of consecutive indices which can be
+     * calculated independently.
+     *
+     * @param groupStart First index of each group, followed by size as the
+     * last entry.
+     */
+    public void setGroups(int[] groupStart) {
+        if (groupStart.length < 2 || groupStart[0] != 0
+                || groupStart[groupStart.length - 1] != size) {
+            throw new IllegalArgumentException(
+                    "Groups must start with 0 and end with the size.");
+        }
+        this.groupStart = groupStart.clone();
+        updateSlices();
+    }
+
+    /**
+     * @return Number of channel groups.
+     */
+    public int getGroupCount() {
+        return groupStart.length - 1;
+    }
+
+    /**
+     * Splits the groups into one slice per available processor, each slice
+     * gets the same number of groups (+/- one).
+     */
+    private void updateSlices() {
+        int groups = getGroupCount();
+        int slices = Math.min(groups,
+                Runtime.getRuntime().availableProcessors());
+        sliceStart = new int[slices + 1];
+        for (int slc = 0; slc <= slices; slc++) {
+            sliceStart[slc] = groupStart[slc * groups / slices];
+        }
+    }
+
+    /**
+     * Enables the calculation of the channels on the common fork-join pool,
+     * split into one slice per processor. This only pays off if there is
+     * enough work per slice, the result does not depend on this setting.
+     *
+     * @param parallel true to calculate the groups in parallel.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the current neutron flux as an input value for all channels.
+     *
+     * @param flux Neutron Flux between 0..100 %
+     */
+    public void setGlobalFlux(double flux) {
+        globalFlux = flux;
+    }
+
+    /**
+     * Sets the average affection over all fuel elements.
+     *
+     * @param average Average affection (0..1) over all fuel elements
+     */
+    public void setAverageAffection(double average) {
+        averageAffection = average;
+    }
+
+    /**
+     * Calculates the affection of all fuel elements from the affection values
+     * of all control rods.
+     *
+     * @param matrix Sparse matrix with the normalized rod to fuel weights
+     * @param rodAffection Affection value of each control rod
+     */
+    public void calculateAffection(AffectionMatrix matrix,
+            double[] rodAffection) {
+        matrix.multiply(rodAffection, affection);
+    }
+
+    /**
+     * Updates the affection of the fuel elements that are affected by one
+     * control rod with the change of its affection value.
+     *
+     * @param matrix Sparse matrix with the normalized rod to fuel weights
+     * @param rod Index of the control rod
+     * @param delta Change of the rods affection value
+     */
+    public void updateAffection(AffectionMatrix matrix, int rod,
+            double delta) {
+        matrix.addColumn(rod, delta, affection);
+    }
+
+    /**
+     * @return Sum of the affection of all fuel channels.
+     */
+    public double getTotalAffection() {
+        double total = 0.0;
+        for (int idx = 0; idx < size; idx++) {
+            total += affection[idx];
+        }
+        return total;
+    }
+
+    /**
+     * Runs the power model of all fuel channels for one time step.
+     *
+     * @return Sum of the display power of all channels in MW.
+     */
+    public double runPowerModel() {
+        if (parallel && sliceStart.length > 2) {
+            IntStream.range(0, sliceStart.length - 1).parallel()
+                    .forEach(this::runSlicePowerModel);
+        } else {
+            runPowerModel(0, size);
+        }
+        // Sum up per group and then over the groups in a fixed order, this
+        // makes the result independent of how the channels were calculated.
+        double displaySum = 0.0;
+        double groupSum;
+        for (int grp = 0; grp < groupStart.length - 1; grp++) {
+            groupSum = 0.0;
+            for (int idx = groupStart[grp]; idx < groupStart[grp + 1];
+                    idx++) {
+                groupSum += fissionPowerDisplay[idx];
+            }
+            displaySum += groupSum;
+        }
+        return displaySum;
+    }
+
+    private void runSlicePowerModel(int slc) {
+        runPowerModel(sliceStart[slc], sliceStart[slc + 1]);
+    }
+
+    /**
+     * Runs the power model for the channels from index from (inclusive) to
+     * index to (exclusive). See FuelElement for the description of the model.
+     *
+     * @param from first channel index
+     * @param to last channel index + 1
+     * @return Sum of the display power of the channels in MW.
+     */
+    public double runPowerModel(int from, int to) {
+        return powerModel.runPowerModel(this, from, to);
+    }
+
+    /**
+     * Replaces the implementation of the power model, used to compare the
+     * implementations.
+     *
+     * @param powerModel Implementation to use
+     */
+    void setPowerModel(ChannelPowerModel powerModel) {
+        this.powerModel = powerModel;
+    }
+
+    ChannelPowerModel getPowerModel() {
+        return powerModel;
+    }
+
+    double getGlobalFlux() {
+        return globalFlux;
+    }
+
+    double getAverageAffection() {
+        return averageAffection;
+    }
+
+    double getStepTime() {
+        return stepTime;
+    }
+
+    /**
+     * Selects the implementation of the power model. The vector API is an
+     * incubator module in Java 17, it is only available if the JVM was started
+     * with --add-modules jdk.incubator.vector and the vector implementation
+     * was compiled in (see the vector source directory). Otherwise, or if the
+     * system property rbmksim.powerModel is set to scalar, the scalar
+     * implementation is used.
+     *
+     * @return Implementation of the power model
+     */
+    static synchronized ChannelPowerModel createPowerModel() {
+        if (selectedPowerModel != null) {
+            return selectedPowerModel;
+        }
+        selectedPowerModel = ScalarChannelPowerModel.INSTANCE;
+        if ("scalar".equals(System.getProperty("rbmksim.powerModel"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector")
+                        .isEmpty()) {
+            LOGGER.log(Level.INFO, "Using scalar fuel channel power model.");
+            return selectedPowerModel;
+        }
+        try {
+            selectedPowerModel = (ChannelPowerModel) Class.forName(
+                    "com.hartrusion.rbmksim.VectorChannelPowerModel")
+                    .getDeclaredConstructor().newInstance();
+            LOGGER.log(Level.INFO, "Using "
+                    + selectedPowerModel.getName()
+                    + " fuel channel power model.");
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            LOGGER.log(Level.INFO, "Vector API is available but the vector "
+                    + "power model is not, using scalar power model.");
+        }
+        return selectedPowerModel;
+    }
+}
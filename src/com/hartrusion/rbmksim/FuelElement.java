@@ -40,8 +40,6 @@ import java.util.List;
  */
 public class FuelElement extends ReactorElement {
 
-    private double stepTime = 0.1;
-
     /**
      * Besides decay heat, the core will always produce the set amount of heat.
      * A value of 5.6 MW was decided to be fine, however, this will take a long
@@ -58,19 +56,8 @@ public class FuelElement extends ReactorElement {
      */
     public static final double FULL_FLUX_POWER = 3200;
 
-    private double fluxToPower;
-    private double fluxToDisplayPower;
     protected double localIdlePower;
 
-    /**
-     * Fraction of the neutron flux that is distributed among the fuel elements
-     * using their affection value. The remaining fraction (1 -
-     * DISTRIBUTED_FLUX) is applied directly as fission power, independent of
-     * the affection. The affection is therefore only used to redistribute this
-     * fraction of the power without changing the overall amount.
-     */
-    private static final double DISTRIBUTED_FLUX = 0.15;
-
     /**
      * Weight factor applied to the fuel elements located within
      * {@link #RADIAL_INNER_RADIUS} of the core center. Inside this radius every
@@ -91,99 +78,53 @@ public class FuelElement extends ReactorElement {
     private static final double RADIAL_INNER_RADIUS = 3.0;
 
     /**
-     * Manipulates the time the decay heat goes down so the decay heat will be
-     * available much longer. This allows less waiting for full load and at the
-     * same time causes problems when having a coolant problem accident, making
-     * the heat not disappear that fast and cooling of the reactor is required
-     * for a way longer period of time.
-     */
-    private final double DECAY_DOWN_MODIFIER = 0.07;
-
-    /**
-     * Fraction of thermal power that will be delayed as it occurs by delayed
-     * decay instead of the uranium fission. This will be the part that is still
-     * there and slowly decays after scram.
-     */
-    private final double P_DECAY = 0.062;
-
-    /**
-     * Time constant (seconds) for the delayed thermal heat production.
-     */
-    private final double T_DECAY = 120;
-
-    private double maxSumOfAffections = 0.0;
-
-    private double sumOfAffections = 0.0;
-
-    /**
-     * Normalized value between 0..1
-     */
-    private double affection = 0.0;
-
-    /**
-     * Global neutron flux value, it is the same for all fuel elements so a
-     * static variable is used. From 0 to 100 %
+     * Thermal capacity of the fuel in one channel in J/K. 192 Tons (96 per
+     * side) of fuel in reactor. Specific heat capacity of uranium dioxide: 270
+     * J/kg/K. Thermal capacity: m * c = 96000 kg * 270 J/kg/K = 2.6e7 J/K per
+     * side, per channel: 138298 J/K
      * <p>
-     * Gets set from ReactorCore to value neutronFluxModel.getYNeutronFlux()
+     * This is the value that is given to the SelfCapacitance as time constant,
+     * the implicit integration uses it as C the same way.
      */
-    private static double globalFlux;
-
-    /**
-     * Local neutron flux for this element in the same range of the global flux,
-     * it consideres the affection distribution and the total number of rods in
-     * the core. The sum of all localFlux values is globalFlux.
-     */
-    private double localFlux;
-
-    private double localAffection;
+    private static final double FUEL_CAPACITY = 138298;
 
     /**
-     * Generated heat power on this fuel rod in 0..100 %
+     * We will not have a inner heat transfer resistance, instead, we just do
+     * Tau = R * C to R = Tau/C to get a fancy time constant that gets the
+     * dynamics we want. Lets use Tau of 10 s so it will be R = 10/138298
      */
-    private double rodHeatGeneration;
+    private static final double INNER_RESISTANCE = 7.2e-5;
 
     /**
-     * Average affection over all fuel elements. It is used to normalize the
-     * affection based distribution so the affection only redistributes power
-     * without changing the overall amount. It is the same for all elements so a
-     * static variable is used.
+     * Holds the values of the power model for all fuel elements in arrays,
+     * this element only knows its index in there. The power model values
+     * (affection, local flux, delayed power states, fission power and radial
+     * weight) are no fields of this class anymore to allow the calculation to
+     * be done in a single loop over all channels.
      */
-    private static double averageAffection;
+    private FuelChannelKernel kernel;
 
     /**
-     * Static, geometry based weight that redistributes fission power towards
-     * the core center. Normalized over all fuel elements so its average equals
-     * 1.0, which keeps the overall power unchanged and only reshapes the radial
-     * distribution. Initialized by {@link #initRadialWeights(java.util.List)}.
+     * Index of this fuel element in the kernel arrays.
      */
-    private double radialWeight = 1.0;
+    private int index;
 
-    private double xFirstDelay;
-
-    private double xDelayedPower;
-
-    /**
-     * Fission power given in % in same unit as neutron flux. This is already
-     * considering the affection value.
-     */
-    private double fissionPower;
+    private boolean ruptured;
 
     /**
-     * Fission power for display - this does not consider the idle power, it
-     * will make the power display hide the value.
+     * Temperature of the fuel thermal capacity in Kelvin. With the explicit
+     * integration, this is just the value of the capacity after the solver
+     * run. With the implicit integration, this class integrates it and forces
+     * the capacity to it before each step, see applyCapacity.
      */
-    private double fissionPowerDisplay;
+    private double capacityTemperature = 273.15 + 38;
 
     /**
-     * Saves the value of the fuel temperature as the value from the previous
-     * cycle is used here to determine if the thermal power has to be limited to
-     * have the fuel rod melt, but not evaporate.
-     * <p>
-     * Given in Degrees Celsius.
+     * Use backward euler for the fuel thermal capacity.
      */
-    private double fuelTemperature;
+    private boolean implicitIntegration;
 
-    private boolean ruptured;
+    private double stepTime = 0.1;
 
     // Thermal system describing the fuel thermal heat flow
     private final GeneralNode thermalGroundNode = new GeneralNode(PhysicalDomain.THERMAL);
@@ -204,25 +145,23 @@ public class FuelElement extends ReactorElement {
      */
     protected int loop;
 
-    private final String propertyTemperature;
+    /**
+     * Position of this element in the array parameters of the whole core.
+     */
+    protected final int gridIndex;
 
-    private final String propertyAffectionValue;
-    private final String propertyFissionPower;
+    private int temperatureHandle;
+    private int affectionHandle;
+    private int fissionPowerHandle;
 
     public FuelElement(int x, int y) {
         super(x, y);
 
-        propertyTemperature = "Fuel" + (100 * x + y) + "#Temperature";
-
-        propertyAffectionValue = "Fuel" + (100 * x + y) + "#Affection";
-        propertyFissionPower = "Fuel" + (100 * x + y) + "#FissionPower";
+        gridIndex = ChannelData.getGridIndex(x, y);
         // Assign loop by given coordinates.
         loop = ChannelData.getLoop(x, y);
 
-        // Calculate factors for megawatt out of flux.
-        fluxToPower = (FULL_FLUX_POWER - IDLE_HEAT) / 100;
-        fluxToDisplayPower = FULL_FLUX_POWER / 100;
-        localIdlePower = IDLE_HEAT / 376;
+        localIdlePower = FuelChannelKernel.LOCAL_IDLE_POWER;
 
         thermalGroundNode.setName("FuelChannelThermal" + x + "-" + y + "Fuel#GroundNode");
         thermalGround.setName("FuelChannelThermal" + x + "-" + y + "#Ground");
@@ -248,19 +187,11 @@ public class FuelElement extends ReactorElement {
         // calculated.
         thermalToEvapResistance.setConductanceParameter(1e5);
 
-        // 192 Tons (96 per side) of fuel in reactor. Specific heat capacity
-        // of uranium dioxide: 270 J/kg/K
-        // Thermal capacity: m * c = 96000 kg * 270 J/kg/K = 2.6e7 J/K per side
-        // Per channel: 138298 J/K
-        thermalCapacity.setTimeConstant(138298);
-        // We will not have a inner heat transfer resistance, instead, we just
-        // do Tau = R * C to R = Tau/C to get a fancy time constant that 
-        // gets the dynamics we want. Lets use Tau of 10 s so it will be 
-        // R = 10/138298
-        thermalInnerResistance.setResistanceParameter(7.2e-5);
+        thermalCapacity.setTimeConstant(FUEL_CAPACITY);
+        thermalInnerResistance.setResistanceParameter(INNER_RESISTANCE);
 
         // Initial State
-        thermalCapacity.setInitialEffort(273.15 + 38);
+        thermalCapacity.setInitialEffort(capacityTemperature);
     }
     
     /**
@@ -276,43 +207,45 @@ public class FuelElement extends ReactorElement {
     }
 
     /**
-     * Adds an affection and sums it up. Each fuel element then knows the total
-     * affection that can be applied to it at any time.
-     * <p>
-     * This is called during initialization from multiple loops, generating the
-     * total value at the end of the initialization.
+     * Makes the kernel known which holds the power model values of this
+     * element. Has to be called right after creation of all fuel elements,
+     * before any other method that accesses the power model values.
      *
-     * @param affection
+     * @param kernel Kernel with the arrays for all fuel elements
+     * @param index Index of this fuel element in the kernel arrays
      */
-    public void addMaxAffection(double affection) {
-        maxSumOfAffections += affection;
+    public void attachToKernel(FuelChannelKernel kernel, int index) {
+        this.kernel = kernel;
+        this.index = index;
     }
 
     /**
-     * Called before next calculation to prepare sum up of the values
+     * @return Index of this fuel element in the kernel arrays.
      */
-    public void prepareAffectionCalculation() {
-        sumOfAffections = 0;
+    public int getKernelIndex() {
+        return index;
     }
 
     /**
-     * Called by each control rod that affects this element, it will add its
-     * part to this fuel element.
+     * Adds an affection and sums it up. Each fuel element then knows the total
+     * affection that can be applied to it at any time.
+     * <p>
+     * This is called during initialization from multiple loops, generating the
+     * total value at the end of the initialization.
      *
      * @param affection
      */
-    public void addAffection(double affection) {
-        sumOfAffections += affection;
+    public void addMaxAffection(double affection) {
+        kernel.maxSumOfAffections[index] += affection;
     }
 
     /**
-     * Makes the affection available, to be called after all rods added their
-     * value to this fuel element.
+     * Sends the affection value as output, to be called after the kernel has
+     * finalized the affection calculation.
      */
-    public void finalizeAffection() {
-        affection = sumOfAffections / maxSumOfAffections;
-        // Send as soon as calculation is done
-        outputValues.setParameterValue(propertyAffectionValue, affection);
+    public void updateAffectionOutput() {
+        parameters.setArrayValue(affectionHandle, gridIndex,
+                kernel.affection[index]);
     }
 
     /**
@@ -322,7 +255,7 @@ public class FuelElement extends ReactorElement {
      * @return 0.0 .. 1.0 double
      */
     public double getAffection() {
-        return affection;
+        return kernel.affection[index];
     }
 
     /**
@@ -334,28 +267,6 @@ public class FuelElement extends ReactorElement {
         return loop;
     }
 
-    /**
-     * Sets the current neutron flux as an input value, it will directly
-     * generate some of the heat and also will be applied to the delayed heat
-     * generation that is per-channel simulated (flux is a global, scalar value)
-     *
-     * @param flux Neutron Flux between 0..100 %
-     */
-    public static void applyNeutronFlux(double flux) {
-        globalFlux = flux;
-    }
-
-    /**
-     * Sets the average affection over all fuel elements. This is needed to
-     * normalize the affection based distribution of the fission power so the
-     * affection only redistributes the power without changing the total amount.
-     *
-     * @param average Average affection (0..1) over all fuel elements
-     */
-    public static void applyAverageAffection(double average) {
-        averageAffection = average;
-    }
-
     /**
      * Euclidean distance of this fuel element to the core center in channel
      * pitch units.
@@ -390,11 +301,13 @@ public class FuelElement extends ReactorElement {
     }
 
     /**
-     * Initializes the static radial power weights for all fuel elements. The
-     * weights are normalized so their average equals 1.0, which ensures the
-     * overall fission power stays unchanged and the radial profile only
-     * redistributes power towards the core center. Has to be called once after
-     * all fuel elements have been created.
+     * Initializes the geometry based radial power weights of the given fuel
+     * elements. The weights are written to the radialWeight array of the
+     * kernel each element is attached to, so each core has its own. They are
+     * normalized so their average equals 1.0, which ensures the overall
+     * fission power stays unchanged and the radial profile only redistributes
+     * power towards the core center. Has to be called once after all fuel
+     * elements have been created and attached to the kernel.
      *
      * @param elements list of all fuel elements
      */
@@ -405,12 +318,12 @@ public class FuelElement extends ReactorElement {
         }
         double sum = 0.0;
         for (FuelElement f : elements) {
-            f.radialWeight = f.computeRawRadialWeight(maxRadius);
-            sum += f.radialWeight;
+            f.kernel.radialWeight[f.index] = f.computeRawRadialWeight(maxRadius);
+            sum += f.kernel.radialWeight[f.index];
         }
         double average = sum / elements.size();
         for (FuelElement f : elements) {
-            f.radialWeight /= average;
+            f.kernel.radialWeight[f.index] /= average;
         }
     }
 
@@ -421,31 +334,59 @@ public class FuelElement extends ReactorElement {
      * @return Fission power in Megawatts
      */
     public double getFissionPower() {
-        return fissionPower;
+        return kernel.fissionPower[index];
     }
 
     /**
      * This is called on each fuel rod after the thermal layout has finished its
      * calculations and the temperature and flow data is available. All elements
      * are updated now.
+     * <p>
+     * This only touches values of this element, so it can be called for
+     * different evaporator groups at the same time. The values are sent to
+     * the output values later with publishProcessResults.
      */
-    public void runProcessResults() {
-
-        fuelTemperature = thermalCapacityNode.getEffort() - 273.15;
-
-        // Send per fuel rod values - those are intended to be debugging
-        // only as they are not available in such a detail in the real plant.
-        outputValues.setParameterValue(propertyTemperature, fuelTemperature);
-        outputValues.setParameterValue(propertyFissionPower, fissionPower);
+    public void calculateProcessResults() {
+        if (implicitIntegration) {
+            integrateCapacity();
+        } else {
+            capacityTemperature = thermalCapacityNode.getEffort();
+        }
+        kernel.fuelTemperature[index] = capacityTemperature - 273.15;
 
         // The fuel will be set as ruptured if temperature hits 850 °C. The 
         // maximum operation temperature is usually below 730 °C so it only 
         // happens if something goes very wrong.
-        if (thermalCapacityNode.getEffort() - 273.15 >= 850) {
+        if (kernel.fuelTemperature[index] >= 850) {
             ruptured = true;
         }
     }
 
+    @Override
+    public void registerParameterRegistry(ParameterRegistry registry) {
+        super.registerParameterRegistry(registry);
+        temperatureHandle = registry.registerArray("Core#FuelTemperature",
+                ChannelData.GRID_SIZE);
+        affectionHandle = registry.registerArray("Core#FuelAffection",
+                ChannelData.GRID_SIZE);
+        fissionPowerHandle = registry.registerArray("Core#FuelFissionPower",
+                ChannelData.GRID_SIZE);
+    }
+
+    /**
+     * Sends the values from calculateProcessResults to the parameter
+     * registry. Each element only writes its own handles, but this is still
+     * called from one thread after the parallel part like before.
+     */
+    public void publishProcessResults() {
+        // Send per fuel rod values - those are intended to be debugging
+        // only as they are not available in such a detail in the real plant.
+        parameters.setArrayValue(temperatureHandle, gridIndex,
+                kernel.fuelTemperature[index]);
+        parameters.setArrayValue(fissionPowerHandle, gridIndex,
+                kernel.fissionPower[index]);
+    }
+
     /**
      * Access to the fuel elements temperature, this describes the temperature
      * of the inner material of the fuel, not the evaporator.
@@ -457,73 +398,86 @@ public class FuelElement extends ReactorElement {
     }
 
     /**
-     * Called from the reactor core for each rod after the core model was
-     * called, it will do the calculations for the power model, which is the
-     * part that generates the heat.
+     * Called from the reactor core for each rod after the power model of all
+     * channels was calculated by the kernel, it applies the generated heat to
+     * the thermal model of this fuel element.
+     * <p>
+     * The power model itself is in FuelChannelKernel.runPowerModel: The local
+     * flux is calculated from the global flux, the affection based
+     * distribution and the radial weight. Part of the power is delayed by two
+     * first order delays to model the decay heat. The resulting fission power
+     * is set as heat flow to the thermal model, except the fuel temperature is
+     * above 7000 °C, then no more heat is added to keep the model in a state
+     * that still can be calculated.
      * <p>
      * Called from RectorCore.run() which is invoked BEFORE the thermal layout
      * is calculated.
      */
-    public void calculationStepPowerModel() {
-        double dXFirstDelay, dXDelayedPower;
-
-        // Calculate a local affection value based on distribution of control
-        // rods, this will influence the power generated by each fuel rod.
-        if (averageAffection > 0.0) {
-            localAffection = affection / averageAffection;
-        } else {
-            localAffection = 1.0;
-        }
+    public void applyThermalPower() {
+        thermalFlowSource.setFlow(kernel.thermalFlow[index]);
+        applyCapacity();
+    }
 
-        // There are 376 fuel elements in the core. Calculate the flux on this
-        // fuel element considering the number of rods and the current 
-        // distribution.
-        // In addition to the affection based redistribution, a static radial
-        // weight concentrates power towards the core center. As radialWeight is
-        // normalized to an average of 1.0, the (radialWeight - 1.0) term sums
-        // to zero over all elements and therefore only redistributes power
-        // without changing the overall amount produced by the flux.
-        localFlux = (globalFlux * (1.0 - DISTRIBUTED_FLUX)
-                + globalFlux * DISTRIBUTED_FLUX * localAffection
-                + globalFlux * (radialWeight - 1.0)) / 376.0;
-
-        dXFirstDelay = (localFlux * P_DECAY - xFirstDelay) / T_DECAY;
-
-        dXDelayedPower = (xFirstDelay - xDelayedPower) / T_DECAY;
-
-        // Forward Euler
-        xFirstDelay += dXFirstDelay * stepTime;
-        if (dXDelayedPower < 0.0) {
-            // decay heat will be present way longer than it takes time 
-            // to build it up.
-            xDelayedPower += dXDelayedPower * stepTime
-                    * DECAY_DOWN_MODIFIER;
-        } else {
-            xDelayedPower += dXDelayedPower * stepTime;
+    /**
+     * Prepares the fuel capacity for the next solver run. With the explicit
+     * (forward euler) integration, the SelfCapacitance is left to the solver
+     * like all other capacitances, nothing is done here.
+     * <p>
+     * For the implicit (backward euler) integration, the capacity is forced
+     * to the temperature that is integrated by this class and the inner
+     * resistance gets an additional stepTime / C. The capacity is a fixed
+     * temperature during the step for the solver, so it is the same as an
+     * effort source with a resistance in series, and the heat flow that the
+     * solver calculates is then already the heat flow at the end of the step.
+     * The fuel, the inner resistance and the resistance to the evaporator form
+     * a stiff system, with this, it stays stable with any step time. The
+     * solver also integrates the capacity after the step, but this is
+     * overwritten again before the next one.
+     */
+    private void applyCapacity() {
+        if (implicitIntegration) {
+            thermalCapacity.setInitialEffort(capacityTemperature);
+            thermalInnerResistance.setResistanceParameter(
+                    INNER_RESISTANCE + stepTime / FUEL_CAPACITY);
         }
+    }
 
-        rodHeatGeneration = localFlux * (1 - P_DECAY) + xDelayedPower;
-
-        // Fission power consideres the idle power but does not display it,
-        // it is added as an invisible energy not shown on the power display.
-        fissionPower = rodHeatGeneration * fluxToPower + localIdlePower;
+    /**
+     * Calculates the new temperature of the fuel capacity for the implicit
+     * integration, from the heat flow that left the capacity during the step
+     * through the resistance that was set in applyCapacity.
+     */
+    private void integrateCapacity() {
+        double heatFlow = (capacityTemperature - thermalCoreNode.getEffort())
+                / (INNER_RESISTANCE + stepTime / FUEL_CAPACITY);
+        capacityTemperature -= heatFlow * stepTime / FUEL_CAPACITY;
+    }
 
-        if (fuelTemperature > 7000) {
-            // Limit the possible fuel temperature and do not add any more heat
-            // to keep the model in a state that still can be calculated.
-            thermalFlowSource.setFlow(0.0);
-        } else {
-            // MW to Watt (SI)
-            thermalFlowSource.setFlow(fissionPower * 1e6);
+    /**
+     * Selects the integration of the fuel thermal capacity. The implicit
+     * integration is less accurate for fast changes but stays stable with
+     * large steps, it can be enabled for the accelerated simulation, see
+     * MainLoop.setImplicitFuelIntegration.
+     *
+     * @param implicitIntegration true for backward euler, false for forward
+     * euler.
+     */
+    public void setImplicitIntegration(boolean implicitIntegration) {
+        if (this.implicitIntegration && !implicitIntegration) {
+            // Hand the state back to the solver, the capacity was integrated
+            // with the wrong resistance by the solver during the last step.
+            thermalCapacity.setInitialEffort(capacityTemperature);
+            thermalInnerResistance.setResistanceParameter(INNER_RESISTANCE);
         }
+        this.implicitIntegration = implicitIntegration;
+    }
 
-        // The displayed fission power will not include the idle heat and show a
-        // wrong 3200 MW display for 100 %
-        fissionPowerDisplay = rodHeatGeneration * fluxToDisplayPower;
+    public void setStepTime(double stepTime) {
+        this.stepTime = stepTime;
     }
 
     public double getFissionPowerForDisplay() {
-        return fissionPowerDisplay;
+        return kernel.fissionPowerDisplay[index];
     }
 
     /**
@@ -533,8 +487,9 @@ public class FuelElement extends ReactorElement {
      * @param fs FuelState object
      */
     public void writeToFuelStateObject(FuelState fs) {
-        fs.setXFirstDelay(xFirstDelay);
-        fs.setXDelayedPower(xDelayedPower);
+        fs.setXFirstDelay(kernel.xFirstDelay[index]);
+        fs.setXDelayedPower(kernel.xDelayedPower[index]);
+        fs.setFuelTemperature(capacityTemperature);
         fs.setRuptured(ruptured);
     }
 
@@ -545,8 +500,16 @@ public class FuelElement extends ReactorElement {
      * @param fs FuelState object
      */
     public void applyFuelState(FuelState fs) {
-        xFirstDelay = fs.getXFirstDelay();
-        xDelayedPower = fs.getXDelayedPower();
+        kernel.xFirstDelay[index] = fs.getXFirstDelay();
+        kernel.xDelayedPower[index] = fs.getXDelayedPower();
+        // Saves from before the fuel temperature was added read it as 0.0,
+        // the capacity keeps its temperature then.
+        if (fs.getFuelTemperature() > 0.0) {
+            capacityTemperature = fs.getFuelTemperature();
+            thermalCapacity.setInitialEffort(capacityTemperature);
+        } else {
+            capacityTemperature = thermalCapacityNode.getEffort();
+        }
         ruptured = fs.isRuptured();
     }
     
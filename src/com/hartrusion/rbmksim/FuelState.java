@@ -27,6 +27,11 @@ public class FuelState  implements java.io.Serializable {
     private double thermalLiftPressure;
     private double xFirstDelay;
     private double xDelayedPower;
+    /**
+     * Temperature of the fuel capacity in Kelvin. Added later, saves that do
+     * not have it will load it as 0.0.
+     */
+    private double fuelTemperature;
     private boolean ruptured;
 
     public double getThermalLiftPressure() {
@@ -53,6 +58,14 @@ public class FuelState  implements java.io.Serializable {
         this.xDelayedPower = xDelayedPower;
     }
     
+    public double getFuelTemperature() {
+        return fuelTemperature;
+    }
+
+    public void setFuelTemperature(double fuelTemperature) {
+        this.fuelTemperature = fuelTemperature;
+    }
+
     public boolean isRuptured() {
         return ruptured;
     }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.mvc.ActionCommand;
+import com.hartrusion.mvc.ModelListener;
+import com.hartrusion.mvc.ModelManipulation;
+import com.hartrusion.values.ValueSnapshot;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Replaces the controller when the simulation is run without any GUI. All
+ * events that the model sends to the view will just be counted and dropped,
+ * except if recording is enabled, then the output snapshots will be kept in a
+ * list for later evaluation.
+ *
+ * <p>
+ * Actions can be queued with userAction like it would be done from the GUI,
+ * they will be passed to the model on the next fireActions call which happens
+ * at the beginning of each cycle in MainLoop.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class HeadlessModelListener implements ModelListener {
+
+    private ModelManipulation model;
+
+    private final Queue<ActionCommand> actions
+            = new ConcurrentLinkedQueue<>();
+
+    private final boolean recording;
+
+    private final List<ValueSnapshot> snapshots = new ArrayList<>();
+
+    private long eventCount;
+
+    /**
+     * Creates a new listener.
+     *
+     * @param recording true to keep all received output snapshots.
+     */
+    public HeadlessModelListener(boolean recording) {
+        this.recording = recording;
+    }
+
+    public void registerModel(ModelManipulation model) {
+        this.model = model;
+    }
+
+    /**
+     * Queues an action which will be sent to the model on the next cycle.
+     *
+     * @param ac Command like it would be sent from the GUI.
+     */
+    public void userAction(ActionCommand ac) {
+        actions.add(ac);
+    }
+
+    @Override
+    public void fireActions() {
+        ActionCommand ac;
+        while ((ac = actions.poll()) != null) {
+            model.handleAction(ac);
+        }
+    }
+
+    @Override
+    public void propertyChange(String propertyName, Object newValue) {
+        eventCount++;
+        if (recording && propertyName.equals("OutputSnapshot")) {
+            snapshots.add((ValueSnapshot) newValue);
+        }
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        eventCount++;
+    }
+
+    /**
+     * @return Number of all received events since creation.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return All recorded output snapshots, empty if recording is disabled.
+     */
+    public List<ValueSnapshot> getSnapshots() {
+        return snapshots;
+    }
+}
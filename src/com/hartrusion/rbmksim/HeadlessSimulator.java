@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.modeling.solvers.DomainAnalogySolver;
+import com.hartrusion.mvc.ActionCommand;
+import com.hartrusion.util.SimpleLogOut;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the simulation without any GUI as fast as possible. The main loop is
+ * not scheduled with a fixed rate but called in a loop until the requested
+ * simulated time is reached. This allows running long scenarios like xenon
+ * poisoning or a full startup in a fraction of the real time, also on
+ * machines without a display.
+ *
+ * <p>
+ * Usage: HeadlessSimulator [-t seconds] [-l savefile] [-r] [-p] [-s] [-i]
+ * <ul>
+ * <li>-t: Simulated duration in seconds, default is 600 s.</li>
+ * <li>-l: Load a previously saved simulation state before starting.</li>
+ * <li>-r: Record all output snapshots instead of dropping them.</li>
+ * <li>-p: Calculate the fuel channels in parallel.</li>
+ * <li>-s: Calculate all slow models with each step (single rate), used to
+ * generate reference trajectories.</li>
+ * <li>-i: Use the implicit integration of the fuel thermal capacities, the
+ * explicit one like in real time is used by default.</li>
+ * </ul>
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class HeadlessSimulator {
+
+    private static final Logger LOGGER = Logger.getLogger(
+            HeadlessSimulator.class.getName());
+
+    /**
+     * Time that the model advances with each call of MainLoop.run, in seconds.
+     */
+    public static final double STEP_TIME = 0.1;
+
+    private final MainLoop mainLoop = new MainLoop();
+    private final HeadlessModelListener listener;
+
+    private long cycles;
+    private long runTimeNanos;
+
+    /**
+     * Builds and initializes the complete model without GUI.
+     *
+     * @param recording true to keep all output snapshots in the listener.
+     */
+    public HeadlessSimulator(boolean recording) {
+        listener = new HeadlessModelListener(recording);
+        listener.registerModel(mainLoop);
+        mainLoop.setHeadless(true);
+        mainLoop.registerController(listener);
+        mainLoop.init();
+    }
+
+    /**
+     * Queues an action for the next cycle, like it would be done from the GUI.
+     *
+     * @param propertyName Name of the action command
+     * @param value value of the action command
+     */
+    public void queueAction(String propertyName, Object value) {
+        listener.userAction(new ActionCommand(propertyName, value));
+    }
+
+    /**
+     * Loads a saved simulation state. Loading will happen on the next cycle.
+     *
+     * @param fileName Full path to the saved state.
+     */
+    public void loadState(String fileName) {
+        queueAction("LoadSimulationState", fileName);
+    }
+
+    /**
+     * Runs the given simulated time as fast as possible. Stops early if the
+     * simulation was paused due to an exception.
+     *
+     * @param seconds simulated time in seconds
+     * @return number of cycles that were actually run
+     */
+    public long runFor(double seconds) {
+        long targetCycles = Math.round(seconds / STEP_TIME);
+        long n;
+        long startTime = System.nanoTime();
+        for (n = 0; n < targetCycles; n++) {
+            mainLoop.run();
+            if (mainLoop.isPaused()) {
+                LOGGER.log(Level.WARNING,
+                        "Simulation paused after " + n + " cycles.");
+                n++;
+                break;
+            }
+        }
+        runTimeNanos += System.nanoTime() - startTime;
+        cycles += n;
+        return n;
+    }
+
+    /**
+     * @return Total number of cycles run so far.
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return Achieved cycles per second of real time.
+     */
+    public double getCyclesPerSecond() {
+        if (runTimeNanos <= 0) {
+            return 0.0;
+        }
+        return cycles / (runTimeNanos * 1e-9);
+    }
+
+    public MainLoop getMainLoop() {
+        return mainLoop;
+    }
+
+    public HeadlessModelListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        SimpleLogOut.configureLoggingToStdOut();
+
+        double duration = 600.0;
+        String loadFile = null;
+        boolean recording = false;
+        boolean parallel = false;
+        boolean singleRate = false;
+        boolean implicitFuel = false;
+
+        for (int idx = 0; idx < args.length; idx++) {
+            switch (args[idx]) {
+                case "-t" ->
+                    duration = Double.parseDouble(args[++idx]);
+                case "-l" ->
+                    loadFile = args[++idx];
+                case "-r" ->
+                    recording = true;
+                case "-p" ->
+                    parallel = true;
+                case "-s" ->
+                    singleRate = true;
+                case "-i" ->
+                    implicitFuel = true;
+                default ->
+                    throw new IllegalArgumentException(
+                            "Unknown argument: " + args[idx]);
+            }
+        }
+
+        // Same thread pool setup as the GUI application uses
+        int cores = Runtime.getRuntime().availableProcessors();
+        ExecutorService threadPool = Executors.newFixedThreadPool(cores);
+        DomainAnalogySolver.setThreadPool(threadPool);
+
+        try {
+            HeadlessSimulator sim = new HeadlessSimulator(recording);
+            sim.getMainLoop().setParallelChannels(parallel);
+            sim.getMainLoop().getClock().setSingleRate(singleRate);
+            sim.getMainLoop().setFasterThanRealTime(true);
+            sim.getMainLoop().setImplicitFuelIntegration(implicitFuel);
+            sim.getMainLoop().setThreadPool(threadPool, cores);
+            if (loadFile != null) {
+                sim.loadState(loadFile);
+            }
+            sim.runFor(duration);
+
+            LOGGER.log(Level.INFO, String.format(
+                    "Simulated %.1f s in %d cycles, %.1f cycles/s "
+                    + "(%.1fx real time), %d events received.",
+                    sim.getMainLoop().getClock().getTime(), sim.getCycles(),
+                    sim.getCyclesPerSecond(),
+                    sim.getCyclesPerSecond() * STEP_TIME,
+                    sim.getListener().getEventCount()));
+            LatencyHistogram h;
+            for (CyclePhase phase : CyclePhase.values()) {
+                h = sim.getMainLoop().getTiming().getHistogram(phase);
+                LOGGER.log(Level.INFO, String.format(
+                        "%-15s p50 %8d us, p99 %8d us, p99.9 %8d us, "
+                        + "max %8d us", phase.getParameterName(),
+                        h.getValueAtPercentile(50.0) / 1000,
+                        h.getValueAtPercentile(99.0) / 1000,
+                        h.getValueAtPercentile(99.9) / 1000,
+                        h.getMax() / 1000));
+            }
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+/**
+ * Records durations in a histogram with logarithmic buckets, similar to the
+ * well known HDR histogram. Each power of two range is split in 32 linear sub
+ * buckets which gives a resolution of about 3 % over the whole range from
+ * nanoseconds to minutes. All memory is allocated on creation, recording a
+ * value is just some bit shifting and an array increment so this can be used
+ * inside the cyclic main loop without causing garbage.
+ *
+ * <p>
+ * Not thread safe, recording and reading has to happen on the same thread.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class LatencyHistogram {
+
+    /**
+     * Values below this are stored in their own bucket.
+     */
+    private static final int LINEAR_LIMIT = 64;
+
+    private static final int SUB_BUCKETS = 32;
+
+    /**
+     * Highest exponent of 2 that can be recorded, 2^40 ns are about 18
+     * minutes which is more than enough for anything in one cycle.
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final long[] buckets
+            = new long[LINEAR_LIMIT + (MAX_EXPONENT - 5) * SUB_BUCKETS];
+
+    /**
+     * Values above this limit will be counted as overrun.
+     */
+    private final long overrunLimit;
+
+    private long count;
+    private long overruns;
+    private long max;
+
+    /**
+     * Creates a new histogram.
+     *
+     * @param overrunLimit Recorded values above this will be counted as
+     * overrun, use the same unit as for recorded values.
+     */
+    public LatencyHistogram(long overrunLimit) {
+        this.overrunLimit = overrunLimit;
+    }
+
+    /**
+     * Adds a value to the histogram.
+     *
+     * @param value Duration, usually in nanoseconds.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        } else if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        buckets[indexOf(value)]++;
+        count++;
+        if (value > max) {
+            max = value;
+        }
+        if (value > overrunLimit) {
+            overruns++;
+        }
+    }
+
+    /**
+     * Returns the value below or at which the given percentage of all
+     * recorded values is. The result is the upper bound of the bucket that
+     * holds the percentile.
+     *
+     * @param percentile between 0 and 100, for example 99.9
+     * @return Value at percentile or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(percentile / 100.0 * count);
+        if (target < 1) {
+            target = 1;
+        }
+        long sum = 0;
+        for (int idx = 0; idx < buckets.length; idx++) {
+            sum += buckets[idx];
+            if (sum >= target) {
+                return Math.min(upperBoundOf(idx), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getOverruns() {
+        return overruns;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        java.util.Arrays.fill(buckets, 0);
+        count = 0;
+        overruns = 0;
+        max = 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // >= 6
+        int shift = exponent - 5;
+        // value >>> shift is between 32 and 63
+        return LINEAR_LIMIT + (exponent - 6) * SUB_BUCKETS
+                + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + 6;
+        int shift = exponent - 5;
+        long mantissa = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -19,6 +19,7 @@ package com.hartrusion.rbmksim;
 import com.hartrusion.alarm.AlarmListSnapshot;
 import com.hartrusion.alarm.AlarmManager;
 import com.hartrusion.values.ValueHandler;
+import com.hartrusion.values.ValueSnapshot;
 import com.hartrusion.mvc.ActionCommand;
 import com.hartrusion.mvc.Controller;
 import com.hartrusion.mvc.ModelListener;
@@ -26,12 +27,16 @@ import com.hartrusion.mvc.ModelManipulation;
 import com.hartrusion.mvc.net.ClassBlueprints;
 import com.hartrusion.mvc.net.SocketServer;
 import com.hartrusion.rbmksim.gui.ExceptionPopup;
+import java.beans.PropertyChangeEvent;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,6 +44,10 @@ import java.util.logging.Logger;
  * Main cyclic loop that gets called each 100 ms. Holds references to the
  * simulation subsystems and manages loading and saving the state.
  *
+ * <p>
+ * Each call runs one model step of 0.1 s, or multiple steps if a time
+ * acceleration is selected with the SimulationSpeed action.
+ *
  * @author Viktor Alexander Hartung
  */
 public class MainLoop implements Runnable, ModelManipulation {
@@ -48,31 +57,157 @@ public class MainLoop implements Runnable, ModelManipulation {
 
     private ModelListener controller;
 
+    /**
+     * The controller as it is used by the model, the events are queued and
+     * passed to the controller by the publisher thread.
+     */
+    private ModelListener queuedController;
+
     private final ReactorCore core = new ReactorCore();
     private final ThermalLayout process = new ThermalLayout();
     private final Turbine turbine = new Turbine();
 
-    private ValueHandler outputValues = new ValueHandler();
+    private final SimulationClock clock = new SimulationClock(100);
+
+    private final OutputDeltaHandler outputValues = new OutputDeltaHandler();
+
+    /**
+     * Values that are written on each model step, published to outputValues
+     * once before each snapshot.
+     */
+    private final ParameterRegistry parameters = new ParameterRegistry();
+
+    private final int timeHandle = parameters.register("Simulation#Time");
     public AlarmManager alarms = new AlarmManager(); // temporary public
 
     private boolean pause;
 
+    /**
+     * If set, no swing popups will be shown on exceptions, they will be
+     * written to the log instead. Used when running without any GUI.
+     */
+    private boolean headless;
+
     long maxTime;
     long initialIterations = 0;
 
+    /**
+     * Real time for one cycle in nanoseconds, this is the period the main loop
+     * gets scheduled with.
+     */
+    private static final long CYCLE_BUDGET = 100_000_000L;
+
+    /**
+     * Fraction of the cycle time that may be used for model steps when the
+     * simulation is accelerated. Some time needs to be left for the GUI and
+     * the snapshot creation.
+     */
+    private static final double BUDGET_USAGE = 0.8;
+
+    /**
+     * Selected time acceleration.
+     */
+    private SimulationSpeed speedSetpoint = SimulationSpeed.X1;
+
+    /**
+     * Acceleration that is actually used, might be lower than the selected
+     * one if the machine is not fast enough.
+     */
+    private SimulationSpeed activeSpeed = SimulationSpeed.X1;
+    private SimulationSpeed oldActiveSpeed = null;
+
+    /**
+     * Filtered time for one model step in nanoseconds.
+     */
+    private double stepTime;
+
+    /**
+     * Histograms with the measured time of each part of the cycle.
+     */
+    private final CycleTiming timing = new CycleTiming(CYCLE_BUDGET);
+
+    /**
+     * Thread pool to run independent parts of the model step at the same
+     * time. Without it, everything runs on the main loop thread.
+     */
+    private ExecutorService threadPool;
+    private int threadCount;
+
+    /**
+     * Counts the cycles until the timing values get published again.
+     */
+    private int timingPublishCounter;
+
+    /**
+     * Number of cycles from one full snapshot to the next one if delta
+     * snapshots are used, 50 cycles are 5 seconds.
+     */
+    private static final int KEYFRAME_INTERVAL = 50;
+
+    /**
+     * Counts the cycles until the next full snapshot will be sent, 0 sends
+     * one with the next cycle.
+     */
+    private int keyframeCounter;
+
+    /**
+     * Sends the snapshots of each cycle to the controller.
+     */
+    private SnapshotPublisher publisher;
+
+    /**
+     * Set if the main loop is called faster than real time without using the
+     * speed setting, like the headless simulator does.
+     */
+    private boolean fasterThanRealTime;
+
+    /**
+     * Allows the implicit integration of the fuel thermal capacities while
+     * running faster than real time, off by default.
+     */
+    private boolean implicitFuelAllowed;
+
+    /**
+     * Last state of the implicit fuel integration, null to apply it on the
+     * first cycle.
+     */
+    private Boolean implicitFuelIntegration;
+
     public void init() {
+        // Rod positions are shown with 2 decimals.
+        outputValues.setDeadband("Reactor#RodPosition", 0.001, 0.0);
+        outputValues.setDeadband("Timing#", 0.0, 0.01);
+        // The thermal hydraulic values change by tiny amounts on each step
+        // even in a steady state as the solvers never hit the same values
+        // again. 0.05 % is below what any display shows, the keyframes send
+        // the exact values anyway. The turbine speed is needed more precise
+        // for synchronizing.
+        for (String prefix : new String[]{"Loop", "Main", "Feedwater",
+            "Deaerator", "Blowdown", "AuxCond", "Hotwell", "Condens",
+            "CircCoolant", "Coolant#", "MakeupStorage", "Preheater", "ECCS",
+            "BubblerPool", "Ejector", "PRV", "TrimValve"}) {
+            outputValues.setDeadband(prefix, 0.001, 0.0005);
+        }
+        outputValues.setDeadband("Turbine", 0.001, 0.0001);
+
+        core.registerSimulationClock(clock);
+        process.registerSimulationClock(clock);
+        turbine.registerSimulationClock(clock);
+
         core.registerTurbine(turbine);
         core.registerThermalLayout(process);
         core.registerAlarmManager(alarms);
         core.init();
         core.registerParameterOutput(outputValues);
-        core.registerController(controller);
+        core.registerParameterRegistry(parameters);
+        core.registerController(queuedController);
 
         process.registerReactor(core);
         process.registerTurbine(turbine);
 
         process.registerParameterOutput(outputValues);
-        process.registerController(controller);
+        process.registerParameterRegistry(parameters);
+        process.registerController(queuedController);
         process.registerAlarmManager(alarms);
         process.init();
 
@@ -80,7 +215,8 @@ public class MainLoop implements Runnable, ModelManipulation {
         turbine.registerAlarmManager(alarms);
         turbine.init();
         turbine.registerParameterOutput(outputValues);
-        turbine.registerController(controller);
+        turbine.registerParameterRegistry(parameters);
+        turbine.registerController(queuedController);
     }
 
     @Override
@@ -92,32 +228,84 @@ public class MainLoop implements Runnable, ModelManipulation {
             // Get all the values and GUI commands first.
             controller.fireActions();
             if (!pause) {
-                core.run();
-                if (!core.isExploded()) {
-                    process.run();
-                    // process.run has updated the whole dynamic model by 1 
-                    // cycle, the data of all the fuel cells is organized in the 
-                    // core so we call it from there:
-                    core.runProcessResults();
+                int steps = stepsForThisCycle();
+                long stepStartTime;
+                updateImplicitFuelIntegration();
+                for (int idx = 0; idx < steps; idx++) {
+                    stepStartTime = System.nanoTime();
+                    runModelStep();
+                    updateStepTime(System.nanoTime() - stepStartTime);
+                    // For MAX speed, stop as soon as the next step would not
+                    // fit in the remaining cycle time anymore.
+                    if (activeSpeed == SimulationSpeed.MAX
+                            && System.nanoTime() - startTime + stepTime
+                            > CYCLE_BUDGET * BUDGET_USAGE) {
+                        break;
+                    }
                 }
-                
-                turbine.run();
+
+                // Timing statistics are updated once per second only, they
+                // are in the snapshot like any other value.
+                timingPublishCounter++;
+                if (timingPublishCounter >= 10) {
+                    timingPublishCounter = 0;
+                    timing.publishTo(outputValues);
+                }
+
                 // Send all measurement data to the GUI by generating a snapshot
                 // and sending them to the GUI, this will generate a history of
-                // values there (implemented for network view)
-                controller.propertyChange("OutputSnapshot",
-                        outputValues.getSnapshot());
+                // values there (implemented for network view). With time
+                // acceleration, this is only done once for each real cycle,
+                // not for each model step.
+                // If delta snapshots are enabled, only the changed values
+                // are sent in between the full snapshots. The data is put
+                // into a frame of the publisher, which sends it from its own
+                // thread.
+                timing.start();
+                SnapshotPublisher.Frame frame = publisher.getBackFrame();
+                if (publisher.checkDropped()) {
+                    keyframeCounter = 0; // a delta might be missing
+                }
+                if (outputValues.isTracking() && keyframeCounter > 0) {
+                    parameters.publishTo(outputValues);
+                    frame.setOutput("OutputDelta", outputValues.createDelta());
+                } else {
+                    frame.setOutput("OutputSnapshot", createOutputSnapshot());
+                    if (outputValues.isTracking()) {
+                        outputValues.markKeyframe();
+                    }
+                }
+                keyframeCounter = (keyframeCounter + 1) % KEYFRAME_INTERVAL;
+                // Values of the whole core like the fuel temperatures are
+                // sent as one array per parameter instead.
+                for (int idx = 0; idx < parameters.getArrayCount(); idx++) {
+                    parameters.copyArrayTo(idx, frame.getArrayBuffer(idx,
+                            parameters.getArrayName(idx),
+                            parameters.getArrayLength(idx)));
+                }
+                frame.setArrayCount(parameters.getArrayCount());
+                stopTiming(CyclePhase.OUTPUT_SNAPSHOT);
 
-                controller.propertyChange("AlarmListSnapshot",
+                frame.setAlarms(
                         AlarmListSnapshot.fromAlarmList(alarms.getAlarmList()));
+                publisher.flip();
+                stopTiming(CyclePhase.ALARM_SNAPSHOT);
+            }
+            if (activeSpeed != oldActiveSpeed) {
+                queuedController.propertyChange(new PropertyChangeEvent(
+                        this, "SimulationSpeed", oldActiveSpeed, activeSpeed));
+                oldActiveSpeed = activeSpeed;
             }
         } catch (Exception e) {
             pause = true;
-            ExceptionPopup.show(e);
+            showException(e);
             // System.exit(0);
         }
 
         stopTime = System.nanoTime();
+        if (initialIterations > 2) {
+            timing.record(CyclePhase.TOTAL, stopTime - startTime);
+        }
         if (stopTime - startTime > maxTime) {
             if (initialIterations > 2) {
                 maxTime = stopTime - startTime;
@@ -129,6 +317,260 @@ public class MainLoop implements Runnable, ModelManipulation {
         }
     }
 
+    /**
+     * Advances the whole model by one step of 0.1 seconds.
+     */
+    private void runModelStep() throws InterruptedException {
+        long stepStart = System.nanoTime();
+        long lubeOilTime;
+        long waitTime = 0;
+        timing.start();
+        core.run();
+        stopTiming(CyclePhase.CORE);
+
+        // The steps depend on each other like this:
+        //   core -> process -> processResults -> turbine
+        //   core -> lubeOil ------------------> turbine
+        // The lube oil network does not depend on the thermal layout, so it
+        // is solved on the thread pool while the process is calculated. The
+        // solver also uses the pool for its own tasks, the lube oil is only
+        // put there if there is more than one thread.
+        Future<Long> lubeOil = null;
+        if (threadPool != null && threadCount >= 2) {
+            lubeOil = threadPool.submit(this::solveLubeOil);
+        }
+        try {
+            if (!core.isExploded()) {
+                process.run();
+                stopTiming(CyclePhase.PROCESS);
+                // process.run has updated the whole dynamic model by 1 
+                // cycle, the data of all the fuel cells is organized in the 
+                // core so we call it from there:
+                core.runProcessResults();
+                stopTiming(CyclePhase.PROCESS_RESULTS);
+            }
+            if (lubeOil != null) {
+                waitTime = System.nanoTime();
+                lubeOilTime = lubeOil.get();
+                waitTime = System.nanoTime() - waitTime;
+            } else {
+                lubeOilTime = solveLubeOil();
+                waitTime = lubeOilTime;
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException r) {
+                throw r;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            // Never start the next step while the lube oil is still solved,
+            // this might happen if the process threw an exception.
+            if (lubeOil != null && !lubeOil.isDone()) {
+                try {
+                    lubeOil.get();
+                } catch (ExecutionException ex) {
+                    // there is already an exception on its way
+                }
+            }
+        }
+
+        timing.start(); // the lube oil is not part of the turbine phase
+        turbine.run();
+        stopTiming(CyclePhase.TURBINE);
+
+        if (initialIterations > 2) {
+            timing.record(CyclePhase.LUBE_OIL, lubeOilTime);
+            timing.record(CyclePhase.CRITICAL_PATH,
+                    System.nanoTime() - stepStart);
+            // The part of the lube oil solve that did not have to be waited
+            // for was done in parallel to the process.
+            timing.record(CyclePhase.OVERLAP,
+                    Math.max(0, lubeOilTime - waitTime));
+        }
+
+        clock.advance();
+        parameters.set(timeHandle, clock.getTime());
+    }
+
+    /**
+     * Writes the values of the parameter registry to the output values and
+     * creates a snapshot from them. With tracking enabled, the output values
+     * hold back the written values until they are flushed.
+     *
+     * @return Snapshot with all current output values.
+     */
+    ValueSnapshot createOutputSnapshot() {
+        parameters.publishTo(outputValues);
+        if (outputValues.isTracking()) {
+            outputValues.flush();
+        }
+        return outputValues.getSnapshot();
+    }
+
+    /**
+     * Solves the lube oil network of the turbine.
+     *
+     * @return Time it took in nanoseconds.
+     */
+    private long solveLubeOil() {
+        long start = System.nanoTime();
+        turbine.solveLubeOil();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Sets a thread pool which is used to run independent parts of the model
+     * step at the same time. This should be the same pool that is used for
+     * the solvers.
+     *
+     * @param pool Thread pool
+     * @param threads Number of threads of the pool
+     */
+    public void setThreadPool(ExecutorService pool, int threads) {
+        threadPool = pool;
+        threadCount = threads;
+        // With two or more threads, the lube oil is solved on the pool while
+        // the process partitions are solved. It takes one thread that the
+        // partitions must not count on, otherwise there might be no free
+        // thread left for the superposition tasks of the solvers.
+        if (threads >= 2) {
+            process.setThreadPool(pool, threads - 1);
+        } else {
+            process.setThreadPool(pool, threads);
+        }
+    }
+
+    /**
+     * Records the time of the phase, except for the first slow cycles after
+     * start or loading a state which would only distort the statistics.
+     *
+     * @param phase The phase that was just completed.
+     */
+    private void stopTiming(CyclePhase phase) {
+        if (initialIterations > 2) {
+            timing.stop(phase);
+        } else {
+            timing.start();
+        }
+    }
+
+    /**
+     * Uses the implicit integration of the fuel thermal capacity only if it
+     * was allowed and the simulation is running faster than real time. In
+     * real time, there is enough time for the more accurate explicit
+     * integration.
+     */
+    private void updateImplicitFuelIntegration() {
+        boolean implicit = implicitFuelAllowed && (fasterThanRealTime
+                || activeSpeed != SimulationSpeed.X1);
+        if (implicitFuelIntegration == null
+                || implicitFuelIntegration != implicit) {
+            core.setImplicitFuelIntegration(implicit);
+            implicitFuelIntegration = implicit;
+        }
+    }
+
+    /**
+     * Determines the number of model steps to run in this cycle. If the
+     * selected speed does not fit into the cycle time with the measured time
+     * per model step, the next lower speed that does fit will be used.
+     *
+     * @return Number of model steps
+     */
+    private int stepsForThisCycle() {
+        activeSpeed = speedSetpoint;
+        if (activeSpeed == SimulationSpeed.MAX) {
+            if (stepTime <= 0) {
+                return 1;
+            }
+            return Math.max(1,
+                    (int) (CYCLE_BUDGET * BUDGET_USAGE / stepTime));
+        }
+        // The first cycles after start or loading a state are slow and do 
+        // not count as they would reduce the speed without reason.
+        if (initialIterations > 2) {
+            while (activeSpeed != SimulationSpeed.X1
+                    && stepTime * activeSpeed.getStepsPerCycle()
+                    > CYCLE_BUDGET * BUDGET_USAGE) {
+                activeSpeed = SimulationSpeed.values()[activeSpeed.ordinal() - 1];
+            }
+        }
+        return activeSpeed.getStepsPerCycle();
+    }
+
+    /**
+     * Creates a SaveGame with the current state of all subsystems.
+     *
+     * @return Saved state
+     */
+    private SaveGame createSaveGame() {
+        SaveGame save = new SaveGame();
+        save.setSimulationTime(clock.getTimeMillis());
+        process.saveTo(save);
+        core.saveTo(save);
+        turbine.saveTo(save);
+        return save;
+    }
+
+    /**
+     * Sets all subsystems to the saved state.
+     *
+     * @param save Saved state
+     */
+    private void loadSaveGame(SaveGame save) {
+        keyframeCounter = 0; // everything changes, send a full snapshot.
+        alarms.clear();
+        clock.setTimeMillis(save.getSimulationTime());
+        core.load(save);
+        process.load(save);
+        turbine.load(save);
+    }
+
+    /**
+     * Runs some model steps to have everything prepared before the main loop
+     * gets scheduled. The first steps are always slow, the solvers build their
+     * structures and the code still gets compiled. Afterwards, the state is
+     * set back to the state before the warm up, so nothing changes except
+     * that the first cycle the user sees is as fast as all others.
+     * <p>
+     * Nothing is sent to the controller. Must not be called while the main
+     * loop is scheduled, it is meant to run on a background thread during
+     * startup while the GUI gets built.
+     *
+     * @param save State to start from, null to start from the current state
+     * @param steps Number of model steps to run
+     * @throws InterruptedException if interrupted while running the steps.
+     */
+    public void warmUp(SaveGame save, int steps) throws InterruptedException {
+        SaveGame start = save != null ? save : createSaveGame();
+        long stepStartTime;
+        initialIterations = 0;
+        loadSaveGame(start);
+        for (int idx = 0; idx < steps; idx++) {
+            stepStartTime = System.nanoTime();
+            runModelStep();
+            updateStepTime(System.nanoTime() - stepStartTime);
+        }
+        loadSaveGame(start);
+        // Already warmed up, timing statistics are valid from the start.
+        initialIterations = 3;
+        LOGGER.log(Level.INFO, "Warm up finished, " + steps
+                + " steps, last step " + (long) stepTime / 1000 + " us");
+    }
+
+    /**
+     * Updates the filtered time that is needed for one model step.
+     *
+     * @param nanos Measured time of the last model step.
+     */
+    private void updateStepTime(long nanos) {
+        if (stepTime <= 0 || initialIterations <= 2) {
+            stepTime = nanos;
+        } else {
+            stepTime = 0.9 * stepTime + 0.1 * nanos;
+        }
+    }
+
     @Override
     public void updateNotification(String propertyName) {
 
@@ -143,6 +585,16 @@ public class MainLoop implements Runnable, ModelManipulation {
             pause = !pause;
         }
 
+        if (ac.getPropertyName().equals("SimulationSpeed")) {
+            speedSetpoint = (SimulationSpeed) ac.getValue();
+            return;
+        }
+
+        if (ac.getPropertyName().equals("ResetCycleTiming")) {
+            timing.reset();
+            return;
+        }
+
         if (ac.getPropertyName().equals("AcknowledgeAlarms")) {
             alarms.acknowledge();
         }
@@ -151,15 +603,11 @@ public class MainLoop implements Runnable, ModelManipulation {
             try (ObjectOutputStream oos = new ObjectOutputStream(
                     new FileOutputStream(
                             new File((String) ac.getValue())))) {
-                SaveGame save = new SaveGame();
-                process.saveTo(save);
-                core.saveTo(save);
-                turbine.saveTo(save);
-                oos.writeObject(save);
+                oos.writeObject(createSaveGame());
                 LOGGER.log(Level.INFO, "Simulation state saved to: "
                         + ac.getValue());
             } catch (IOException e) {
-                ExceptionPopup.show(e);
+                showException(e);
             }
             return;
         }
@@ -170,15 +618,26 @@ public class MainLoop implements Runnable, ModelManipulation {
                     new FileInputStream(
                             new File((String) ac.getValue())))) {
                 SaveGame save = (SaveGame) ois.readObject();
-                alarms.clear();
-                core.load(save);
-                process.load(save);
-                turbine.load(save);
+                loadSaveGame(save);
                 LOGGER.log(Level.INFO, "Simulation state loaded from: "
                         + ac.getValue() + " (saved at: "
                         + save.getTimestamp() + ")");
             } catch (IOException | ClassNotFoundException e) {
-                ExceptionPopup.show(e);
+                showException(e);
+            }
+            return;
+        }
+
+        if (ac.getPropertyName().equals("NewSimulation")) {
+            initialIterations = 0; // first iteration will be very long.
+            try {
+                StartupState state = StartupState.fromFileName(
+                        (String) ac.getValue());
+                loadSaveGame(state.read());
+                LOGGER.log(Level.INFO, "New simulation started from: "
+                        + state.getDescription());
+            } catch (IOException | IllegalArgumentException e) {
+                showException(e);
             }
             return;
         }
@@ -209,6 +668,131 @@ public class MainLoop implements Runnable, ModelManipulation {
     @Override // called on initialization
     public void registerController(ModelListener controller) {
         this.controller = controller;
-        core.registerController(controller);
+        publisher = new SnapshotPublisher(controller);
+        queuedController = new QueuedModelListener(controller, publisher);
+        core.registerController(queuedController);
+    }
+
+    /**
+     * Sends the snapshots from a separate thread instead of the thread that
+     * calls run. Has to be called after registerController. Frames that can
+     * not be sent in time are dropped, so this is for the GUI only, not for
+     * recording each snapshot.
+     */
+    public void startPublisher() {
+        publisher.start();
+    }
+
+    ReactorCore getCore() {
+        return core;
+    }
+
+    ThermalLayout getProcess() {
+        return process;
+    }
+
+    Turbine getTurbine() {
+        return turbine;
+    }
+
+    ValueHandler getOutputValues() {
+        return outputValues;
+    }
+
+    /**
+     * @return Registry with the values that are written on each step.
+     */
+    public ParameterRegistry getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return Histograms of the measured time for each part of the cycle.
+     */
+    public CycleTiming getTiming() {
+        return timing;
+    }
+
+    /**
+     * @return The clock that holds the simulated time.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Disables all swing popups, exceptions will only be logged. Needs to be
+     * set when running without a display.
+     *
+     * @param headless true to not use any GUI elements.
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Calculates the fuel channels of the reactor core in parallel, grouped
+     * by their evaporators. Has to be called after init.
+     *
+     * @param parallel true to enable the parallel calculation
+     */
+    public void setParallelChannels(boolean parallel) {
+        core.setParallelChannels(parallel);
+    }
+
+    /**
+     * Marks the main loop to be called faster than real time without using
+     * the speed setting. This enables the same model simplifications as a
+     * time acceleration does.
+     *
+     * @param fasterThanRealTime true if not called in real time.
+     */
+    public void setFasterThanRealTime(boolean fasterThanRealTime) {
+        this.fasterThanRealTime = fasterThanRealTime;
+    }
+
+    /**
+     * Allows the implicit integration of the fuel thermal capacities while
+     * the simulation runs faster than real time. The model step is 0.1 s at
+     * all speeds, where the explicit integration is stable and more
+     * accurate. The implicit one only damps the fast fuel temperature changes
+     * a bit more without saving anything, therefore it is off by default. It
+     * is meant for experiments with larger model steps.
+     *
+     * @param allowed true to use the implicit integration when accelerated.
+     */
+    public void setImplicitFuelIntegration(boolean allowed) {
+        implicitFuelAllowed = allowed;
+    }
+
+    /**
+     * Sends only the changed values as OutputDelta instead of a full
+     * OutputSnapshot on each cycle, with a full snapshot every 50 cycles.
+     * The receiver has to put the deltas together, which the
+     * ControlPanelManager does. Has to be set before init.
+     *
+     * @param deltaSnapshots true to send deltas in between full snapshots.
+     */
+    public void setDeltaSnapshots(boolean deltaSnapshots) {
+        outputValues.setTracking(deltaSnapshots);
+        keyframeCounter = 0;
+    }
+
+    /**
+     * Returns the pause state. The simulation will also be paused if an
+     * exception was thrown during the cyclic run.
+     *
+     * @return true if paused
+     */
+    public boolean isPaused() {
+        return pause;
+    }
+
+    private void showException(Exception e) {
+        if (headless) {
+            LOGGER.log(Level.SEVERE, "Exception in simulation", e);
+        } else {
+            ExceptionPopup.show(e);
+        }
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+/**
+ * Collects the input value of a model that is calculated with a longer period
+ * than the model step. The input is added with each step and the model gets
+ * the average of all values since its last calculation, together with the
+ * time that has passed. This way, short changes of the input are not lost
+ * even if the model is calculated only each few steps.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class MultiRateInput {
+
+    private final long periodMillis;
+    private final long offsetMillis;
+
+    private double sum;
+    private int samples;
+
+    /**
+     * @param periodMillis Period of the model in milliseconds
+     * @param offsetMillis Offset to the other models in milliseconds
+     */
+    public MultiRateInput(long periodMillis, long offsetMillis) {
+        this.periodMillis = periodMillis;
+        this.offsetMillis = offsetMillis;
+    }
+
+    /**
+     * Adds the input value of the current step.
+     *
+     * @param value Input value
+     */
+    public void add(double value) {
+        sum += value;
+        samples++;
+    }
+
+    /**
+     * Checks if the model has to be calculated in the current step.
+     *
+     * @param clock Simulation clock
+     * @return true if the model has to be calculated.
+     */
+    public boolean isDue(SimulationClock clock) {
+        return samples > 0 && clock.isDue(periodMillis, offsetMillis);
+    }
+
+    /**
+     * @return Average of the values since the last reset.
+     */
+    public double getAverage() {
+        return sum / samples;
+    }
+
+    /**
+     * Returns the time the model has to be calculated for, this is the step
+     * time for each value that was added since the last reset.
+     *
+     * @param clock Simulation clock
+     * @return Time in seconds
+     */
+    public double getStepTime(SimulationClock clock) {
+        return samples * clock.getStepTime();
+    }
+
+    /**
+     * To be called after the model was calculated.
+     */
+    public void reset() {
+        sum = 0.0;
+        samples = 0;
+    }
+}
@@ -127,6 +127,39 @@ public class NeutronFluxModel implements Runnable {
      */
     private final double A_POSITIVE_FEEDBACK = 0.4;
 
+    /**
+     * Maximum number of sub steps per step, has to be a power of two as the
+     * sub steps are halved. 0.1 s / 256 is about 0.4 ms which is needed for
+     * the fast flux decay after a scram.
+     */
+    private static final int MAX_SUB_STEPS = 256;
+
+    /**
+     * Allowed error of the neutron flux for each sub step, as absolute value
+     * in % and relative to the flux. The error is estimated from the
+     * difference of euler and heun method.
+     */
+    private static final double ABS_TOLERANCE = 1e-4;
+    private static final double REL_TOLERANCE = 1e-3;
+
+    /**
+     * Split the step in sub steps if the flux changes fast.
+     */
+    private boolean adaptiveStepping = true;
+
+    /**
+     * Number of sub steps used in the last step, for diagnostics.
+     */
+    private int subSteps;
+
+    /**
+     * Arrays for the state and the derivatives used during the run method.
+     */
+    private final double[] x = new double[4];
+    private final double[] trial = new double[4];
+    private final double[] k1 = new double[4];
+    private final double[] k2 = new double[4];
+
     /**
      * Marks the event of the prompt neutron excursion.
      */
@@ -203,73 +236,86 @@ public class NeutronFluxModel implements Runnable {
 
     @Override
     public void run() {
-        double dXNeutronFlux;
-        double dXDelayedCriticality;
-        double dXDeltaRods;
-        double dXNeutronRateDelay;
-        double reactivity, dynamisedReactivity, critFunctionResult,
-                posFeedbackMultiplier;
+        double reactivity, dynamisedReactivity, error, tolerance;
+        double dXNeutronFlux = 0.0;
         boolean zeroPower = false;
-        // Now, first, we will have some values valvulated from the current
-        // state variables and the inputs.
-        // The reactivity coefficient rho:
-        reactivity = (uReactivity - uAbsorberRods) * K_REACTIVITY;
+        int stepTicks, remainingTicks;
 
-        // Input value of the criticality function which adds the prompt 
-        // excursion and also a fast neutron death. This is the third summizer
-        // on the svg schematic.
-        dynamisedReactivity = xDelayedCriticality
-                // prompt path:
-                + reactivity * P_INSTANT
-                // DT1 rod lift part:
-                - Math.min(0, // only rod out movement will cause a postiive DT1
-                        K_REACTIVITY * K_DIFF_RODS
-                        * (uAbsorberRods - xDeltaRods));
+        // The reactivity coefficient rho, the inputs are constant during the
+        // whole step.
+        reactivity = (uReactivity - uAbsorberRods) * K_REACTIVITY;
 
-        // Apply the criticality rate 
-        critFunctionResult = criticalityFunction(dynamisedReactivity);
+        x[0] = xNeutronFlux;
+        x[1] = xDelayedCriticality;
+        x[2] = xDeltaRods;
+        x[3] = xNeutronRateDelay;
+
+        // The step is split into sub steps which are counted in ticks of
+        // stepTime / MAX_SUB_STEPS to have the sum of all sub steps exactly
+        // match the step time. Each sub step is a forward euler step, the
+        // derivative at the end of it is used to estimate the error (this is
+        // the embedded euler-heun pair). If the error is too large, the sub
+        // step is halved. As long as the flux changes smooth, this is one
+        // single step, just like before.
+        subSteps = 0;
+        stepTicks = MAX_SUB_STEPS;
+        remainingTicks = MAX_SUB_STEPS;
+        while (remainingTicks > 0) {
+            stepTicks = Math.min(stepTicks, remainingTicks);
+            double h = stepTime * stepTicks / MAX_SUB_STEPS;
+            dynamisedReactivity = calculateDerivatives(x, reactivity, k1);
+            for (int idx = 0; idx < x.length; idx++) {
+                trial[idx] = x[idx] + k1[idx] * h;
+            }
+            error = 0.0;
+            tolerance = ABS_TOLERANCE + REL_TOLERANCE * Math.abs(x[0]);
+            // No need to check the error if the flux is already at one of the
+            // limits and stays there, it will be set to the limit anyway.
+            if (adaptiveStepping && !(x[0] <= 1e-4 && trial[0] <= 1e-4)
+                    && !(x[0] >= 1200 && trial[0] >= 1200)) {
+                calculateDerivatives(trial, reactivity, k2);
+                error = 0.5 * h * Math.abs(k2[0] - k1[0]);
+                if (error > tolerance && stepTicks > 1) {
+                    stepTicks /= 2;
+                    continue;
+                }
+            }
 
-        if (!promptExcursion) {
-            // This is the input on the multiplier block that is used to generate 
-            // the positive feedback behavior in the beginning
-            posFeedbackMultiplier = 1.0 - Math.exp(
-                    -A_POSITIVE_FEEDBACK * xNeutronFlux);
-        } else {
-            // Allow fast runaway even for very small neutron flux values
-            // immediately
-            posFeedbackMultiplier = 1.0;
+            // Sub step is accepted. The prompt excursion is triggered by the
+            // state at the beginning of the sub step.
+            if (dynamisedReactivity > beta) {
+                promptExcursion = true;
+            }
+            System.arraycopy(trial, 0, x, 0, x.length);
+            dXNeutronFlux = k1[0];
+            zeroPower = false;
+            if (x[0] >= 1200) {
+                // Limit to 12 times the normal flux value.
+                // the megawatt-value will be limited elsewhere. This happens
+                // on prompt excursion and is irreversible anyway.
+                x[0] = 1200;
+            } else if (x[0] <= 1e-4) {
+                // Limit the neutron flux. The lower limit is defined using
+                // the log value. RXModel had something like -5.28, we use
+                // -6.0 here as this is set as the low end of the plot view
+                // scale.
+                // 10^-5.3 * 100 % is 5.0118723e-4 %
+                // 10^-6 * 100 % = 1e-4 %
+                x[0] = 1e-4;
+                zeroPower = true;
+            }
+            remainingTicks -= stepTicks;
+            subSteps++;
+            // Try a larger step again if the error was small.
+            if (error < 0.25 * tolerance && stepTicks < MAX_SUB_STEPS) {
+                stepTicks *= 2;
+            }
         }
 
-        // Generate the diff inputs for the integral blocks
-        dXNeutronFlux = K_INTEGRAL * posFeedbackMultiplier * critFunctionResult;
-
-        dXDelayedCriticality = reactivity
-                * (1 - P_INSTANT) / T_DELAYED_REACTIVITY
-                - xDelayedCriticality / T_DELAYED_REACTIVITY;
-
-        dXDeltaRods = (uAbsorberRods - xDeltaRods) / T_DIFF_RODS;
-
-        dXNeutronRateDelay = (dXNeutronFlux - xNeutronRateDelay) / T_RATEFILTER;
-
-        // Forward Euler
-        xNeutronFlux = xNeutronFlux + dXNeutronFlux * stepTime;
-        if (xNeutronFlux >= 1200) {
-            // Limit to 12 times the normal flux value.
-            // the megawatt-value will be limited elsewhere. This happens on
-            // prompt excursion and is irreversible anyway.
-            xNeutronFlux = 1200;
-        } else if (xNeutronFlux <= 1e-4) {
-            // Limit the neutron flux. The lower limit is defined using the log
-            // value. RXModel had something like -5.28, we use -6.0 here as this
-            // is set as the low end of the plot view scale.
-            // 10^-5.3 * 100 % is 5.0118723e-4 %
-            // 10^-6 * 100 % = 1e-4 %
-            xNeutronFlux = 1e-4;
-            zeroPower = true;
-        }
-        xDelayedCriticality += dXDelayedCriticality * stepTime;
-        xDeltaRods += dXDeltaRods * stepTime;
-        xNeutronRateDelay += dXNeutronRateDelay * stepTime;
+        xNeutronFlux = x[0];
+        xDelayedCriticality = x[1];
+        xDeltaRods = x[2];
+        xNeutronRateDelay = x[3];
 
         // Update Output variables
         if (!promptExcursion) {
@@ -296,18 +342,79 @@ public class NeutronFluxModel implements Runnable {
         yNeutronFluxLog = Math.log10(xNeutronFlux / 100);
     }
 
+    /**
+     * Calculates the derivatives of the state space variables for the given
+     * state. Does not change anything in the model, so it can be called
+     * multiple times within one step.
+     *
+     * @param x State space variables: flux, delayed criticality, delta rods
+     * and neutron rate delay.
+     * @param reactivity Reactivity coefficient rho from the inputs.
+     * @param dx Array to write the derivatives to.
+     * @return Dynamised reactivity which is used to trigger the prompt
+     * excursion.
+     */
+    private double calculateDerivatives(double[] x, double reactivity,
+            double[] dx) {
+        double dynamisedReactivity, critFunctionResult, posFeedbackMultiplier;
+        boolean excursion;
+
+        // Input value of the criticality function which adds the prompt 
+        // excursion and also a fast neutron death. This is the third summizer
+        // on the svg schematic.
+        dynamisedReactivity = x[1]
+                // prompt path:
+                + reactivity * P_INSTANT
+                // DT1 rod lift part:
+                - Math.min(0, // only rod out movement will cause a postiive DT1
+                        K_REACTIVITY * K_DIFF_RODS
+                        * (uAbsorberRods - x[2]));
+
+        // Apply the criticality rate 
+        excursion = promptExcursion || dynamisedReactivity > beta;
+        critFunctionResult = criticalityFunction(dynamisedReactivity,
+                excursion);
+
+        if (!excursion) {
+            // This is the input on the multiplier block that is used to generate 
+            // the positive feedback behavior in the beginning
+            posFeedbackMultiplier = 1.0 - Math.exp(
+                    -A_POSITIVE_FEEDBACK * x[0]);
+        } else {
+            // Allow fast runaway even for very small neutron flux values
+            // immediately
+            posFeedbackMultiplier = 1.0;
+        }
+
+        // Generate the diff inputs for the integral blocks
+        dx[0] = K_INTEGRAL * posFeedbackMultiplier * critFunctionResult;
+
+        dx[1] = reactivity
+                * (1 - P_INSTANT) / T_DELAYED_REACTIVITY
+                - x[1] / T_DELAYED_REACTIVITY;
+
+        dx[2] = (uAbsorberRods - x[2]) / T_DIFF_RODS;
+
+        dx[3] = (dx[0] - x[3]) / T_RATEFILTER;
+
+        return dynamisedReactivity;
+    }
+
     /**
      * A function that manipulates the manipulated, dynamic rho value and
      * returns the integrator input (yet without the time constant). If rho
      * exceeds beta, the return value will be PROMPT_EXCURSION_RATE which will
      * increase the integrator dramatically, usually ending the simulation and
-     * causing an accident. It is a hard switch that can't be stopped.
+     * causing an accident. It is a hard switch that can't be stopped, the
+     * run method will set promptExcursion for this.
      *
      * @param rho Effective neutron multiplication factor, 0.0 for steady state.
+     * @param excursion true if the prompt excursion is happening.
      * @return Value to be integrated, 0 at steady state.
      */
-    private double criticalityFunction(double rho) {
-        if (promptExcursion) {
+    private double criticalityFunction(double rho, boolean excursion) {
+        if (excursion) {
+            // Prompt neutron power excursion. Unstoppable.
             return PROMPT_EXCURSION_RATE;
         } else if (rho < (-beta * NEGATIVE_BETA_FACTOR)) {
             // chain reaction dies below this factor if too many prompt neutrons
@@ -315,10 +422,6 @@ public class NeutronFluxModel implements Runnable {
             // y = m * (x - x0) + y0
             return DECAY_FACTOR * (rho - (-beta * NEGATIVE_BETA_FACTOR))
                     - beta * NEGATIVE_BETA_FACTOR;
-        } else if (rho > beta) {
-            // Prompt neutron power excursion. Unstoppable.
-            promptExcursion = true;
-            return PROMPT_EXCURSION_RATE;
         } else {
             // unmodified input value
             return rho;
@@ -373,6 +476,23 @@ public class NeutronFluxModel implements Runnable {
         this.stepTime = stepTime;
     }
 
+    /**
+     * Enables the splitting of the step in smaller sub steps if the neutron
+     * flux changes fast. If disabled, each step is one forward euler step.
+     *
+     * @param adaptiveStepping true to enable sub steps.
+     */
+    public void setAdaptiveStepping(boolean adaptiveStepping) {
+        this.adaptiveStepping = adaptiveStepping;
+    }
+
+    /**
+     * @return Number of sub steps that were used in the last step.
+     */
+    public int getSubSteps() {
+        return subSteps;
+    }
+
     public void setBeta(double beta) {
         this.beta = beta;
     }
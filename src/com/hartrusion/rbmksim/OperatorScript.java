@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.control.ControlCommand;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A list of actions that are sent to the model at a given simulated time,
+ * replacing an operator at the GUI. Used to run the same scenario with
+ * different operator responses.
+ *
+ * <p>
+ * The script is a text file with one action per line: the time in seconds
+ * after the start, the name of the action command and an optional value,
+ * separated by whitespace. Lines starting with # are comments. Values are
+ * converted to the type the model expects: true and false to boolean,
+ * numbers without a decimal point to int, other numbers to double and the
+ * names of ControlCommand to that enum. If no value is given, true is sent
+ * like a push button on the GUI does. Example:
+ * <pre>
+ * # Scram 30 seconds after start
+ * 30.0 Reactor#AZ5
+ * 45.5 Reactor#GlobalControlEnabled false
+ * </pre>
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class OperatorScript {
+
+    private final String name;
+
+    /**
+     * Time of each action in milliseconds, same as the SimulationClock.
+     */
+    private final List<Long> times = new ArrayList<>();
+    private final List<String> propertyNames = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+
+    /**
+     * Index of the next action that was not queued yet.
+     */
+    private int next;
+
+    public OperatorScript(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Reads a script from a file, the name of the script is the file name
+     * without extension.
+     *
+     * @param file Script file
+     * @return The script with all its actions
+     * @throws IOException if the file can not be read.
+     */
+    public static OperatorScript load(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        OperatorScript script = new OperatorScript(
+                dot > 0 ? fileName.substring(0, dot) : fileName);
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        String[] fields;
+        for (int idx = 0; idx < lines.size(); idx++) {
+            String line = lines.get(idx).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            fields = line.split("\\s+");
+            if (fields.length < 2 || fields.length > 3) {
+                throw new IOException(fileName + ", line " + (idx + 1)
+                        + ": Expected time, action and optional value.");
+            }
+            try {
+                script.addAction(Double.parseDouble(fields[0]), fields[1],
+                        fields.length == 3 ? parseValue(fields[2]) : true);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException(fileName + ", line " + (idx + 1)
+                        + ": " + ex.getMessage(), ex);
+            }
+        }
+        return script;
+    }
+
+    /**
+     * Converts the value of a script line to the type that the model
+     * expects for the action.
+     */
+    private static Object parseValue(String value) {
+        if (value.equals("true") || value.equals("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        for (ControlCommand c : ControlCommand.values()) {
+            if (c.name().equals(value)) {
+                return c;
+            }
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            // not an int, try double next
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            return value;
+        }
+    }
+
+    /**
+     * Adds an action, actions have to be added in the order of their time.
+     *
+     * @param time Simulated time in seconds after the start
+     * @param propertyName Name of the action command
+     * @param value Value of the action command
+     */
+    public void addAction(double time, String propertyName, Object value) {
+        long timeMillis = Math.round(time * 1000);
+        if (!times.isEmpty() && timeMillis < times.get(times.size() - 1)) {
+            throw new IllegalArgumentException(
+                    "Actions are not in the order of their time.");
+        }
+        times.add(timeMillis);
+        propertyNames.add(propertyName);
+        values.add(value);
+    }
+
+    /**
+     * Queues all actions that are due at the given time and were not queued
+     * before.
+     *
+     * @param sim Simulation to send the actions to
+     * @param timeMillis Simulated time in milliseconds after the start
+     */
+    public void queueDueActions(HeadlessSimulator sim, long timeMillis) {
+        while (next < times.size() && times.get(next) <= timeMillis) {
+            sim.queueAction(propertyNames.get(next), values.get(next));
+            next++;
+        }
+    }
+
+    /**
+     * Makes all actions to be queued again, to run the script once more.
+     */
+    public void rewind() {
+        next = 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Number of actions in this script.
+     */
+    public int size() {
+        return times.size();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Output values that changed since the last snapshot or delta was sent. This
+ * is sent instead of a full ValueSnapshot for most cycles, the receiver has
+ * to keep the full state and apply the changes to it. A full ValueSnapshot
+ * is sent as keyframe every few cycles, deltas in between only make sense for
+ * a receiver that got the last keyframe.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public final class OutputDelta {
+
+    private final String[] names;
+    private final double[] values;
+
+    OutputDelta(String[] names, double[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int idx) {
+        return names[idx];
+    }
+
+    public double getValue(int idx) {
+        return values[idx];
+    }
+
+    public void writeTo(DataOutputStream dos) throws IOException {
+        dos.writeInt(names.length);
+        for (int idx = 0; idx < names.length; idx++) {
+            dos.writeUTF(names[idx]);
+            dos.writeDouble(values[idx]);
+        }
+    }
+
+    public static OutputDelta readFrom(DataInputStream dis)
+            throws IOException {
+        int size = dis.readInt();
+        String[] names = new String[size];
+        double[] values = new double[size];
+        for (int idx = 0; idx < size; idx++) {
+            names[idx] = dis.readUTF();
+            values[idx] = dis.readDouble();
+        }
+        return new OutputDelta(names, values);
+    }
+}
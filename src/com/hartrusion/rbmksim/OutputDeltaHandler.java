@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.values.ValueHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ValueHandler that also keeps track of which values have changed since they
+ * were sent the last time. All values end up in here, including the ones
+ * written by the assemblies of the modeling library, so this is the only
+ * place where the changes of all values are known.
+ * <p>
+ * Each value has a deadband that is defined by the longest matching name
+ * prefix. A value is only part of the next delta if it moved more than the
+ * deadband away from the value that was sent last, it is not compared to the
+ * previous cycle, so slow drifts will still be sent once they accumulated
+ * enough. Without a matching prefix, each change is sent. Deadbands have to
+ * be set before the values are written for the first time.
+ * <p>
+ * While tracking, a written value is only stored in its entry, this is the
+ * one map lookup for each write. The values are written to the ValueHandler
+ * itself with flush, which has to be called before a snapshot is taken.
+ * Only values that changed since the last flush are written there, so the
+ * second lookup is done only for those and not on each step.
+ * <p>
+ * This means that while tracking, the values that can be read from this
+ * handler (getParameterDouble and so on) are the ones from the last flush,
+ * which can be up to one keyframe old. Nothing in the model reads values
+ * from here, the values are only read from the snapshots. Do not read them
+ * from this handler while tracking.
+ * <p>
+ * Tracking is disabled by default, the handler behaves like a normal
+ * ValueHandler then.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class OutputDeltaHandler extends ValueHandler {
+
+    private static class Deadband {
+
+        private final String prefix;
+        private final double absolute;
+        private final double relative;
+
+        private Deadband(String prefix, double absolute, double relative) {
+            this.prefix = prefix;
+            this.absolute = absolute;
+            this.relative = relative;
+        }
+    }
+
+    private static class Entry {
+
+        private final String name;
+        private final double absolute;
+        private final double relative;
+        private double value;
+        private double sent;
+        private boolean sentOnce;
+        private double written;
+        private boolean writtenOnce;
+
+        private Entry(String name, Deadband deadband) {
+            this.name = name;
+            if (deadband == null) {
+                absolute = 0.0;
+                relative = 0.0;
+            } else {
+                absolute = deadband.absolute;
+                relative = deadband.relative;
+            }
+        }
+
+        private boolean exceedsDeadband() {
+            if (!sentOnce) {
+                return true;
+            }
+            if (Double.isNaN(value) || Double.isNaN(sent)) {
+                return Double.doubleToRawLongBits(value)
+                        != Double.doubleToRawLongBits(sent);
+            }
+            double delta = Math.abs(value - sent);
+            return delta > 0.0
+                    && delta > Math.max(absolute, relative * Math.abs(sent));
+        }
+    }
+
+    private final List<Deadband> deadbands = new ArrayList<>();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * All entries in the order of creation, to iterate without the map.
+     */
+    private final List<Entry> entryList = new ArrayList<>();
+
+    private boolean tracking;
+
+    /**
+     * Enables or disables the tracking of changes. If disabled, createDelta
+     * must not be used. To be set before any value is written.
+     *
+     * @param tracking true to track changes for createDelta.
+     */
+    public void setTracking(boolean tracking) {
+        this.tracking = tracking;
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Defines the deadband for all parameters starting with the given prefix.
+     * The change of a value has to be larger than the absolute deadband and
+     * larger than the relative deadband times the last sent value to be sent.
+     *
+     * @param prefix Beginning of the parameter name, like "Reactor#"
+     * @param absolute Absolute deadband, 0.0 for none
+     * @param relative Relative deadband, 0.01 is 1 %, 0.0 for none
+     */
+    public void setDeadband(String prefix, double absolute, double relative) {
+        deadbands.add(new Deadband(prefix, absolute, relative));
+    }
+
+    @Override
+    public void setParameterValue(String name, double value) {
+        if (!tracking) {
+            super.setParameterValue(name, value);
+            return;
+        }
+        Entry e = entries.get(name);
+        if (e == null) {
+            e = createEntry(name);
+        }
+        e.value = value;
+    }
+
+    private synchronized Entry createEntry(String name) {
+        Entry e = entries.get(name);
+        if (e != null) {
+            return e; // another thread was faster
+        }
+        Deadband match = null;
+        for (Deadband d : deadbands) {
+            if (name.startsWith(d.prefix) && (match == null
+                    || d.prefix.length() > match.prefix.length())) {
+                match = d;
+            }
+        }
+        e = new Entry(name, match);
+        entryList.add(e);
+        entries.put(name, e);
+        return e;
+    }
+
+    /**
+     * Writes all tracked values that changed since the last flush to the
+     * ValueHandler. Must be called before a snapshot is taken while the
+     * model is not running.
+     */
+    public synchronized void flush() {
+        for (Entry e : entryList) {
+            if (!e.writtenOnce || Double.doubleToRawLongBits(e.value)
+                    != Double.doubleToRawLongBits(e.written)) {
+                super.setParameterValue(e.name, e.value);
+                e.written = e.value;
+                e.writtenOnce = true;
+            }
+        }
+    }
+
+    /**
+     * Collects all values that moved beyond their deadband since they were
+     * sent last and marks them as sent. Must not be called while the model is
+     * running.
+     *
+     * @return Delta with the changed values.
+     */
+    public synchronized OutputDelta createDelta() {
+        int count = 0;
+        for (Entry e : entryList) {
+            if (e.exceedsDeadband()) {
+                count++;
+            }
+        }
+        String[] names = new String[count];
+        double[] values = new double[count];
+        int idx = 0;
+        for (Entry e : entryList) {
+            if (e.exceedsDeadband()) {
+                names[idx] = e.name;
+                values[idx] = e.value;
+                e.sent = e.value;
+                e.sentOnce = true;
+                idx++;
+            }
+        }
+        return new OutputDelta(names, values);
+    }
+
+    /**
+     * Marks all values as sent, to be called when a full snapshot was sent.
+     */
+    public synchronized void markKeyframe() {
+        for (Entry e : entryList) {
+            e.sent = e.value;
+            e.sentOnce = true;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.values.ValueHandler;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds output values in a primitive array instead of a string keyed map.
+ * Each element gets an integer handle for its parameter name once during
+ * init and writes its values with that handle afterwards, which is nothing
+ * more than an array store. There are about 1700 channels, each of them
+ * writing several values per step, the string hashing of all those names was
+ * a good part of what publishing the results did cost.
+ * <p>
+ * The GUI still gets the values as a ValueSnapshot, so the values are written
+ * to the ValueHandler once before each snapshot with publishTo. Only values
+ * that changed since the last publish are written there, which is most of
+ * the time a small part of all values as many channels are not changing
+ * anything when the plant is steady. With time acceleration there is one
+ * publish for multiple model steps.
+ * <p>
+ * Handles have to be registered before the simulation runs, the registration
+ * is not thread safe. Writing values with set is safe from multiple threads
+ * as long as each handle is written by one thread only, which is the case as
+ * each handle belongs to exactly one element.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class ParameterRegistry {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Map<String, Integer> handles = new HashMap<>();
+
+    private String[] names = new String[INITIAL_CAPACITY];
+
+    /**
+     * The slab with all values, index is the handle.
+     */
+    private double[] values = new double[INITIAL_CAPACITY];
+
+    /**
+     * Values as they were written to the ValueHandler with the last publish.
+     */
+    private double[] published = new double[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Number of handles that were known on the last publish, all handles
+     * above were never written to the ValueHandler.
+     */
+    private int publishedSize;
+
+    private String[] arrayNames = new String[0];
+
+    /**
+     * Array valued parameters, like one value for each fuel channel. They are
+     * not written to the ValueHandler, they are sent as a whole instead.
+     */
+    private double[][] arrays = new double[0][];
+
+    /**
+     * Returns the handle for the given parameter name. If the name was
+     * registered before, the same handle will be returned again. To be called
+     * during init only.
+     *
+     * @param name Parameter name like "Reactor#RodPosition2134"
+     * @return Integer handle to be used with set and get.
+     */
+    public int register(String name) {
+        Integer handle = handles.get(name);
+        if (handle != null) {
+            return handle;
+        }
+        if (size == values.length) {
+            int capacity = 2 * values.length;
+            names = Arrays.copyOf(names, capacity);
+            values = Arrays.copyOf(values, capacity);
+            published = Arrays.copyOf(published, capacity);
+        }
+        names[size] = name;
+        handles.put(name, size);
+        return size++;
+    }
+
+    public void set(int handle, double value) {
+        values[handle] = value;
+    }
+
+    public double get(int handle) {
+        return values[handle];
+    }
+
+    public String getName(int handle) {
+        return names[handle];
+    }
+
+    /**
+     * @return Number of registered parameters, handles are 0 to size - 1.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the handle for an array valued parameter. All elements that
+     * write into the same array get the same handle, each one writes its own
+     * index. Entries that are never written stay NaN. To be called during
+     * init only.
+     *
+     * @param name Parameter name like "Core#FuelTemperature"
+     * @param length Number of values of the array
+     * @return Integer handle to be used with setArrayValue.
+     */
+    public int registerArray(String name, int length) {
+        for (int idx = 0; idx < arrayNames.length; idx++) {
+            if (arrayNames[idx].equals(name)) {
+                if (arrays[idx].length != length) {
+                    throw new IllegalArgumentException("Array parameter "
+                            + name + " was registered with a different length.");
+                }
+                return idx;
+            }
+        }
+        arrayNames = Arrays.copyOf(arrayNames, arrayNames.length + 1);
+        arrays = Arrays.copyOf(arrays, arrays.length + 1);
+        arrayNames[arrayNames.length - 1] = name;
+        arrays[arrays.length - 1] = new double[length];
+        Arrays.fill(arrays[arrays.length - 1], Double.NaN);
+        return arrays.length - 1;
+    }
+
+    public void setArrayValue(int handle, int index, double value) {
+        arrays[handle][index] = value;
+    }
+
+    /**
+     * @return Number of registered array parameters.
+     */
+    public int getArrayCount() {
+        return arrays.length;
+    }
+
+    public String getArrayName(int handle) {
+        return arrayNames[handle];
+    }
+
+    /**
+     * Copies an array parameter, the copy can be handed over to another thread
+     * while the model keeps writing to the original.
+     *
+     * @param handle Handle of the array parameter
+     * @return New array with the current values.
+     */
+    public double[] copyArray(int handle) {
+        return arrays[handle].clone();
+    }
+
+    /**
+     * Copies an array parameter into the given buffer, which has to have the
+     * length the array was registered with.
+     *
+     * @param handle Handle of the array parameter
+     * @param destination Buffer to copy the values to
+     */
+    public void copyArrayTo(int handle, double[] destination) {
+        System.arraycopy(arrays[handle], 0, destination, 0,
+                arrays[handle].length);
+    }
+
+    /**
+     * @param handle Handle of the array parameter
+     * @return Number of values of the array parameter.
+     */
+    public int getArrayLength(int handle) {
+        return arrays[handle].length;
+    }
+
+    /**
+     * Writes all values that changed since the last call to the given
+     * ValueHandler. Has to be called from the thread that runs the model,
+     * before a snapshot is taken from the ValueHandler.
+     *
+     * @param output ValueHandler that will be used to create the snapshot
+     */
+    public void publishTo(ValueHandler output) {
+        double value;
+        for (int idx = 0; idx < size; idx++) {
+            value = values[idx];
+            // Compare bits, this way NaN equals NaN and will only be written
+            // once like any other value.
+            if (idx >= publishedSize || Double.doubleToRawLongBits(value)
+                    != Double.doubleToRawLongBits(published[idx])) {
+                output.setParameterValue(names[idx], value);
+                published[idx] = value;
+            }
+        }
+        publishedSize = size;
+    }
+}
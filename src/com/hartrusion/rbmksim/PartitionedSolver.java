@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.modeling.solvers.DomainAnalogySolver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Solves a model that is split into several independent networks, each one
+ * with its own DomainAnalogySolver. Networks which are only coupled by some
+ * boundary values (like a pressure of a large reservoir or a temperature of
+ * an origin) do not need to be solved as one large network. Instead, each part
+ * is built as its own network with sources on the boundary and the boundary
+ * values are copied between the parts once per cycle by coupling actions,
+ * right before all parts are solved.
+ * <p>
+ * The parts are solved at the same time using the same thread pool as the
+ * DomainAnalogySolver. As the solver itself also puts its superposition tasks
+ * on that pool and waits for them, there always has to be a free thread left
+ * or the whole thing would lock up. The first partition is therefore solved
+ * on the calling thread and the others are only put on the pool if there are
+ * more threads than that. If something else is running on the pool at the
+ * same time and waits for the solver tasks too, that thread must not be
+ * counted in the number of threads given to setThreadPool.
+ * <p>
+ * Partitions can have a QuiescenceDetector, such a partition is not solved as
+ * long as it is in a steady state. Call wake on user actions and when loading
+ * a state so all of them are solved again.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class PartitionedSolver {
+
+    private ExecutorService threadPool;
+    private int threadCount;
+
+    private final List<DomainAnalogySolver> partitions = new ArrayList<>();
+
+    /**
+     * Quiescence detector for each partition, null if the partition has to be
+     * solved each cycle.
+     */
+    private final List<QuiescenceDetector> detectors = new ArrayList<>();
+
+    /**
+     * Indices of the partitions that need to be solved in the current cycle.
+     */
+    private final List<Integer> active = new ArrayList<>();
+
+    private final List<Runnable> couplings = new ArrayList<>();
+
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    /**
+     * Sets the thread pool that is used to solve the partitions concurrently,
+     * this should be the same that is used for the DomainAnalogySolver.
+     * Without a thread pool, all partitions are solved one after another.
+     *
+     * @param pool Thread pool
+     * @param threads Number of threads of the pool that can be used for the
+     * partitions
+     */
+    public void setThreadPool(ExecutorService pool, int threads) {
+        threadPool = pool;
+        threadCount = threads;
+    }
+
+    /**
+     * Adds a solver which already has its network added. Each partition has
+     * to be a network on its own, no element must be part of two partitions.
+     *
+     * @param solver Solver with its network
+     */
+    public void addPartition(DomainAnalogySolver solver) {
+        addPartition(solver, null);
+    }
+
+    /**
+     * Adds a solver which already has its network added and which does not
+     * need to be solved while it is in a steady state.
+     *
+     * @param solver Solver with its network
+     * @param detector Detects the steady state of that network, can be null
+     */
+    public void addPartition(DomainAnalogySolver solver,
+            QuiescenceDetector detector) {
+        partitions.add(solver);
+        detectors.add(detector);
+    }
+
+    /**
+     * Makes all frozen partitions to be solved again.
+     */
+    public void wake() {
+        for (QuiescenceDetector d : detectors) {
+            if (d != null) {
+                d.wake();
+            }
+        }
+    }
+
+    /**
+     * Adds an action that transfers a value from one partition to another,
+     * for example by setting the effort of an effort source to the effort of
+     * a node in a different partition. All couplings are called in the order
+     * they were added before the partitions are solved, so they use the
+     * values from the previous cycle.
+     *
+     * @param coupling Action that transfers the values
+     */
+    public void addCoupling(Runnable coupling) {
+        couplings.add(coupling);
+    }
+
+    public List<DomainAnalogySolver> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Exchanges the coupling values and solves all partitions for one cycle.
+     */
+    public void solve() {
+        for (Runnable c : couplings) {
+            c.run();
+        }
+        active.clear();
+        for (int idx = 0; idx < partitions.size(); idx++) {
+            if (detectors.get(idx) == null
+                    || !detectors.get(idx).isQuiescent()) {
+                active.add(idx);
+            }
+        }
+        if (active.isEmpty()) {
+            return;
+        }
+        if (active.size() == 1 || threadPool == null
+                || active.size() > threadCount) {
+            for (int idx : active) {
+                solve(idx);
+            }
+            return;
+        }
+        for (int idx = 1; idx < active.size(); idx++) {
+            int partition = active.get(idx);
+            pending.add(threadPool.submit(() -> solve(partition)));
+        }
+        try {
+            solve(active.get(0));
+            for (Future<?> f : pending) {
+                f.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while solving partitions.", ex);
+        } catch (ExecutionException ex) {
+            // Make the exception look like it was thrown by a serial solve.
+            if (ex.getCause() instanceof RuntimeException r) {
+                throw r;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            // Wait for all others in case one of them failed before throwing
+            // anything, the next cycle must not start with a partition that
+            // is still being solved.
+            for (Future<?> f : pending) {
+                try {
+                    f.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    // already handled above or by an earlier future
+                }
+            }
+            pending.clear();
+        }
+    }
+
+    private void solve(int partition) {
+        DomainAnalogySolver s = partitions.get(partition);
+        s.prepareCalculation();
+        s.doCalculation();
+        if (detectors.get(partition) != null) {
+            detectors.get(partition).update();
+        }
+    }
+}
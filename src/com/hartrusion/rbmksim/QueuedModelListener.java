@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.mvc.ModelListener;
+import java.beans.PropertyChangeEvent;
+
+/**
+ * Stands in for the controller on the model side. The events of the model,
+ * like a pump that was switched on, are not passed to the controller
+ * directly but put into the queue of the SnapshotPublisher, which passes
+ * them from its own thread together with the snapshots. This way, only the
+ * publisher thread calls the controller, which forwards everything to the
+ * views and the network server, and the model thread never waits for them.
+ * <p>
+ * fireActions is passed directly, it is called from the model thread to get
+ * the actions of the GUI and is not an event of the model.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class QueuedModelListener implements ModelListener {
+
+    private final ModelListener controller;
+    private final SnapshotPublisher publisher;
+
+    public QueuedModelListener(ModelListener controller,
+            SnapshotPublisher publisher) {
+        this.controller = controller;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void fireActions() {
+        controller.fireActions();
+    }
+
+    @Override
+    public void propertyChange(String propertyName, Object newValue) {
+        publisher.queueEvent(propertyName, newValue);
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        publisher.queueEvent(evt);
+    }
+}
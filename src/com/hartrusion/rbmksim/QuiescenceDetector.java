@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Detects if a network that is solved on its own has reached a steady state
+ * so solving it can be skipped until something changes. Large parts of the
+ * plant are idle most of the time with closed valves and pumps switched off,
+ * solving them each cycle only gives the same results again.
+ * <p>
+ * The detector gets two kinds of values: Inputs are things like valve
+ * openings, pump states or boundary efforts which are set from outside of the
+ * network. If any of them changes by more than its tolerance compared to the
+ * value it had when it was last checked as changed, the network is solved
+ * again. Discrete values like valve openings can use a tolerance of zero,
+ * values that are always a little bit in motion like a tank pressure or the
+ * speed of a shaft need a tolerance or the network would never freeze. A
+ * slow drift still adds up and wakes the network once it is larger than the
+ * tolerance. States are values of the network itself which change over
+ * time, like the effort of a capacitance. The network is considered steady
+ * if none of the states changed by more than the threshold for a number of
+ * cycles in a row. As long as it is steady, the results of the last solve
+ * stay in the network and are used as they are.
+ * <p>
+ * Usage each cycle: Call isQuiescent before solving, skip the solve if it
+ * returns true, otherwise call update after the solve. Call wake on each
+ * event which is not covered by the inputs, like user actions or loading a
+ * state.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class QuiescenceDetector {
+
+    private final List<DoubleSupplier> inputs = new ArrayList<>();
+    private double[] tolerances = new double[0];
+    private final List<DoubleSupplier> states = new ArrayList<>();
+    private double[] lastInputs = new double[0];
+    private double[] lastStates = new double[0];
+
+    /**
+     * Maximum change of each state value in one cycle that is still
+     * considered as steady.
+     */
+    private final double threshold;
+
+    /**
+     * Number of steady cycles in a row until the network is frozen.
+     */
+    private final int settleCycles;
+
+    private int steadyCycles;
+    private boolean frozen;
+    private long skippedCycles;
+
+    /**
+     * Creates a detector.
+     *
+     * @param threshold Maximum change of the states per cycle
+     * @param settleCycles Number of steady cycles before freezing
+     */
+    public QuiescenceDetector(double threshold, int settleCycles) {
+        this.threshold = threshold;
+        this.settleCycles = settleCycles;
+    }
+
+    /**
+     * Adds a value that is set from outside the network, any change of it
+     * wakes the network.
+     *
+     * @param input Provides the value
+     */
+    public void addInput(DoubleSupplier input) {
+        addInput(input, 0.0);
+    }
+
+    /**
+     * Adds a value that is set from outside the network, it only wakes the
+     * network if it changed by more than the tolerance.
+     *
+     * @param input Provides the value
+     * @param tolerance Allowed change without waking the network
+     */
+    public void addInput(DoubleSupplier input, double tolerance) {
+        inputs.add(input);
+        lastInputs = new double[inputs.size()];
+        tolerances = Arrays.copyOf(tolerances, inputs.size());
+        tolerances[inputs.size() - 1] = tolerance;
+        wake();
+    }
+
+    /**
+     * Adds a value that is calculated by the network.
+     *
+     * @param state Provides the value
+     */
+    public void addState(DoubleSupplier state) {
+        states.add(state);
+        lastStates = new double[states.size()];
+        wake();
+    }
+
+    /**
+     * Checks the inputs for changes and returns if the solve can be skipped
+     * for this cycle.
+     *
+     * @return true if the network is frozen and nothing has changed.
+     */
+    public boolean isQuiescent() {
+        double value;
+        boolean changed = false;
+        for (int idx = 0; idx < lastInputs.length; idx++) {
+            value = inputs.get(idx).getAsDouble();
+            // Written this way so NaN values count as changed.
+            if (!(Math.abs(value - lastInputs[idx]) <= tolerances[idx])) {
+                changed = true;
+                lastInputs[idx] = value;
+            }
+        }
+        if (changed) {
+            wake();
+        } else if (frozen) {
+            skippedCycles++;
+        }
+        return frozen;
+    }
+
+    /**
+     * Has to be called after each solve of the network, compares the states
+     * with the ones from the last solve.
+     */
+    public void update() {
+        double value;
+        boolean steady = true;
+        for (int idx = 0; idx < lastStates.length; idx++) {
+            value = states.get(idx).getAsDouble();
+            // Written this way so a NaN counts as a change, a diverged
+            // network must never be frozen.
+            if (!(Math.abs(value - lastStates[idx]) <= threshold)) {
+                steady = false;
+            }
+            lastStates[idx] = value;
+        }
+        if (steady) {
+            steadyCycles++;
+            frozen = steadyCycles >= settleCycles;
+        } else {
+            steadyCycles = 0;
+        }
+    }
+
+    /**
+     * Forces the network to be solved again. It needs to settle for the
+     * given number of cycles again before it can be frozen.
+     */
+    public void wake() {
+        frozen = false;
+        steadyCycles = 0;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * @return Number of cycles where the solve was skipped since start.
+     */
+    public long getSkippedCycles() {
+        return skippedCycles;
+    }
+}
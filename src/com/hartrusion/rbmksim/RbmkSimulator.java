@@ -17,6 +17,7 @@
 package com.hartrusion.rbmksim;
 
 import com.hartrusion.modeling.solvers.DomainAnalogySolver;
+import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -33,17 +34,34 @@ import com.hartrusion.util.SimpleLogOut;
 // import com.formdev.flatlaf.FlatDarkLaf;
 
 /**
+ * Starts the simulator with the GUI.
+ * <p>
+ * Usage: RbmkSimulator [-s state], with state being one of the StartupState
+ * file names like full-power. Without it, the simulation starts from the
+ * initial values of the model. The state files have to be generated with the
+ * StateLibraryGenerator first, see the README in the states folder.
  *
  * @author Viktor Alexander Hartung
  */
 public class RbmkSimulator {
 
+    /**
+     * Number of model steps to run before the main loop gets scheduled.
+     */
+    private static final int WARM_UP_STEPS = 20;
+
     MainLoop mainLoop;
 
     private final ScheduledExecutorService scheduler;
     private final ExecutorService threadPool;
 
-    RbmkSimulator() {
+    /**
+     * State to start from, null to start from the initial values.
+     */
+    private final StartupState startupState;
+
+    RbmkSimulator(StartupState startupState) {
+        this.startupState = startupState;
         scheduler = Executors.newSingleThreadScheduledExecutor(
                 new ThreadFactory() {
             private final ThreadFactory defaultThreadFactory
@@ -63,6 +81,8 @@ public class RbmkSimulator {
         DomainAnalogySolver.setThreadPool(threadPool);
 
         mainLoop = new MainLoop();
+        mainLoop.setThreadPool(threadPool, cores);
+        mainLoop.setDeltaSnapshots(true);
     }
 
     private void run() {
@@ -99,6 +119,7 @@ public class RbmkSimulator {
         updt.registerView(view);
         view.registerController(contr);
         mainLoop.registerController(contr);
+        mainLoop.startPublisher();
 
         // Build and initialize the model
         mainLoop.init();
@@ -111,8 +132,30 @@ public class RbmkSimulator {
             view.displayNewControlPanel();
         });
         
-        // Start the 100 ms cyclic thread
-        scheduler.scheduleAtFixedRate(mainLoop, 100, 100, TimeUnit.MILLISECONDS);
+        // Load the startup state and run the first slow steps on a separate
+        // thread while the GUI is built, then start the 100 ms cyclic thread.
+        Thread warmUp = new Thread(() -> {
+            try {
+                SaveGame save = null; // initial values of the model
+                if (startupState != null && startupState.isAvailable()) {
+                    save = startupState.read();
+                } else if (startupState != null) {
+                    Logger.getLogger(RbmkSimulator.class.getName()).log(
+                            Level.WARNING, "State " + startupState.getFileName()
+                            + " not available, using initial state.");
+                }
+                mainLoop.warmUp(save, WARM_UP_STEPS);
+            } catch (IOException ex) {
+                Logger.getLogger(RbmkSimulator.class.getName())
+                        .log(Level.SEVERE, null, ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            scheduler.scheduleAtFixedRate(mainLoop, 100, 100,
+                    TimeUnit.MILLISECONDS);
+        }, "WarmUp");
+        warmUp.start();
     }
 
     /**
@@ -121,7 +164,18 @@ public class RbmkSimulator {
     public static void main(String[] args) {
         SimpleLogOut.configureLoggingToStdOut();
 
-        RbmkSimulator app = new RbmkSimulator();
+        StartupState startupState = null;
+        for (int idx = 0; idx < args.length; idx++) {
+            switch (args[idx]) {
+                case "-s" ->
+                    startupState = StartupState.fromFileName(args[++idx]);
+                default ->
+                    throw new IllegalArgumentException(
+                            "Unknown argument: " + args[idx]);
+            }
+        }
+
+        RbmkSimulator app = new RbmkSimulator(startupState);
         app.run();
     }
 
@@ -33,9 +33,8 @@ import com.hartrusion.modeling.phasedfluid.PhasedClosedSteamedReservoir;
 import com.hartrusion.modeling.phasedfluid.PhasedNode;
 import com.hartrusion.mvc.ActionCommand;
 import com.hartrusion.mvc.ModelListener;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -89,6 +88,64 @@ public class ReactorCore extends Subsystem implements Runnable {
 
     private final List<EvaporatorElement> evaporatorElements = new ArrayList<>();
 
+    /**
+     * Holds the power model values of all fuel elements in arrays and runs
+     * the power model for all of them, created on init.
+     */
+    private FuelChannelKernel channels;
+
+    /**
+     * Partial results of each evaporator group from runProcessResults. Each
+     * group writes only its own entry, they get summed up in a fixed order
+     * afterwards so the parallel mode gives exactly the same results.
+     */
+    private double[] groupTemperatureSum;
+    private double[] groupMaxPth;
+    private double[] groupMinPth;
+
+    /**
+     * If true, the evaporator groups are calculated on the fork-join pool.
+     */
+    private boolean parallelChannels;
+
+    /**
+     * Sparse matrix with the weights from each control rod to each fuel
+     * element, created on init.
+     */
+    private AffectionMatrix affectionMatrix;
+
+    /**
+     * Affection value of each control rod, the same order as controlRods.
+     */
+    private double[] rodAffection;
+
+    /**
+     * Values of each control rod that were last added to the sums below. Only
+     * rods that have moved need to be updated in the sums.
+     */
+    private double[] rodAbsorptionCache;
+    private double[] rodOrmAbsorptionCache;
+    private double[] rodPositionCache;
+    private double[] rodDisplacerBoostCache;
+
+    private double sumAbsorption;
+    private double sumOrmAbsorption;
+    private double sumPosition;
+    private double sumDisplacerBoost;
+
+    /**
+     * Number of cycles between full calculations of the affection and the
+     * sums over all rods, 600 cycles are one minute.
+     */
+    private static final int FULL_RECOMPUTE_CYCLES = 600;
+
+    private int recomputeCounter;
+
+    /**
+     * Forces a full calculation of affection and sums in the next cycle.
+     */
+    private boolean fullRecompute = true;
+
     private final List<ControlRod> controlRods = new ArrayList<>();
 
     /**
@@ -147,6 +204,15 @@ public class ReactorCore extends Subsystem implements Runnable {
     private final XenonModel xenonModel = new XenonModel();
     private final GraphiteEffectModel graphiteModel = new GraphiteEffectModel();
 
+    /**
+     * Xenon and graphite have time constants of minutes, they are calculated
+     * once per second with the average flux of that second. The graphite is
+     * calculated half a second after the xenon to spread the work.
+     */
+    private final MultiRateInput xenonInput = new MultiRateInput(1000, 0);
+    private final MultiRateInput graphiteInput
+            = new MultiRateInput(1000, 500);
+
     private final SerialRunner alarmUpdater = new SerialRunner();
 
     /**
@@ -234,10 +300,11 @@ public class ReactorCore extends Subsystem implements Runnable {
     private boolean exploded;
 
     /**
-     * Will be set to current time except if the excursion happens, then its
-     * last value will be used for obtaining the time since excursion start.
+     * Will be set to current simulation time (ms) except if the excursion
+     * happens, then its last value will be used for obtaining the time since
+     * excursion start.
      */
-    private Instant excursionStartTime;
+    private long excursionStartTime;
 
     // Reference to the turbine class that holds the network elements and 
     // controls for the turbine that are not part of the reactor core. So far
@@ -389,12 +456,9 @@ public class ReactorCore extends Subsystem implements Runnable {
         averageAffection = (localAffections[0] + localAffections[1]
                 + localAffections[2] + localAffections[3]) / 4.0;
 
-        // Do a run of the affection calculation, each rod will distribute its
-        // value to the surrounding fuel elemts when rod.run is called.
-        for (FuelElement f : fuelElements) {
-            f.prepareAffectionCalculation();
-        }
-
+        // Do a run of the affection calculation, each rod calculates its
+        // affection value when rod.run is called, those values are then
+        // distributed to the fuel elements with the affection matrix.
         // Calling run at the end of this loop will make the control rods 
         // controller "grab" the values by the defined lambda expression from
         // the init part.
@@ -423,27 +487,75 @@ public class ReactorCore extends Subsystem implements Runnable {
                 rod.run(); // update all rods
             }
         }
-
-        for (FuelElement f : fuelElements) {
-            f.finalizeAffection();
+        // Only rods that have moved change the fuel affection and the sums of
+        // absorption, position and displacer boost. Their change is added to
+        // the previous values, from time to time a full calculation is done
+        // to get rid of any accumulated rounding errors.
+        recomputeCounter--;
+        if (recomputeCounter <= 0) {
+            fullRecompute = true;
         }
-
-        // Calculate total absorption and average rod position
-        double absorption = 0.0;
-        double ormAbsorption = 0.0;
-        double totalPosition = 0.0;
-        double displacerBoost = 0.0;
-        for (ControlRod rod : controlRods) {
-            absorption += rod.getAbsorption();
-            ormAbsorption += rod.getAbsorptionOrm();
-            if (rod.getRodType() == ChannelType.SHORT_CONTROLROD) {
-                totalPosition += (7.3 - rod.getSwi().getOutput());
+        ControlRod rod;
+        double value;
+        for (int idx = 0; idx < controlRods.size(); idx++) {
+            rod = controlRods.get(idx);
+            // Stopped rods do not contribute to the affection anymore.
+            if (neutronFluxModel.isReactorIntact()) {
+                value = rod.getAffection();
             } else {
-                totalPosition += rod.getSwi().getOutput();
+                value = 0.0;
+            }
+            if (value != rodAffection[idx]) {
+                if (!fullRecompute) {
+                    channels.updateAffection(affectionMatrix, idx,
+                            value - rodAffection[idx]);
+                }
+                rodAffection[idx] = value;
+            }
+            if (rod.hasChanged() || fullRecompute) {
+                value = rod.getAbsorption();
+                sumAbsorption += value - rodAbsorptionCache[idx];
+                rodAbsorptionCache[idx] = value;
+                value = rod.getAbsorptionOrm();
+                sumOrmAbsorption += value - rodOrmAbsorptionCache[idx];
+                rodOrmAbsorptionCache[idx] = value;
+                if (rod.getRodType() == ChannelType.SHORT_CONTROLROD) {
+                    value = 7.3 - rod.getSwi().getOutput();
+                } else {
+                    value = rod.getSwi().getOutput();
+                }
+                sumPosition += value - rodPositionCache[idx];
+                rodPositionCache[idx] = value;
+                value = rod.getDisplacerBoost();
+                sumDisplacerBoost += value - rodDisplacerBoostCache[idx];
+                rodDisplacerBoostCache[idx] = value;
+            }
+        }
+        if (fullRecompute) {
+            channels.calculateAffection(affectionMatrix, rodAffection);
+            sumAbsorption = 0.0;
+            sumOrmAbsorption = 0.0;
+            sumPosition = 0.0;
+            sumDisplacerBoost = 0.0;
+            for (int idx = 0; idx < controlRods.size(); idx++) {
+                sumAbsorption += rodAbsorptionCache[idx];
+                sumOrmAbsorption += rodOrmAbsorptionCache[idx];
+                sumPosition += rodPositionCache[idx];
+                // sum up all displacer boost values
+                sumDisplacerBoost += rodDisplacerBoostCache[idx];
             }
-            // sum up all displacer boost values
-            displacerBoost += rod.getDisplacerBoost();
+            fullRecompute = false;
+            recomputeCounter = FULL_RECOMPUTE_CYCLES;
         }
+        for (FuelElement f : fuelElements) {
+            f.updateAffectionOutput();
+        }
+
+        // Calculate total absorption and average rod position
+        double absorption = sumAbsorption;
+        double ormAbsorption = sumOrmAbsorption;
+        double totalPosition = sumPosition;
+        double displacerBoost = sumDisplacerBoost;
         // Total position is the total sum of control rod pull lengts. 
         avgRodPosition = totalPosition / (double) controlRods.size();
 
@@ -524,29 +636,37 @@ public class ReactorCore extends Subsystem implements Runnable {
 
         // Pass neutron flux to xenon model and generate xenon poisoning value.
         // but ony if the reactor is intact.
+        // Both are slow models which are not calculated with each step.
         if (neutronFluxModel.isReactorIntact()) {
-            xenonModel.setInputs(neutronFluxModel.getYNeutronFlux());
-            xenonModel.run();
-            graphiteModel.setInputs(neutronFluxModel.getYNeutronFlux());
-            graphiteModel.run();
+            xenonInput.add(neutronFluxModel.getYNeutronFlux());
+            if (xenonInput.isDue(clock)) {
+                xenonModel.setStepTime(xenonInput.getStepTime(clock));
+                xenonModel.setInputs(xenonInput.getAverage());
+                xenonModel.run();
+                xenonInput.reset();
+            }
+            graphiteInput.add(neutronFluxModel.getYNeutronFlux());
+            if (graphiteInput.isDue(clock)) {
+                graphiteModel.setStepTime(graphiteInput.getStepTime(clock));
+                graphiteModel.setInputs(graphiteInput.getAverage());
+                graphiteModel.run();
+                graphiteInput.reset();
+            }
         }
 
         // Compute the true average affection over all fuel elements and make
         // it available so each element can normalize its affection based
         // fission power distribution.
-        double totalAffection = 0.0;
+        channels.setAverageAffection(
+                channels.getTotalAffection() / fuelElements.size());
+
+        // flux is global for all channels, the kernel runs the power model
+        // for all channels in one loop and the fuel elements then apply the
+        // resulting heat to their thermal model.
+        channels.setGlobalFlux(neutronFluxModel.getYNeutronFlux());
+        thermalPowerDisplay = channels.runPowerModel();
         for (FuelElement f : fuelElements) {
-            totalAffection += f.getAffection();
-        }
-        FuelElement.applyAverageAffection(
-                totalAffection / fuelElements.size());
-
-        thermalPowerDisplay = 0.0;
-        // flux is global for all so it's static
-        FuelElement.applyNeutronFlux(neutronFluxModel.getYNeutronFlux());
-        for (FuelElement f : fuelElements) {
-            f.calculationStepPowerModel();
-            thermalPowerDisplay += f.getFissionPowerForDisplay();
+            f.applyThermalPower();
         }
         // Limit to some max value (only active on reactor explosion) to have
         // the value displayed that can be found in wiki
@@ -556,9 +676,9 @@ public class ReactorCore extends Subsystem implements Runnable {
 
         // The explosion is happening after a certain, fixed time on the prompt
         // neutron excursion.
-        Instant now = Instant.now(); // get current time
+        long now = clock.getTimeMillis(); // get current simulation time
         if (!neutronFluxModel.isReactorIntact() && !exploded) {
-            if (Duration.between(excursionStartTime, now).toMillis() >= 2500) {
+            if (now - excursionStartTime >= 2500) {
                 reactorExplosion();
                 exploded = true;
                 controller.propertyChange("Explosion", null);
@@ -639,6 +759,8 @@ public class ReactorCore extends Subsystem implements Runnable {
                 neutronFluxModel.getYNeutronFluxLog());
         outputValues.setParameterValue("Reactor#NeutronRate",
                 neutronFluxModel.getYNeutronRate());
+        outputValues.setParameterValue("Reactor#NeutronFluxSubSteps",
+                neutronFluxModel.getSubSteps());
         outputValues.setParameterValue("Reactor#AvgRodPos",
                 avgRodPosition);
         outputValues.setParameterValue("Reactor#Xenon",
@@ -692,23 +814,30 @@ public class ReactorCore extends Subsystem implements Runnable {
         double maxPth = 0.0;
         double minPth = 1000.0;
 
-        for (FuelElement f : fuelElements) {
-            f.runProcessResults();
-
-            avgTemperature += f.getFuelTemperature();
-            if (f.getFissionPowerForDisplay() > maxPth) {
-                maxPth = f.getFissionPowerForDisplay();
-            } else if (f.getFissionPowerForDisplay() < minPth) {
-                minPth = f.getFissionPowerForDisplay();
+        // Each evaporator group only works on its own elements, therefore the
+        // groups can be calculated in parallel.
+        if (parallelChannels) {
+            IntStream.range(0, evaporatorElements.size()).parallel()
+                    .forEach(this::calculateGroupResults);
+        } else {
+            for (int grp = 0; grp < evaporatorElements.size(); grp++) {
+                calculateGroupResults(grp);
             }
         }
+        for (int grp = 0; grp < evaporatorElements.size(); grp++) {
+            avgTemperature += groupTemperatureSum[grp];
+            maxPth = Math.max(maxPth, groupMaxPth[grp]);
+            minPth = Math.min(minPth, groupMinPth[grp]);
+        }
         coreTemp = avgTemperature / fuelElements.size();
         updateTemperatureReactivity();
 
-        for (EvaporatorElement evp : evaporatorElements) {
-            // runProcessResults was already called above as each evp is 
-            // also a FuelElement.
+        // The output values are not thread safe, send them from here only.
+        for (FuelElement f : fuelElements) {
+            f.publishProcessResults();
+        }
 
+        for (EvaporatorElement evp : evaporatorElements) {
             avgVoiding += evp.getSteamVoiding();
 
             // Get min and max values from all channels
@@ -742,6 +871,56 @@ public class ReactorCore extends Subsystem implements Runnable {
                 maxPth);
     }
 
+    /**
+     * Calculates the process results of all fuel elements of one evaporator
+     * group, followed by the evaporator itself, and stores the partial sums of
+     * the group.
+     *
+     * @param grp Index of the evaporator element
+     */
+    private void calculateGroupResults(int grp) {
+        EvaporatorElement evp = evaporatorElements.get(grp);
+        double temperatureSum = 0.0;
+        double maxPth = 0.0;
+        double minPth = 1000.0;
+        for (FuelElement f : evp.getFuelElements()) {
+            f.calculateProcessResults();
+            temperatureSum += f.getFuelTemperature();
+            maxPth = Math.max(maxPth, f.getFissionPowerForDisplay());
+            minPth = Math.min(minPth, f.getFissionPowerForDisplay());
+        }
+        evp.calculateEvaporatorResults();
+        groupTemperatureSum[grp] = temperatureSum;
+        groupMaxPth[grp] = maxPth;
+        groupMinPth[grp] = minPth;
+    }
+
+    /**
+     * Enables the calculation of the fuel channels in parallel, grouped by
+     * their evaporator. The results are exactly the same as with the serial
+     * calculation, but with only 8 channels per group the overhead of the
+     * fork-join pool can be more than what is gained.
+     *
+     * @param parallelChannels true to calculate the groups in parallel.
+     */
+    public void setParallelChannels(boolean parallelChannels) {
+        this.parallelChannels = parallelChannels;
+        channels.setParallel(parallelChannels);
+    }
+
+    /**
+     * Selects the integration of the fuel thermal capacities, see
+     * FuelElement.applyCapacity.
+     *
+     * @param implicit true for backward euler, false for forward euler.
+     */
+    public void setImplicitFuelIntegration(boolean implicit) {
+        for (FuelElement f : fuelElements) {
+            f.setStepTime(clock.getStepTime());
+            f.setImplicitIntegration(implicit);
+        }
+    }
+
     /**
      * Calculates temperatureReactivity, is a separate function as it' also
      * called when loading a state.
@@ -1113,6 +1292,25 @@ public class ReactorCore extends Subsystem implements Runnable {
             f.connectToEvaporator(evp.getEvapInNode());
         }
 
+        // Hold the power model values of all fuel elements in one place. The
+        // elements get their index in the order of their evaporator groups so
+        // each group is a continuous range in the kernel arrays.
+        channels = new FuelChannelKernel(fuelElements.size());
+        int[] groupStart = new int[evaporatorElements.size() + 1];
+        idx = 0;
+        for (jdx = 0; jdx < evaporatorElements.size(); jdx++) {
+            groupStart[jdx] = idx;
+            for (FuelElement f : evaporatorElements.get(jdx).getFuelElements()) {
+                f.attachToKernel(channels, idx);
+                idx++;
+            }
+        }
+        groupStart[evaporatorElements.size()] = idx;
+        channels.setGroups(groupStart);
+        groupTemperatureSum = new double[evaporatorElements.size()];
+        groupMaxPth = new double[evaporatorElements.size()];
+        groupMinPth = new double[evaporatorElements.size()];
+
         // After links between evaporator and surrounding elements are set,
         // the steam/water part can be set up with its values
         for (EvaporatorElement evap : evaporatorElements) {
@@ -1221,9 +1419,15 @@ public class ReactorCore extends Subsystem implements Runnable {
         for (ControlRod rod : controlRods) {
             rod.initAffection(fuelElements);
         }
+        affectionMatrix = AffectionMatrix.build(controlRods, channels);
+        rodAffection = new double[controlRods.size()];
+        rodAbsorptionCache = new double[controlRods.size()];
+        rodOrmAbsorptionCache = new double[controlRods.size()];
+        rodPositionCache = new double[controlRods.size()];
+        rodDisplacerBoostCache = new double[controlRods.size()];
 
-        // Initialize the static radial power distribution weights so the core
-        // center generates more power than the edges.
+        // Initialize the radial power distribution weights in the kernel of
+        // this core so the core center generates more power than the edges.
         FuelElement.initRadialWeights(fuelElements);
 
         // Make the temperature of the downcomers available to all fuel elements
@@ -1444,6 +1648,19 @@ public class ReactorCore extends Subsystem implements Runnable {
         return exploded;
     }
 
+    /**
+     * @return Number of fuel channels that are ruptured.
+     */
+    public int getRupturedChannelCount() {
+        int count = 0;
+        for (FuelElement f : fuelElements) {
+            if (f.isRuptured()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public void registerController(ModelListener controller) {
         // Will be called after init() - note that it is the other way round in
@@ -1468,6 +1685,17 @@ public class ReactorCore extends Subsystem implements Runnable {
         }
     }
 
+    @Override
+    public void registerParameterRegistry(ParameterRegistry parameters) {
+        super.registerParameterRegistry(parameters);
+        for (ControlRod r : controlRods) {
+            r.registerParameterRegistry(parameters);
+        }
+        for (FuelElement f : fuelElements) {
+            f.registerParameterRegistry(parameters);
+        }
+    }
+
     public NeutronFluxModel getNeutronModel() {
         return neutronFluxModel;
     }
@@ -1543,6 +1771,8 @@ public class ReactorCore extends Subsystem implements Runnable {
         for (int idx = 0; idx < 3; idx++) {
             graphiteModel.setStateSpaceVariable(idx, rs.getxGraphiteModel(idx));
         }
+        xenonInput.reset();
+        graphiteInput.reset();
         rps = rs.getRps();
         rpsActive = rs.isRpsActive();
         globalControlEnabled = rs.isGlobalControlEnabled();
@@ -1561,6 +1791,7 @@ public class ReactorCore extends Subsystem implements Runnable {
             // get RodState object and pass it to each control rod.
             controlRods.get(idx).applyRodState(rs.getRodStates().get(idx));
         }
+        fullRecompute = true;
 
         for (int idx = 0; idx < fuelElements.size(); idx++) {
             fuelElements.get(idx).applyFuelState(rs.getFuelStates().get(idx));
@@ -37,6 +37,12 @@ public abstract class ReactorElement {
      */
     protected ValueHandler outputValues;
 
+    /**
+     * Receives the values that are written on each step, using handles that
+     * are obtained once on registration.
+     */
+    protected ParameterRegistry parameters;
+
     private int x;
     private int y;
 
@@ -88,4 +94,14 @@ public abstract class ReactorElement {
     public void registerValueHandler(ValueHandler h) {
         outputValues = h;
     }
+
+    /**
+     * Sets the registry for values that are written on each step. Elements
+     * override this to get the handles for their parameters.
+     *
+     * @param registry reference to ParameterRegistry
+     */
+    public void registerParameterRegistry(ParameterRegistry registry) {
+        parameters = registry;
+    }
 }
@@ -38,6 +38,12 @@ public class SaveGame implements Serializable {
 
     private final LocalDateTime timestamp;
 
+    /**
+     * Simulated time in milliseconds at the moment of saving. Unlike the
+     * timestamp, this is part of the simulation state and will be restored.
+     */
+    private long simulationTime;
+
     /**
      * Maps a DomainAnalogySolver name to its list of initial conditions. Each
      * entry represents one solver instance.
@@ -86,6 +92,14 @@ public class SaveGame implements Serializable {
         return timestamp;
     }
 
+    public long getSimulationTime() {
+        return simulationTime;
+    }
+
+    public void setSimulationTime(long simulationTime) {
+        this.simulationTime = simulationTime;
+    }
+
     public void addSolverState(String solverName, List<AbstractIC> states) {
         networkIC.put(solverName, new ArrayList<>(states));
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import static com.hartrusion.rbmksim.FuelChannelKernel.DECAY_DOWN_MODIFIER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.DISTRIBUTED_FLUX;
+import static com.hartrusion.rbmksim.FuelChannelKernel.FLUX_TO_DISPLAY_POWER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.FLUX_TO_POWER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.LOCAL_IDLE_POWER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.P_DECAY;
+import static com.hartrusion.rbmksim.FuelChannelKernel.REFERENCE_CHANNELS;
+import static com.hartrusion.rbmksim.FuelChannelKernel.T_DECAY;
+
+/**
+ * Power model of the fuel channels, calculated one channel after another.
+ * This is always available and is used if the vector API is not there.
+ *
+ * @author Viktor Alexander Hartung
+ */
+final class ScalarChannelPowerModel implements ChannelPowerModel {
+
+    static final ScalarChannelPowerModel INSTANCE
+            = new ScalarChannelPowerModel();
+
+    private ScalarChannelPowerModel() {
+    }
+
+    @Override
+    public double runPowerModel(FuelChannelKernel kernel, int from, int to) {
+        final double globalFlux = kernel.getGlobalFlux();
+        final double averageAffection = kernel.getAverageAffection();
+        final double stepTime = kernel.getStepTime();
+        final double[] affection = kernel.affection;
+        final double[] localFlux = kernel.localFlux;
+        final double[] radialWeight = kernel.radialWeight;
+        final double[] xFirstDelay = kernel.xFirstDelay;
+        final double[] xDelayedPower = kernel.xDelayedPower;
+        final double[] fissionPower = kernel.fissionPower;
+        final double[] fissionPowerDisplay = kernel.fissionPowerDisplay;
+        final double[] fuelTemperature = kernel.fuelTemperature;
+        final double[] thermalFlow = kernel.thermalFlow;
+
+        double localAffection, dXFirstDelay, dXDelayedPower, rodHeatGeneration;
+        double displaySum = 0.0;
+        for (int idx = from; idx < to; idx++) {
+            if (averageAffection > 0.0) {
+                localAffection = affection[idx] / averageAffection;
+            } else {
+                localAffection = 1.0;
+            }
+
+            localFlux[idx] = (globalFlux * (1.0 - DISTRIBUTED_FLUX)
+                    + globalFlux * DISTRIBUTED_FLUX * localAffection
+                    + globalFlux * (radialWeight[idx] - 1.0))
+                    / REFERENCE_CHANNELS;
+
+            dXFirstDelay = (localFlux[idx] * P_DECAY - xFirstDelay[idx])
+                    / T_DECAY;
+            dXDelayedPower = (xFirstDelay[idx] - xDelayedPower[idx]) / T_DECAY;
+
+            // Forward Euler
+            xFirstDelay[idx] += dXFirstDelay * stepTime;
+            if (dXDelayedPower < 0.0) {
+                xDelayedPower[idx] += dXDelayedPower * stepTime
+                        * DECAY_DOWN_MODIFIER;
+            } else {
+                xDelayedPower[idx] += dXDelayedPower * stepTime;
+            }
+
+            rodHeatGeneration = localFlux[idx] * (1 - P_DECAY)
+                    + xDelayedPower[idx];
+
+            fissionPower[idx] = rodHeatGeneration * FLUX_TO_POWER
+                    + LOCAL_IDLE_POWER;
+
+            if (fuelTemperature[idx] > 7000) {
+                thermalFlow[idx] = 0.0;
+            } else {
+                thermalFlow[idx] = fissionPower[idx] * 1e6; // MW to W
+            }
+
+            fissionPowerDisplay[idx] = rodHeatGeneration
+                    * FLUX_TO_DISPLAY_POWER;
+            displaySum += fissionPowerDisplay[idx];
+        }
+        return displaySum;
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
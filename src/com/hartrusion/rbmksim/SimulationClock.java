@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+/**
+ * Holds the simulated time. The clock is advanced by the main loop with each
+ * model step and is completely independent from the real time. Everything in
+ * the model that depends on time has to use this clock instead of the system
+ * time, otherwise an accelerated or headless run will behave differently
+ * than a real time run.
+ *
+ * <p>
+ * Time is counted in integer milliseconds to avoid any accumulation of
+ * rounding errors on long runs.
+ *
+ * <p>
+ * Models which change slowly do not need to be calculated with each step, the
+ * clock tells them when they are due with isDue. Their period is given in
+ * simulated time, so they are always calculated at the same points in time,
+ * no matter how fast the simulation runs.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class SimulationClock {
+
+    /**
+     * Time in milliseconds that passes with each model step.
+     */
+    private final long stepMillis;
+
+    private long timeMillis;
+
+    /**
+     * If set, all models are due with each step. Used to compare the results
+     * with the slow models running at the full rate.
+     */
+    private boolean singleRate;
+
+    public SimulationClock(long stepMillis) {
+        this.stepMillis = stepMillis;
+    }
+
+    /**
+     * Advances the clock by one model step.
+     */
+    public void advance() {
+        timeMillis += stepMillis;
+    }
+
+    /**
+     * @return Simulated time in milliseconds since start.
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Sets the simulated time, used when loading a saved state.
+     *
+     * @param timeMillis Simulated time in milliseconds.
+     */
+    public void setTimeMillis(long timeMillis) {
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * @return Simulated time in seconds since start.
+     */
+    public double getTime() {
+        return timeMillis * 1e-3;
+    }
+
+    /**
+     * @return Time of one model step in seconds.
+     */
+    public double getStepTime() {
+        return stepMillis * 1e-3;
+    }
+
+    /**
+     * Returns true if a model that runs with the given period has to be
+     * calculated in the current step. Different offsets can be used to not
+     * have all slow models calculated in the same step.
+     *
+     * @param periodMillis Period of the model in milliseconds, a multiple of
+     * the step time.
+     * @param offsetMillis Offset in milliseconds, smaller than the period.
+     * @return true if the model is due.
+     */
+    public boolean isDue(long periodMillis, long offsetMillis) {
+        return singleRate || (timeMillis - offsetMillis) % periodMillis == 0;
+    }
+
+    /**
+     * Makes all models run with each step, isDue will always return true.
+     *
+     * @param singleRate true to disable the multi rate execution.
+     */
+    public void setSingleRate(boolean singleRate) {
+        this.singleRate = singleRate;
+    }
+}
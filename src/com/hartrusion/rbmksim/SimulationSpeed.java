@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+/**
+ * Describes the discrete time acceleration settings of the simulation. Each
+ * setting defines how many model steps of 0.1 s are run for each 100 ms
+ * cycle of real time. MAX runs as many steps as fit in the cycle time.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public enum SimulationSpeed {
+    X1(1),
+    X2(2),
+    X5(5),
+    X10(10),
+    MAX(0);
+
+    private final int stepsPerCycle;
+
+    SimulationSpeed(int stepsPerCycle) {
+        this.stepsPerCycle = stepsPerCycle;
+    }
+
+    /**
+     * @return Number of model steps per real time cycle, 0 for MAX.
+     */
+    public int getStepsPerCycle() {
+        return stepsPerCycle;
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.alarm.AlarmListSnapshot;
+import com.hartrusion.mvc.ModelListener;
+import java.beans.PropertyChangeEvent;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hands over the data of each cycle from the main loop to the views. The
+ * main loop fills a frame and flips it, a separate publisher thread takes
+ * the latest frame and sends its content to the controller, which passes it
+ * on to the local GUI and the network server. This way, a slow updater or
+ * network connection does not take any time from the 100 ms of the model
+ * cycle anymore.
+ * <p>
+ * Uses a triple buffer: The main loop writes the back frame, the publisher
+ * reads the front frame and the one in the middle is swapped with either of
+ * them using an atomic integer, so there is no lock between the threads. If
+ * the main loop flips again before the publisher took the middle frame, the
+ * older frame is overwritten and will never be sent, the views always get
+ * the latest state. As a dropped frame could contain a delta that is missing
+ * afterwards, the main loop has to check for dropped frames and send a full
+ * snapshot then.
+ * <p>
+ * Without calling start, no thread is used and flip sends the frame
+ * directly, like the headless simulator needs it to record every snapshot.
+ * <p>
+ * The events of the model (like a pump that was switched on) are put into a
+ * lock free queue by the QueuedModelListener and are also sent from the
+ * publisher thread, so the controller is only called from this one thread.
+ * It forwards everything to the network server too, which must not get two
+ * calls at the same time. Events are sent before the next frame, so the
+ * order of events and snapshots stays the same as the model created them.
+ * Events also wake up the publisher, they are sent while the simulation is
+ * paused too.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class SnapshotPublisher implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(
+            SnapshotPublisher.class.getName());
+
+    /**
+     * Marks that the middle frame was written by the main loop and was not
+     * taken by the publisher yet. Lower bits are the index of the frame.
+     */
+    private static final int FRESH = 4;
+    private static final int INDEX_MASK = 3;
+
+    /**
+     * Data of one cycle. The buffers for the array parameters are allocated
+     * once and reused, all other values are references to objects that are
+     * created for each cycle anyway.
+     */
+    public static final class Frame {
+
+        private String outputName;
+        private Object output;
+        private String[] arrayNames = new String[0];
+        private double[][] arrays = new double[0][];
+        private int arrayCount;
+        private AlarmListSnapshot alarms;
+
+        /**
+         * @param name Property name like "OutputSnapshot" or "OutputDelta"
+         * @param value The snapshot or delta
+         */
+        public void setOutput(String name, Object value) {
+            outputName = name;
+            output = value;
+        }
+
+        /**
+         * Returns the buffer for an array parameter, the values have to be
+         * copied into it.
+         *
+         * @param idx Number of the array in this frame
+         * @param name Property name of the array
+         * @param length Number of values
+         * @return Buffer to write the values to.
+         */
+        public double[] getArrayBuffer(int idx, String name, int length) {
+            if (idx >= arrays.length) {
+                arrays = Arrays.copyOf(arrays, idx + 1);
+                arrayNames = Arrays.copyOf(arrayNames, idx + 1);
+            }
+            if (arrays[idx] == null || arrays[idx].length != length) {
+                arrays[idx] = new double[length];
+            }
+            arrayNames[idx] = name;
+            return arrays[idx];
+        }
+
+        public void setArrayCount(int arrayCount) {
+            this.arrayCount = arrayCount;
+        }
+
+        public void setAlarms(AlarmListSnapshot alarms) {
+            this.alarms = alarms;
+        }
+    }
+
+    /**
+     * An event that was sent with propertyChange(String, Object).
+     */
+    private static final class NamedEvent {
+
+        private final String propertyName;
+        private final Object newValue;
+
+        private NamedEvent(String propertyName, Object newValue) {
+            this.propertyName = propertyName;
+            this.newValue = newValue;
+        }
+    }
+
+    /**
+     * Events of the model, either PropertyChangeEvent or NamedEvent. Elements
+     * might send events from different threads of the pool.
+     */
+    private final Queue<Object> events = new ConcurrentLinkedQueue<>();
+
+    private final Frame[] frames = {new Frame(), new Frame(), new Frame()};
+
+    /**
+     * Index of the frame the main loop writes, only used by the main loop.
+     */
+    private int back = 0;
+
+    /**
+     * Index of the frame that gets published, only used by the publisher.
+     */
+    private int front = 2;
+
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    private final AtomicBoolean dropped = new AtomicBoolean();
+
+    private final ModelListener controller;
+
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    public SnapshotPublisher(ModelListener controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Starts the publisher thread. Frames will be sent from there from now
+     * on.
+     */
+    public void start() {
+        running = true;
+        Thread t = new Thread(this, "SnapshotPublisher");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY);
+        thread = t;
+        t.start();
+    }
+
+    public void stop() {
+        running = false;
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    /**
+     * @return The frame to be filled by the main loop.
+     */
+    public Frame getBackFrame() {
+        return frames[back];
+    }
+
+    /**
+     * Makes the back frame the latest one to be sent. Without a publisher
+     * thread, the frame is sent directly.
+     */
+    public void flip() {
+        Thread t = thread;
+        if (t == null) {
+            deliver(frames[back]);
+            return;
+        }
+        int old = middle.getAndSet(back | FRESH);
+        back = old & INDEX_MASK;
+        if ((old & FRESH) != 0) {
+            dropped.set(true);
+        }
+        LockSupport.unpark(t);
+    }
+
+    /**
+     * Queues an event to be sent by the publisher thread. Without a publisher
+     * thread, it is sent directly.
+     *
+     * @param evt Event of the model
+     */
+    public void queueEvent(PropertyChangeEvent evt) {
+        Thread t = thread;
+        if (t == null) {
+            controller.propertyChange(evt);
+            return;
+        }
+        events.add(evt);
+        LockSupport.unpark(t);
+    }
+
+    /**
+     * Queues an event to be sent by the publisher thread. Without a publisher
+     * thread, it is sent directly.
+     *
+     * @param propertyName Name of the property
+     * @param newValue Value of the property
+     */
+    public void queueEvent(String propertyName, Object newValue) {
+        Thread t = thread;
+        if (t == null) {
+            controller.propertyChange(propertyName, newValue);
+            return;
+        }
+        events.add(new NamedEvent(propertyName, newValue));
+        LockSupport.unpark(t);
+    }
+
+    /**
+     * Returns if a frame was dropped since the last call of this method.
+     *
+     * @return true if any frame was overwritten before it was sent.
+     */
+    public boolean checkDropped() {
+        return dropped.getAndSet(false);
+    }
+
+    @Override
+    public void run() {
+        int old;
+        while (running) {
+            if ((middle.get() & FRESH) == 0) {
+                if (events.isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    deliverEvents();
+                }
+                continue;
+            }
+            old = middle.getAndSet(front);
+            front = old & INDEX_MASK;
+            // All events that were queued before the frame was flipped are
+            // in the queue now, they belong in front of the frame.
+            deliverEvents();
+            try {
+                deliver(frames[front]);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Exception while publishing", e);
+            }
+        }
+        thread = null;
+        deliverEvents();
+    }
+
+    private void deliverEvents() {
+        Object e;
+        while ((e = events.poll()) != null) {
+            try {
+                if (e instanceof NamedEvent n) {
+                    controller.propertyChange(n.propertyName, n.newValue);
+                } else {
+                    controller.propertyChange((PropertyChangeEvent) e);
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.SEVERE, "Exception while publishing", ex);
+            }
+        }
+    }
+
+    private void deliver(Frame f) {
+        controller.propertyChange(f.outputName, f.output);
+        // The buffers will be written again, the views get a copy to keep.
+        for (int idx = 0; idx < f.arrayCount; idx++) {
+            controller.propertyChange(f.arrayNames[idx], f.arrays[idx].clone());
+        }
+        controller.propertyChange("AlarmListSnapshot", f.alarms);
+        f.output = null;
+        f.alarms = null;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+
+/**
+ * Plant states that are shipped with the simulator to start from. Each one is
+ * a saved simulation state in the states resource folder that was run until
+ * all values were steady, see StateLibraryGenerator. Starting from one of them
+ * is faster than setting up the plant from the initial values of the model.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public enum StartupState {
+    COLD_SHUTDOWN("cold-shutdown", "Cold Shutdown"),
+    HOT_STANDBY("hot-standby", "Hot Standby"),
+    POWER_700MW("power-700mw", "700 MW Thermal"),
+    FULL_POWER("full-power", "Full Power");
+
+    private final String fileName;
+    private final String description;
+
+    StartupState(String fileName, String description) {
+        this.fileName = fileName;
+        this.description = description;
+    }
+
+    /**
+     * @return Name of the state file without extension.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return Name to display in menus.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return Resource path of the state file.
+     */
+    public String getResourceName() {
+        return "states/" + fileName + ".ic";
+    }
+
+    /**
+     * @return true if the state file is part of the build.
+     */
+    public boolean isAvailable() {
+        return StartupState.class.getResource(getResourceName()) != null;
+    }
+
+    /**
+     * Reads the saved state from the resource file.
+     *
+     * @return The saved state
+     * @throws IOException if the state is not available or can not be read.
+     */
+    public SaveGame read() throws IOException {
+        InputStream in = StartupState.class.getResourceAsStream(
+                getResourceName());
+        if (in == null) {
+            throw new IOException("State " + fileName
+                    + " is not part of this build.");
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(in)) {
+            return (SaveGame) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Finds the state with the given file name.
+     *
+     * @param fileName Name like cold-shutdown
+     * @return The state
+     * @throws IllegalArgumentException if there is no such state.
+     */
+    public static StartupState fromFileName(String fileName) {
+        for (StartupState s : values()) {
+            if (s.fileName.equals(fileName)) {
+                return s;
+            }
+        }
+        throw new IllegalArgumentException("Unknown state: " + fileName);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.modeling.solvers.DomainAnalogySolver;
+import com.hartrusion.util.SimpleLogOut;
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the state files for the StartupState library. A state that was
+ * saved by the operator is loaded and the simulation is run without GUI
+ * until the neutron flux and the thermal power do not change anymore, then
+ * the converged state is saved as a resource file.
+ *
+ * <p>
+ * Usage: StateLibraryGenerator [-l savefile] [-t seconds] [-o output] state
+ * <ul>
+ * <li>-l: State to start from, without it the initial state of the model is
+ * used, which is only useful for cold-shutdown.</li>
+ * <li>-t: Maximum simulated time to wait for convergence, default 1800 s.</li>
+ * <li>-o: Output file, default is the resource file of the state in src.</li>
+ * <li>state: File name of the StartupState, like full-power.</li>
+ * </ul>
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class StateLibraryGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(
+            StateLibraryGenerator.class.getName());
+
+    /**
+     * Simulated time between two convergence checks in seconds.
+     */
+    private static final double CHECK_INTERVAL = 10.0;
+
+    /**
+     * Number of checks in a row which all have to be within the tolerance.
+     */
+    private static final int CONVERGED_CHECKS = 6;
+
+    /**
+     * Allowed change of neutron flux in % and thermal power in MW between two
+     * checks.
+     */
+    private static final double FLUX_TOLERANCE = 0.01;
+    private static final double POWER_TOLERANCE = 0.5;
+
+    /**
+     * Runs the simulation until it is converged or the maximum time is
+     * reached.
+     *
+     * @param sim Simulation with the state to start from already queued
+     * @param maxTime Maximum simulated time in seconds
+     * @return true if the state is converged
+     */
+    public static boolean converge(HeadlessSimulator sim, double maxTime) {
+        ReactorCore core = sim.getMainLoop().getCore();
+        double lastFlux = Double.NaN;
+        double lastPower = Double.NaN;
+        double flux, power;
+        int convergedChecks = 0;
+        for (double time = 0.0; time < maxTime; time += CHECK_INTERVAL) {
+            sim.runFor(CHECK_INTERVAL);
+            if (sim.getMainLoop().isPaused()) {
+                return false;
+            }
+            flux = core.getNeutronModel().getYNeutronFlux();
+            power = core.getThermalPowerDisplayed();
+            if (Math.abs(flux - lastFlux) <= FLUX_TOLERANCE
+                    && Math.abs(power - lastPower) <= POWER_TOLERANCE) {
+                convergedChecks++;
+            } else {
+                convergedChecks = 0;
+            }
+            lastFlux = flux;
+            lastPower = power;
+            if (convergedChecks >= CONVERGED_CHECKS) {
+                LOGGER.log(Level.INFO, String.format(
+                        "Converged after %.0f s at %.2f %% flux, %.0f MW.",
+                        time + CHECK_INTERVAL, flux, power));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        SimpleLogOut.configureLoggingToStdOut();
+
+        String loadFile = null;
+        String outputFile = null;
+        double maxTime = 1800.0;
+        StartupState state = null;
+
+        for (int idx = 0; idx < args.length; idx++) {
+            switch (args[idx]) {
+                case "-l" ->
+                    loadFile = args[++idx];
+                case "-t" ->
+                    maxTime = Double.parseDouble(args[++idx]);
+                case "-o" ->
+                    outputFile = args[++idx];
+                default ->
+                    state = StartupState.fromFileName(args[idx]);
+            }
+        }
+        if (state == null) {
+            throw new IllegalArgumentException("No state given.");
+        }
+        if (outputFile == null) {
+            outputFile = "src/com/hartrusion/rbmksim/"
+                    + state.getResourceName();
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ExecutorService threadPool = Executors.newFixedThreadPool(cores);
+        DomainAnalogySolver.setThreadPool(threadPool);
+        try {
+            // Explicit integration of everything like in real time
+            HeadlessSimulator sim = new HeadlessSimulator(false);
+            sim.getMainLoop().setThreadPool(threadPool, cores);
+            if (loadFile != null) {
+                sim.loadState(loadFile);
+            }
+            if (!converge(sim, maxTime)) {
+                LOGGER.log(Level.SEVERE, "State " + state.getFileName()
+                        + " did not converge, nothing saved.");
+                return;
+            }
+            // Saving happens at the beginning of the next cycle.
+            sim.queueAction("SaveSimulationState",
+                    new File(outputFile).getAbsolutePath());
+            sim.runFor(HeadlessSimulator.STEP_TIME);
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.modeling.phasedfluid.Water;
+
+/**
+ * Precomputed table of the saturation properties of Water, so the properties
+ * which are needed each cycle for each evaporator do not need to be
+ * calculated each time.
+ * <p>
+ * The saturation temperature is stored on a grid which is equally spaced over
+ * the fourth root of the pressure. The saturation curve is very steep at low
+ * pressures and flat at high pressures, on this grid it is almost linear so a
+ * linear interpolation is accurate with a small number of points (1024
+ * points give less than 1 mK error from 0.01 to 220 bar). A lookup is two
+ * square roots, one multiplication and one linear interpolation without any
+ * branches. The linear interpolation between the points of a monotone curve
+ * keeps the result monotone.
+ * <p>
+ * Pressures outside the table range are limited to the range. The test
+ * harness SteamTableAccuracy compares the table against Water.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public final class SteamTable {
+
+    /**
+     * Default table, 1024 points from 1e3 to 2.2e7 Pa.
+     */
+    public static final SteamTable INSTANCE
+            = new SteamTable(1e3, 2.2e7, 1024);
+
+    private final double minPressure;
+    private final double maxPressure;
+
+    /**
+     * Fourth root of the lowest pressure, this is where the grid starts.
+     */
+    private final double gridStart;
+
+    /**
+     * Inverse of the grid spacing.
+     */
+    private final double gridScale;
+
+    /**
+     * Highest position on the grid.
+     */
+    private final double maxPosition;
+
+    private final double[] saturationTemperature;
+
+    /**
+     * Slope to the next point, the last one is 0 so the last point can be
+     * used without any check.
+     */
+    private final double[] saturationTemperatureSlope;
+
+    private final double specificHeatCapacity;
+    private final double vaporizationHeatEnergy;
+
+    /**
+     * Creates the tables from the Water functions.
+     *
+     * @param minPressure Lowest pressure in Pa
+     * @param maxPressure Highest pressure in Pa
+     * @param points Number of points, defines the resolution
+     */
+    public SteamTable(double minPressure, double maxPressure, int points) {
+        if (points < 2 || minPressure <= 0.0 || maxPressure <= minPressure) {
+            throw new IllegalArgumentException("Invalid table range.");
+        }
+        this.minPressure = minPressure;
+        this.maxPressure = maxPressure;
+        gridStart = Math.sqrt(Math.sqrt(minPressure));
+        double gridEnd = Math.sqrt(Math.sqrt(maxPressure));
+        double step = (gridEnd - gridStart) / (points - 1);
+        gridScale = 1.0 / step;
+        maxPosition = points - 1;
+
+        saturationTemperature = new double[points];
+        saturationTemperatureSlope = new double[points];
+        double x, pressure;
+        for (int idx = 0; idx < points; idx++) {
+            x = gridStart + idx * step;
+            pressure = x * x * x * x;
+            if (idx == points - 1) {
+                pressure = maxPressure; // no rounding error on the last one
+            }
+            saturationTemperature[idx]
+                    = Water.INSTANCE.getSaturationTemperature(pressure);
+        }
+        for (int idx = 0; idx < points - 1; idx++) {
+            saturationTemperatureSlope[idx] = saturationTemperature[idx + 1]
+                    - saturationTemperature[idx];
+        }
+
+        // Those do not depend on anything, just keep them.
+        specificHeatCapacity = Water.INSTANCE.getSpecificHeatCapacity();
+        vaporizationHeatEnergy = Water.INSTANCE.getVaporizationHeatEnergy();
+    }
+
+    /**
+     * Saturation temperature, interpolated from the table.
+     *
+     * @param pressure Pressure in Pa
+     * @return Temperature in Kelvin
+     */
+    public double getSaturationTemperature(double pressure) {
+        double position = (Math.sqrt(Math.sqrt(pressure)) - gridStart)
+                * gridScale;
+        position = Math.max(0.0, Math.min(position, maxPosition));
+        int idx = (int) position;
+        return saturationTemperature[idx]
+                + saturationTemperatureSlope[idx] * (position - idx);
+    }
+
+    /**
+     * @return Same as Water.getSpecificHeatCapacity
+     */
+    public double getSpecificHeatCapacity() {
+        return specificHeatCapacity;
+    }
+
+    /**
+     * @return Same as Water.getVaporizationHeatEnergy
+     */
+    public double getVaporizationHeatEnergy() {
+        return vaporizationHeatEnergy;
+    }
+
+    public double getMinPressure() {
+        return minPressure;
+    }
+
+    public double getMaxPressure() {
+        return maxPressure;
+    }
+
+    /**
+     * @return Number of points in the table.
+     */
+    public int size() {
+        return saturationTemperature.length;
+    }
+}
@@ -36,9 +36,20 @@ public abstract class Subsystem implements ModelManipulation {
      * written into this handler.
      */
     protected ValueHandler outputValues;
+
+    /**
+     * Output values that are written on each step, with integer handles
+     * instead of names. Published to outputValues before each snapshot.
+     */
+    protected ParameterRegistry parameters;
     
     protected AlarmManager alarmManager;
     
+    /**
+     * Simulated time, to be used instead of any system time.
+     */
+    protected SimulationClock clock;
+    
     @Override
     public void registerController(ModelListener controller) {
         this.controller = controller;
@@ -48,10 +59,18 @@ public abstract class Subsystem implements ModelManipulation {
         this.outputValues = output;
     }
     
+    public void registerParameterRegistry(ParameterRegistry parameters) {
+        this.parameters = parameters;
+    }
+
     public void registerAlarmManager(AlarmManager alarmManager) {
         this.alarmManager = alarmManager;
     }
     
+    public void registerSimulationClock(SimulationClock clock) {
+        this.clock = clock;
+    }
+    
     public void saveTo(SaveGame save) {
         // to be overridden by subsystems, on call, they can put all their
         // state stuff into the provided file.
@@ -62,6 +62,7 @@ import com.hartrusion.modeling.phasedfluid.PhasedVolumizedFlowResistance;
 import com.hartrusion.modeling.solvers.DomainAnalogySolver;
 import com.hartrusion.mvc.ActionCommand;
 import java.beans.PropertyChangeEvent;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BooleanSupplier;
 import java.util.function.DoubleSupplier;
 
@@ -251,6 +252,26 @@ public class ThermalLayout extends Subsystem implements Runnable {
     private final PhasedHeatFluidConverter auxCondValveToHotwellConverter;
     // private final PhasedNode auxCondValveToHotwellPhasedNode;
     private final HeatValve auxCondValveToDrain;
+    // The condensate pumps are solved as a network on its own, between the
+    // condenser reservoirs on one side and the hotwell and makeup storage on
+    // the other. Works the same as the ECCS pressure vessel fill network.
+    private final HeatOrigin[] auxCondCondensateOrigin = new HeatOrigin[2];
+    private final HeatNode[] auxCondCondensateOriginNode = new HeatNode[2];
+    private final HeatEffortSource[] auxCondCondensatePressure
+            = new HeatEffortSource[2];
+    private final HeatNode[] auxCondCondensateInNode = new HeatNode[2];
+    private final HeatOrigin auxCondSinkOrigin;
+    private final HeatNode auxCondSinkOriginNode;
+    private final HeatEffortSource auxCondHotwellPressure;
+    private final HeatNode auxCondHotwellNode;
+    private final HeatEffortSource auxCondDrainPressure;
+    private final HeatNode auxCondDrainNode;
+    private final HeatOrigin auxCondCouplingOrigin;
+    private final HeatNode auxCondCouplingOriginNode;
+    private final HeatFlowSource[] auxCondCondensateDraw
+            = new HeatFlowSource[2];
+    private final HeatFlowSource auxCondToHotwellInflow;
+    private final HeatFlowSource auxCondToDrainInflow;
 
     // Steam Dump
     private final PhasedValveControlled[] mainSteamDump
@@ -441,6 +462,22 @@ public class ThermalLayout extends Subsystem implements Runnable {
     private final HeatClosedFluidTank[] eccsPressureVessel
             = new HeatClosedFluidTank[2];
     private final HeatNode[] eccsPvNode = new HeatNode[2];
+    // The fill pump is solved as a network on its own. It is only coupled to
+    // the makeup storage and the pressure vessels, both are tanks, so their
+    // pressures can be used as effort sources on the boundary of the fill
+    // network and the fill flow is given back to the main network by flow
+    // sources.
+    private final HeatOrigin eccsPvFillOrigin;
+    private final HeatNode eccsPvFillOriginNode;
+    private final HeatEffortSource eccsPvFillSuctionPressure;
+    private final HeatNode eccsPvFillSuctionNode;
+    private final HeatEffortSource[] eccsPvFillVesselPressure
+            = new HeatEffortSource[2];
+    private final HeatNode[] eccsPvFillVesselNode = new HeatNode[2];
+    private final HeatFlowSource eccsPvFillMakeupDraw;
+    private final HeatOrigin eccsPvFillInflowOrigin;
+    private final HeatNode eccsPvFillInflowOriginNode;
+    private final HeatFlowSource[] eccsPvFillInflow = new HeatFlowSource[2];
     private final HeatValveControlled[][] eccsPvValve
             = new HeatValveControlled[2][2];
     // Feed pump 3 to EECS lines
@@ -469,9 +506,134 @@ public class ThermalLayout extends Subsystem implements Runnable {
     private final Setpoint[] setpointPreheaterLevel = new Setpoint[3];
 
     private final DomainAnalogySolver solver = new DomainAnalogySolver();
+    private final DomainAnalogySolver eccsPvFillSolver
+            = new DomainAnalogySolver();
+    private final DomainAnalogySolver auxCondSolver
+            = new DomainAnalogySolver();
+
+    /**
+     * The split off networks are idle most of the time with their pumps off
+     * and valves closed. They are not solved as long as nothing changes and
+     * their flows do not move by more than 1 g/s per cycle for 5 seconds.
+     */
+    private final QuiescenceDetector eccsPvFillQuiescence
+            = new QuiescenceDetector(1e-3, 50);
+    private final QuiescenceDetector auxCondQuiescence
+            = new QuiescenceDetector(1e-3, 50);
+
+    /**
+     * All independent networks of the thermal layout. The main solver is the
+     * first partition, further parts which are only coupled by boundary
+     * values can be added with their own solver.
+     */
+    private final PartitionedSolver partitions = new PartitionedSolver();
     private final AutomationRunner runner = new AutomationRunner();
     private final AlarmUpdater alarmUpdater = new AlarmUpdater();
 
+    /**
+     * Handles of the measurement values in the parameter registry, the
+     * values are written on each step without looking up the name.
+     */
+    private int makeupStorageLevelHandle;
+    private int makeupStorageTemperatureHandle;
+    private int coolantTotalFlowHandle;
+    private int coolantOutTemperatureHandle;
+    private final int[] loopDrumLevelHandle = new int[2];
+    private final int[] loopDrumPressureHandle = new int[2];
+    private final int[] loopDrumTemperatureHandle = new int[2];
+    private final int[] mainSteamShutoffValveHandle = new int[2];
+    private final int[] mainSteamFromDrumFlowHandle = new int[2];
+    private final int[][] loopMcpTrimValveHandle = new int[2][4];
+    private final int[] loopMcpInTempHandle = new int[2];
+    private final int[] loopMcpInPressureHandle = new int[2];
+    private final int[] loopFuelInTempHandle = new int[2];
+    private final int[] loopFuelInPressureHandle = new int[2];
+    private final int[] loopMcpCooldownHandle = new int[2];
+    private final int[] loopDownFlowHandle = new int[2];
+    private final int[] loopBlowdownFlowToFeedwaterInHandle = new int[2];
+    private final int[] feedwaterFlowHandle = new int[2];
+    private final int[] feedwaterStartupReductionValveHandle = new int[2];
+    private final int[] deaeratorLevelHandle = new int[2];
+    private final int[] deaeratorPressureHandle = new int[2];
+    private final int[] deaeratorTemperatureHandle = new int[2];
+    private final int[] deaeratorFeedFlowHandle = new int[2];
+    private final int[] deaeratorSteamFlowHandle = new int[2];
+    private int blowdownInTemperatureHandle;
+    private int blowdownPassiveFlowHandle;
+    private int blowdownRegeneratorPrimaryOutTempHandle;
+    private int blowdownCoolerPrimaryInTempHandle;
+    private int blowdownCoolerPrimaryFlowHandle;
+    private int blowdownCoolerPrimaryOutTempHandle;
+    private int blowdownTreatmentOutTempHandle;
+    private int blowdownTreatmentFlowHandle;
+    private int blowdownRegeneratorSecondaryOutTempHandle;
+    private int blowdownCoolantOutTempHandle;
+    private int blowdownCoolantOutFlowHandle;
+    private int blowdownValveDrainHandle;
+    private int blowdownValveDrainFlowHandle;
+    private int blowdownSumFlowToDrumsHandle;
+    private int blowdownReturnTempHandle;
+    private final int[] feedwaterTemperatureHandle = new int[2];
+    private final int[] feedwaterPressureHandle = new int[2];
+    private final int[] auxCondLevelHandle = new int[2];
+    private final int[] auxCondTemperatureHandle = new int[2];
+    private final int[] auxCondSteamFlowHandle = new int[2];
+    private int auxCondCondensateTemperatureHandle;
+    private final int[] mainBypassFlowHandle = new int[2];
+    private int hotwellLevelHandle;
+    private int hotwellPressureHandle;
+    private int hotwellTemperatureHandle;
+    private final int[] condensationFlowToDAHandle = new int[2];
+    private int hotwellFillFlowHandle;
+    private int hotwellDrainFlowHandle;
+    private int circCoolantCondensorOutTempHandle;
+    private int condensationHotwellPumpsPressureHandle;
+    private int condensationHotwellPumpsOutTempHandle;
+    private int condenserVacuumHandle;
+    private final int[] ejectorStartupFlowHandle = new int[2];
+    private int ejectorMainSteamPressureHandle;
+    private int ejectorMainSteamFlowHandle;
+    private int ejectorMainFeedwaterTemperatureHandle;
+    private int ejectorMainFeedwaterPressureHandle;
+    private int ejectorMainFeedwaterFlowHandle;
+    private int condensateTemperatureAfterBoosterPumpsHandle;
+    private final int[] preheaterCondensateLevelHandle = new int[3];
+    private final int[] preheaterCondensateTemperatureHandle = new int[3];
+    private int mainEjectorsSteamFlowHandle;
+    private int preheater1SteamFlowHandle;
+    private int preheater2SteamFlowHandle;
+    private int preheater3SteamFlowHandle;
+    private int preheater1FeedOutTempHandle;
+    private int preheater2FeedOutTempHandle;
+    private int preheater3FeedOutTempHandle;
+    private int preheater1DebugHeatExchangerOutTempHandle;
+    private int preheater2DebugHeatExchangerOutTempHandle;
+    private int preheater3DebugHeatExchangerOutTempHandle;
+    private int preheater1DebugCondensateCoolerOutTempHandle;
+    private int preheater2DebugCondensateCoolerOutTempHandle;
+    private final int[] turbineMainSteamFlowHandle = new int[2];
+    private final int[] turbineMainSteamValveFlowHandle = new int[2];
+    private int turbineHPOutTempHandle;
+    private int turbineLPInTempHandle;
+    private int turbineDebugHPInTempHandle;
+    private int turbineDebugHPOutTempHandle;
+    private int turbineDebugLPInTempHandle;
+    private int turbineReheaterOutTempHandle;
+    private int turbineReheaterOutQualityHandle;
+    private int turbineReheaterLevelHandle;
+    private int turbineReheaterCondTempHandle;
+    private int turbineReheaterSteamInFlowHandle;
+    private int turbineReheaterTemperatureSetpointHandle;
+    private final int[] turbineReheaterToDAFlowHandle = new int[2];
+    private int turbineHighPressureFlowHandle;
+    private int turbineLowPressureFlowHandle;
+    private final int[] turbineLowPressurePressureHandle = new int[4];
+    private final int[] prvToPoolFlowHandle = new int[2];
+    private final int[] prvToEnvironmentFlowHandle = new int[2];
+    private int bubblerPoolLevelHandle;
+    private int bubblerPoolTemperatureHandle;
+    private final int[] eccsPVPressureHandle = new int[2];
+
     private final AbstractController blowdownBalanceControlLoop
             = new PControl();
 
@@ -882,6 +1044,43 @@ public class ThermalLayout extends Subsystem implements Runnable {
         // auxCondValveToHotwellPhasedNode.setName("AuxCond#ToHotwellPhasedNode");
         auxCondValveToDrain = new HeatValve();
         auxCondValveToDrain.initName("AuxCond#ToDrain");
+        for (int idx = 0; idx < 2; idx++) {
+            auxCondCondensateOrigin[idx] = new HeatOrigin();
+            auxCondCondensateOrigin[idx].setName(
+                    "AuxCond" + (idx + 1) + "#CondensateOrigin");
+            auxCondCondensateOriginNode[idx] = new HeatNode();
+            auxCondCondensateOriginNode[idx].setName(
+                    "AuxCond" + (idx + 1) + "#CondensateOriginNode");
+            auxCondCondensatePressure[idx] = new HeatEffortSource();
+            auxCondCondensatePressure[idx].setName(
+                    "AuxCond" + (idx + 1) + "#CondensatePressure");
+            auxCondCondensateInNode[idx] = new HeatNode();
+            auxCondCondensateInNode[idx].setName(
+                    "AuxCond" + (idx + 1) + "#CondensateInNode");
+            auxCondCondensateDraw[idx] = new HeatFlowSource();
+            auxCondCondensateDraw[idx].setName(
+                    "AuxCond" + (idx + 1) + "#CondensateDraw");
+        }
+        auxCondSinkOrigin = new HeatOrigin();
+        auxCondSinkOrigin.setName("AuxCond#SinkOrigin");
+        auxCondSinkOriginNode = new HeatNode();
+        auxCondSinkOriginNode.setName("AuxCond#SinkOriginNode");
+        auxCondHotwellPressure = new HeatEffortSource();
+        auxCondHotwellPressure.setName("AuxCond#HotwellPressure");
+        auxCondHotwellNode = new HeatNode();
+        auxCondHotwellNode.setName("AuxCond#HotwellNode");
+        auxCondDrainPressure = new HeatEffortSource();
+        auxCondDrainPressure.setName("AuxCond#DrainPressure");
+        auxCondDrainNode = new HeatNode();
+        auxCondDrainNode.setName("AuxCond#DrainNode");
+        auxCondCouplingOrigin = new HeatOrigin();
+        auxCondCouplingOrigin.setName("AuxCond#CouplingOrigin");
+        auxCondCouplingOriginNode = new HeatNode();
+        auxCondCouplingOriginNode.setName("AuxCond#CouplingOriginNode");
+        auxCondToHotwellInflow = new HeatFlowSource();
+        auxCondToHotwellInflow.setName("AuxCond#ToHotwellInflow");
+        auxCondToDrainInflow = new HeatFlowSource();
+        auxCondToDrainInflow.setName("AuxCond#ToDrainInflow");
 
         // Steam Dump
         for (int idx = 0; idx < mainSteamDump.length; idx++) {
@@ -1294,6 +1493,20 @@ public class ThermalLayout extends Subsystem implements Runnable {
         eccsPvFillPump.initName("ECCS#PvFillPump");
         eccsPvFillPumpOut = new HeatNode();
         eccsPvFillPumpOut.setName("ECCS#PvFillPumpOut");
+        eccsPvFillOrigin = new HeatOrigin();
+        eccsPvFillOrigin.setName("ECCS#PvFillOrigin");
+        eccsPvFillOriginNode = new HeatNode();
+        eccsPvFillOriginNode.setName("ECCS#PvFillOriginNode");
+        eccsPvFillSuctionPressure = new HeatEffortSource();
+        eccsPvFillSuctionPressure.setName("ECCS#PvFillSuctionPressure");
+        eccsPvFillSuctionNode = new HeatNode();
+        eccsPvFillSuctionNode.setName("ECCS#PvFillSuctionNode");
+        eccsPvFillMakeupDraw = new HeatFlowSource();
+        eccsPvFillMakeupDraw.setName("ECCS#PvFillMakeupDraw");
+        eccsPvFillInflowOrigin = new HeatOrigin();
+        eccsPvFillInflowOrigin.setName("ECCS#PvFillInflowOrigin");
+        eccsPvFillInflowOriginNode = new HeatNode();
+        eccsPvFillInflowOriginNode.setName("ECCS#PvFillInflowOriginNode");
         for (int idx = 0; idx < 2; idx++) {
             eccsPvFillValve[idx] = new HeatValve();
             eccsPvFillValve[idx].initName("ECCS" + (idx + 1) + "#PvFillValve");
@@ -1302,6 +1515,15 @@ public class ThermalLayout extends Subsystem implements Runnable {
                     + (idx + 1) + "#PressureVessel");
             eccsPvNode[idx] = new HeatNode();
             eccsPvNode[idx].setName("ECCS" + (idx + 1) + "#PvNode");
+            eccsPvFillVesselPressure[idx] = new HeatEffortSource();
+            eccsPvFillVesselPressure[idx].setName("ECCS"
+                    + (idx + 1) + "#PvFillVesselPressure");
+            eccsPvFillVesselNode[idx] = new HeatNode();
+            eccsPvFillVesselNode[idx].setName("ECCS"
+                    + (idx + 1) + "#PvFillVesselNode");
+            eccsPvFillInflow[idx] = new HeatFlowSource();
+            eccsPvFillInflow[idx].setName("ECCS"
+                    + (idx + 1) + "#PvFillInflow");
             for (int jdx = 0; jdx < 2; jdx++) {
                 eccsPvValve[idx][jdx] = new HeatValveControlled();
                 eccsPvValve[idx][jdx].registerController(new TwoPointControl());
@@ -1335,6 +1557,8 @@ public class ThermalLayout extends Subsystem implements Runnable {
         //</editor-fold>      
         blowdownBalanceControlLoop.setName("Blowdown#BalanceControl");
         solver.setString("ThermalLayoutMainSolver");
+        eccsPvFillSolver.setString("ThermalLayoutEccsPvFillSolver");
+        auxCondSolver.setString("ThermalLayoutAuxCondSolver");
 
         // <editor-fold defaultstate="collapsed" desc="Control Setpoint instances">
         for (int idx = 0; idx < 2; idx++) {
@@ -1380,6 +1604,220 @@ public class ThermalLayout extends Subsystem implements Runnable {
         }
     }
 
+    @Override
+    public void registerParameterRegistry(ParameterRegistry parameters) {
+        super.registerParameterRegistry(parameters);
+        makeupStorageLevelHandle = parameters.register("MakeupStorage#Level");
+        makeupStorageTemperatureHandle = parameters.register(
+                "MakeupStorage#Temperature");
+        coolantTotalFlowHandle = parameters.register("Coolant#TotalFlow");
+        coolantOutTemperatureHandle = parameters.register(
+                "Coolant#OutTemperature");
+        for (int idx = 0; idx < 2; idx++) {
+            loopDrumLevelHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#DrumLevel");
+            loopDrumPressureHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#DrumPressure");
+            loopDrumTemperatureHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#DrumTemperature");
+            mainSteamShutoffValveHandle[idx] = parameters.register(
+                    "Main" + (idx + 1) + "#SteamShutoffValve");
+            mainSteamFromDrumFlowHandle[idx] = parameters.register(
+                    "Main" + (idx + 1) + "#SteamFromDrumFlow");
+        }
+        for (int idx = 0; idx < 2; idx++) {
+            for (int jdx = 0; jdx < 4; jdx++) {
+                loopMcpTrimValveHandle[idx][jdx] = parameters.register(
+                        "Loop" + (idx + 1) + "#mcp" + (jdx + 1) + "TrimValve");
+            }
+        }
+        for (int idx = 0; idx < 2; idx++) {
+            loopMcpInTempHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#McpInTemp");
+            loopMcpInPressureHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#McpInPressure");
+            loopFuelInTempHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#FuelInTemp");
+            loopFuelInPressureHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#FuelInPressure");
+            loopMcpCooldownHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#McpCooldown");
+            loopDownFlowHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#DownFlow");
+            loopBlowdownFlowToFeedwaterInHandle[idx] = parameters.register(
+                    "Loop" + (idx + 1) + "#BlowdownFlowToFeedwaterIn");
+            feedwaterFlowHandle[idx] = parameters.register(
+                    "Feedwater" + (idx + 1) + "#Flow");
+            feedwaterStartupReductionValveHandle[idx] = parameters.register(
+                    "Feedwater" + (idx + 1) + "#StartupReductionValve");
+            deaeratorLevelHandle[idx] = parameters.register(
+                    "Deaerator" + (idx + 1) + "#Level");
+            deaeratorPressureHandle[idx] = parameters.register(
+                    "Deaerator" + (idx + 1) + "#Pressure");
+            deaeratorTemperatureHandle[idx] = parameters.register(
+                    "Deaerator" + (idx + 1) + "#Temperature");
+            deaeratorFeedFlowHandle[idx] = parameters.register(
+                    "Deaerator" + (idx + 1) + "#FeedFlow");
+            deaeratorSteamFlowHandle[idx] = parameters.register(
+                    "Deaerator" + (idx + 1) + "#SteamFlow");
+        }
+        blowdownInTemperatureHandle = parameters.register(
+                "Blowdown#InTemperature");
+        blowdownPassiveFlowHandle = parameters.register("Blowdown#PassiveFlow");
+        blowdownRegeneratorPrimaryOutTempHandle = parameters.register(
+                "Blowdown#RegeneratorPrimaryOutTemp");
+        blowdownCoolerPrimaryInTempHandle = parameters.register(
+                "Blowdown#CoolerPrimaryInTemp");
+        blowdownCoolerPrimaryFlowHandle = parameters.register(
+                "Blowdown#CoolerPrimaryFlow");
+        blowdownCoolerPrimaryOutTempHandle = parameters.register(
+                "Blowdown#CoolerPrimaryOutTemp");
+        blowdownTreatmentOutTempHandle = parameters.register(
+                "Blowdown#TreatmentOutTemp");
+        blowdownTreatmentFlowHandle = parameters.register(
+                "Blowdown#TreatmentFlow");
+        blowdownRegeneratorSecondaryOutTempHandle = parameters.register(
+                "Blowdown#RegeneratorSecondaryOutTemp");
+        blowdownCoolantOutTempHandle = parameters.register(
+                "Blowdown#CoolantOutTemp");
+        blowdownCoolantOutFlowHandle = parameters.register(
+                "Blowdown#CoolantOutFlow");
+        blowdownValveDrainHandle = parameters.register("Blowdown#ValveDrain");
+        blowdownValveDrainFlowHandle = parameters.register(
+                "Blowdown#ValveDrainFlow");
+        blowdownSumFlowToDrumsHandle = parameters.register(
+                "Blowdown#SumFlowToDrums");
+        blowdownReturnTempHandle = parameters.register("Blowdown#ReturnTemp");
+        for (int idx = 0; idx < 2; idx++) {
+            feedwaterTemperatureHandle[idx] = parameters.register(
+                    "Feedwater" + (idx + 1) + "#Temperature");
+            feedwaterPressureHandle[idx] = parameters.register(
+                    "Feedwater" + (idx + 1) + "#Pressure");
+            auxCondLevelHandle[idx] = parameters.register(
+                    "AuxCond" + (idx + 1) + "#Level");
+            auxCondTemperatureHandle[idx] = parameters.register(
+                    "AuxCond" + (idx + 1) + "#Temperature");
+            auxCondSteamFlowHandle[idx] = parameters.register(
+                    "AuxCond" + (idx + 1) + "#SteamFlow");
+        }
+        auxCondCondensateTemperatureHandle = parameters.register(
+                "AuxCond#CondensateTemperature");
+        for (int idx = 0; idx < 2; idx++) {
+            mainBypassFlowHandle[idx] = parameters.register(
+                    "Main" + (idx + 1) + "#BypassFlow");
+        }
+        hotwellLevelHandle = parameters.register("Hotwell#Level");
+        hotwellPressureHandle = parameters.register("Hotwell#Pressure");
+        hotwellTemperatureHandle = parameters.register("Hotwell#Temperature");
+        for (int idx = 0; idx < 2; idx++) {
+            condensationFlowToDAHandle[idx] = parameters.register(
+                    "Condensation" + (idx + 1) + "#FlowToDA");
+        }
+        hotwellFillFlowHandle = parameters.register("Hotwell#FillFlow");
+        hotwellDrainFlowHandle = parameters.register("Hotwell#DrainFlow");
+        circCoolantCondensorOutTempHandle = parameters.register(
+                "CircCoolant#CondensorOutTemp");
+        condensationHotwellPumpsPressureHandle = parameters.register(
+                "Condensation#HotwellPumpsPressure");
+        condensationHotwellPumpsOutTempHandle = parameters.register(
+                "Condensation#HotwellPumpsOutTemp");
+        condenserVacuumHandle = parameters.register("Condenser#Vacuum");
+        for (int idx = 0; idx < 2; idx++) {
+            ejectorStartupFlowHandle[idx] = parameters.register(
+                    "EjectorStartup" + (idx + 1) + "#Flow");
+        }
+        ejectorMainSteamPressureHandle = parameters.register(
+                "EjectorMain#SteamPressure");
+        ejectorMainSteamFlowHandle = parameters.register(
+                "EjectorMain#SteamFlow");
+        ejectorMainFeedwaterTemperatureHandle = parameters.register(
+                "EjectorMain#FeedwaterTemperature");
+        ejectorMainFeedwaterPressureHandle = parameters.register(
+                "EjectorMain#FeedwaterPressure");
+        ejectorMainFeedwaterFlowHandle = parameters.register(
+                "EjectorMain#FeedwaterFlow");
+        condensateTemperatureAfterBoosterPumpsHandle = parameters.register(
+                "Condensate#TemperatureAfterBoosterPumps");
+        for (int idx = 0; idx < 3; idx++) {
+            preheaterCondensateLevelHandle[idx] = parameters.register(
+                    "Preheater" + (idx + 1) + "#CondensateLevel");
+            preheaterCondensateTemperatureHandle[idx] = parameters.register(
+                    "Preheater" + (idx + 1) + "#CondensateTemperature");
+        }
+        mainEjectorsSteamFlowHandle = parameters.register(
+                "MainEjectors#SteamFlow");
+        preheater1SteamFlowHandle = parameters.register("Preheater1#SteamFlow");
+        preheater2SteamFlowHandle = parameters.register("Preheater2#SteamFlow");
+        preheater3SteamFlowHandle = parameters.register("Preheater3#SteamFlow");
+        preheater1FeedOutTempHandle = parameters.register(
+                "Preheater1#FeedOutTemp");
+        preheater2FeedOutTempHandle = parameters.register(
+                "Preheater2#FeedOutTemp");
+        preheater3FeedOutTempHandle = parameters.register(
+                "Preheater3#FeedOutTemp");
+        preheater1DebugHeatExchangerOutTempHandle = parameters.register(
+                "Preheater1#DebugHeatExchangerOutTemp");
+        preheater2DebugHeatExchangerOutTempHandle = parameters.register(
+                "Preheater2#DebugHeatExchangerOutTemp");
+        preheater3DebugHeatExchangerOutTempHandle = parameters.register(
+                "Preheater3#DebugHeatExchangerOutTemp");
+        preheater1DebugCondensateCoolerOutTempHandle = parameters.register(
+                "Preheater1#DebugCondensateCoolerOutTemp");
+        preheater2DebugCondensateCoolerOutTempHandle = parameters.register(
+                "Preheater2#DebugCondensateCoolerOutTemp");
+        for (int idx = 0; idx < 2; idx++) {
+            turbineMainSteamFlowHandle[idx] = parameters.register(
+                    "Turbine" + (idx + 1) + "#MainSteamFlow");
+            turbineMainSteamValveFlowHandle[idx] = parameters.register(
+                    "Turbine" + (idx + 1) + "#MainSteamValveFlow");
+        }
+        turbineHPOutTempHandle = parameters.register("Turbine#HPOutTemp");
+        turbineLPInTempHandle = parameters.register("Turbine#LPInTemp");
+        turbineDebugHPInTempHandle = parameters.register(
+                "Turbine#DebugHPInTemp");
+        turbineDebugHPOutTempHandle = parameters.register(
+                "Turbine#DebugHPOutTemp");
+        turbineDebugLPInTempHandle = parameters.register(
+                "Turbine#DebugLPInTemp");
+        turbineReheaterOutTempHandle = parameters.register(
+                "Turbine#ReheaterOutTemp");
+        turbineReheaterOutQualityHandle = parameters.register(
+                "Turbine#ReheaterOutQuality");
+        turbineReheaterLevelHandle = parameters.register(
+                "Turbine#ReheaterLevel");
+        turbineReheaterCondTempHandle = parameters.register(
+                "Turbine#ReheaterCondTemp");
+        turbineReheaterSteamInFlowHandle = parameters.register(
+                "Turbine#ReheaterSteamInFlow");
+        turbineReheaterTemperatureSetpointHandle = parameters.register(
+                "Turbine#ReheaterTemperatureSetpoint");
+        for (int idx = 0; idx < 2; idx++) {
+            turbineReheaterToDAFlowHandle[idx] = parameters.register(
+                    "Turbine" + (idx + 1) + "#ReheaterToDAFlow");
+        }
+        turbineHighPressureFlowHandle = parameters.register(
+                "Turbine#HighPressureFlow");
+        turbineLowPressureFlowHandle = parameters.register(
+                "Turbine#LowPressureFlow");
+        for (int idx = 0; idx < 4; idx++) {
+            turbineLowPressurePressureHandle[idx] = parameters.register(
+                    "Turbine" + (idx + 1) + "#LowPressurePressure");
+        }
+        for (int idx = 0; idx < 2; idx++) {
+            prvToPoolFlowHandle[idx] = parameters.register(
+                    "PRV" + (idx + 1) + "#ToPoolFlow");
+            prvToEnvironmentFlowHandle[idx] = parameters.register(
+                    "PRV" + (idx + 1) + "#ToEnvironmentFlow");
+        }
+        bubblerPoolLevelHandle = parameters.register("BubblerPool#Level");
+        bubblerPoolTemperatureHandle = parameters.register(
+                "BubblerPool#Temperature");
+        for (int idx = 0; idx < 2; idx++) {
+            eccsPVPressureHandle[idx] = parameters.register(
+                    "ECCS" + (idx + 1) + "#PVPressure");
+        }
+    }
+
     public void init() {
         turbine.initConnections();
         // <editor-fold defaultstate="collapsed" desc="Node-element connections">
@@ -1637,8 +2075,18 @@ public class ThermalLayout extends Subsystem implements Runnable {
                     auxCondensers[idx].getPhasedNode(
                             PhasedCondenserNoMass.PRIMARY_OUT),
                     auxCondCondenserOutNode[idx]);
+            // The condensate pumps are a network on their own which starts
+            // with the pressure of the condenser out node, the flow is taken
+            // from the condenser by a flow source, see coupleAuxCond.
+            auxCondCondensateDraw[idx].connectBetween(
+                    auxCondCondenserOutNode[idx], auxCondCouplingOriginNode);
+            auxCondCondensateOrigin[idx].connectTo(
+                    auxCondCondensateOriginNode[idx]);
+            auxCondCondensatePressure[idx].connectBetween(
+                    auxCondCondensateOriginNode[idx],
+                    auxCondCondensateInNode[idx]);
             auxCondCondensateValve[idx].getValveElement().connectBetween(
-                    auxCondCondenserOutNode[idx], auxCondCondInNode);
+                    auxCondCondensateInNode[idx], auxCondCondInNode);
             // Also connect one of 2 pumps here, no separate loop for this.
             auxCondPumps[idx].getPumpEffortSource().connectTo(
                     auxCondCondInNode);
@@ -1653,14 +2101,26 @@ public class ThermalLayout extends Subsystem implements Runnable {
         auxCondHeightDifference.connectBetween(auxCondCollectorNode,
                 auxCondDistributorNode);
         // To hotwell: Connect to a converter for this purpose, this allows
-        // better network simplification and performance.
+        // better network simplification and performance. The valve ends on
+        // the hotwell pressure in the condensate network, the flow is put
+        // into the converter by a flow source in the main network.
+        auxCondSinkOrigin.connectTo(auxCondSinkOriginNode);
+        auxCondHotwellPressure.connectBetween(auxCondSinkOriginNode,
+                auxCondHotwellNode);
         auxCondValveToHotwell.getValveElement().connectBetween(
-                auxCondDistributorNode, auxCondValveToHotwellHeatNode);
+                auxCondDistributorNode, auxCondHotwellNode);
+        auxCondCouplingOrigin.connectTo(auxCondCouplingOriginNode);
+        auxCondToHotwellInflow.connectBetween(auxCondCouplingOriginNode,
+                auxCondValveToHotwellHeatNode);
         auxCondValveToHotwellConverter.connectBetween(
                 auxCondValveToHotwellHeatNode, condenserCoolerIn[0]);
-        // Drain to cold condensate storage
+        // Drain to cold condensate storage, same as to the hotwell.
+        auxCondDrainPressure.connectBetween(auxCondSinkOriginNode,
+                auxCondDrainNode);
         auxCondValveToDrain.getValveElement().connectBetween(
-                auxCondDistributorNode, makeupStorageDrainCollector);
+                auxCondDistributorNode, auxCondDrainNode);
+        auxCondToDrainInflow.connectBetween(auxCondCouplingOriginNode,
+                makeupStorageDrainCollector);
 
         // Steam Dump
         for (int idx = 0; idx < 2; idx++) {
@@ -2121,13 +2581,27 @@ public class ThermalLayout extends Subsystem implements Runnable {
         }
 
         // Pressure Vessels: Those have a pump that can be used to fill them
-        // from makeup water 
-        eccsPvFillPump.getPumpEffortSource().connectTo(makeupStorageOut);
+        // from makeup water. The pump is in its own network which starts at
+        // an origin with the makeup storage pressure as suction and ends
+        // with the pressure vessel pressures on the fill valves. In the main
+        // network, the flow is taken from the makeup storage and put into
+        // the vessels by flow sources. See coupleEccsPvFill.
+        eccsPvFillOrigin.connectTo(eccsPvFillOriginNode);
+        eccsPvFillSuctionPressure.connectBetween(eccsPvFillOriginNode,
+                eccsPvFillSuctionNode);
+        eccsPvFillPump.getPumpEffortSource().connectTo(eccsPvFillSuctionNode);
         eccsPvFillPump.getDischargeValve().connectTo(eccsPvFillPumpOut);
+        eccsPvFillMakeupDraw.connectBetween(makeupOriginNode,
+                makeupStorageOut);
+        eccsPvFillInflowOrigin.connectTo(eccsPvFillInflowOriginNode);
         for (int idx = 0; idx < 2; idx++) {
             eccsPressureVessel[idx].connectTo(eccsPvNode[idx]);
             eccsPvFillValve[idx].getValveElement().connectBetween(
-                    eccsPvFillPumpOut, eccsPvNode[idx]);
+                    eccsPvFillPumpOut, eccsPvFillVesselNode[idx]);
+            eccsPvFillVesselPressure[idx].connectBetween(
+                    eccsPvFillOriginNode, eccsPvFillVesselNode[idx]);
+            eccsPvFillInflow[idx].connectBetween(eccsPvFillInflowOriginNode,
+                    eccsPvNode[idx]);
             eccsPvValve[0][idx].getValveElement().connectBetween(
                     eccsPvNode[idx], eccsFeedLineIn[0][idx]);
             eccsPvValve[1][idx].getValveElement().connectBetween(
@@ -2872,6 +3346,50 @@ public class ThermalLayout extends Subsystem implements Runnable {
         // but it triggers a huge step of building up all the network and
         // calculation of the thermal layout.
         solver.addNetwork(blowdownOutNode);
+        partitions.addPartition(solver);
+        // The pressure vessel fill pump and the aux condenser condensate
+        // networks are solved on their own, at the same time as the main
+        // network, and only if something is going on there.
+        eccsPvFillSolver.addNetwork(eccsPvFillOriginNode);
+        eccsPvFillQuiescence.addInput(
+                eccsPvFillPump.getPumpEffortSource()::getEffort);
+        eccsPvFillQuiescence.addInput(makeupStorage::getEffort, 100.0);
+        eccsPvFillQuiescence.addInput(
+                () -> makeupStorage.getHeatHandler().getTemperature(), 0.1);
+        for (int idx = 0; idx < 2; idx++) {
+            eccsPvFillQuiescence.addInput(eccsPvFillValve[idx]::getOpening);
+            eccsPvFillQuiescence.addInput(
+                    eccsPressureVessel[idx]::getEffort, 1000.0);
+            eccsPvFillQuiescence.addState(
+                    eccsPvFillValve[idx].getValveElement()::getFlow);
+        }
+        partitions.addPartition(eccsPvFillSolver, eccsPvFillQuiescence);
+        partitions.addCoupling(this::coupleEccsPvFill);
+
+        auxCondSolver.addNetwork(auxCondSinkOriginNode);
+        for (int idx = 0; idx < 2; idx++) {
+            auxCondQuiescence.addInput(
+                    auxCondPumps[idx].getPumpEffortSource()::getEffort);
+            auxCondQuiescence.addInput(auxCondCondensateValve[idx]::getOpening);
+            auxCondQuiescence.addInput(
+                    auxCondCondenserOutNode[idx]::getEffort, 100.0);
+            auxCondQuiescence.addInput(
+                    auxCondCondenserOutNode[idx]::getTemperature, 0.1);
+            auxCondQuiescence.addState(auxCondCondensateValve[idx]
+                    .getValveElement()::getFlow);
+        }
+        auxCondQuiescence.addInput(auxCondBypass::getOpening);
+        auxCondQuiescence.addInput(auxCondValveToHotwell::getOpening);
+        auxCondQuiescence.addInput(auxCondValveToDrain::getOpening);
+        auxCondQuiescence.addInput(
+                hotwell.getPrimarySideReservoir()::getEffort, 100.0);
+        auxCondQuiescence.addInput(makeupStorage::getEffort, 100.0);
+        auxCondQuiescence.addState(
+                auxCondValveToHotwell.getValveElement()::getFlow);
+        auxCondQuiescence.addState(
+                auxCondValveToDrain.getValveElement()::getFlow);
+        partitions.addPartition(auxCondSolver, auxCondQuiescence);
+        partitions.addCoupling(this::coupleAuxCond);
         // <editor-fold defaultstate="collapsed" desc="Submit to runner">
         // Add assemblies to runner instance, this way they get their run 
         // method called each cycle (this sets valve movements, fires events
@@ -5186,9 +5704,9 @@ public class ThermalLayout extends Subsystem implements Runnable {
         hotwell.getPrimarySideReservoir().setAmbientPressure(
                 condenserVacuum.getOutput());
 
-        // Reset and solve (update) the whole thermal layout one cycle.
-        solver.prepareCalculation();
-        solver.doCalculation();
+        // Reset and solve (update) the whole thermal layout one cycle, this
+        // solves all partitions at the same time.
+        partitions.solve();
 
         // Get those values here so we can add them later more easy. We had to
         // simplify the model in a bad, misleading way to keep it stable.
@@ -5276,7 +5794,7 @@ public class ThermalLayout extends Subsystem implements Runnable {
             // Ignore height, we want some trouble here.
             mcpCavitaionTemperatureDiff[idx]
                     = loopCollector[idx].getTemperature()
-                    - Water.INSTANCE.getSaturationTemperature(
+                    - SteamTable.INSTANCE.getSaturationTemperature(
                             mainSteamDrumNode[idx].getEffort());
         }
         for (int idx = 0; idx < 2; idx++) {
@@ -5363,7 +5881,7 @@ public class ThermalLayout extends Subsystem implements Runnable {
         // HP Turbine
         if (turbineReheater.getPhasedNode(PhasedSuperheater.SECONDARY_IN)
                 .effortUpdated()) {
-            turbineHPOutSatTemp = Water.INSTANCE.getSaturationTemperature(
+            turbineHPOutSatTemp = SteamTable.INSTANCE.getSaturationTemperature(
                     turbineReheater.getPhasedNode(
                             PhasedSuperheater.SECONDARY_IN).getEffort());
         }
@@ -5379,70 +5897,59 @@ public class ThermalLayout extends Subsystem implements Runnable {
         alarmUpdater.invokeAll();
 
         // <editor-fold defaultstate="collapsed" desc="Gain measurement data and set it to parameter out handler">
-        outputValues.setParameterValue("MakeupStorage#Level",
+        parameters.set(makeupStorageLevelHandle,
                 makeupStorage.getEffort() * 1.0224e-4); // Pa in meters
-        outputValues.setParameterValue("MakeupStorage#Temperature",
+        parameters.set(makeupStorageTemperatureHandle,
                 makeupStorage.getHeatHandler().getTemperature() - 273.15);
-        outputValues.setParameterValue("Coolant#TotalFlow",
+        parameters.set(coolantTotalFlowHandle,
                 coolantSinkNode.getFlow(coolantSink));
-        outputValues.setParameterValue("Coolant#OutTemperature",
+        parameters.set(coolantOutTemperatureHandle,
                 coolantSinkNode.getTemperature() - 273.15);
         for (int idx = 0; idx < 2; idx++) {
             // -20 cm = 0 kg, 0 cm = 10.000 kg - as with RxModel
-            outputValues.setParameterValue("Loop" + (idx + 1) + "#DrumLevel",
+            parameters.set(loopDrumLevelHandle[idx],
                     (loopSteamDrum[idx].getFillHeight() - 1.15) * 100);
-            outputValues.setParameterValue("Loop" + (idx + 1) + "#DrumPressure",
+            parameters.set(loopDrumPressureHandle[idx],
                     mainSteamDrumNode[idx].getEffort() / 100000 - 1.0);
-            outputValues.setParameterValue("Loop" + (idx + 1)
-                    + "#DrumTemperature",
+            parameters.set(loopDrumTemperatureHandle[idx],
                     loopSteamDrum[idx].getTemperature() - 273.15);
 
-            outputValues.setParameterValue("Main" + (idx + 1)
-                    + "#SteamShutoffValve",
+            parameters.set(mainSteamShutoffValveHandle[idx],
                     mainSteamShutoffValve[idx].getValveElement().getOpening());
-            outputValues.setParameterValue("Main" + (idx + 1)
-                    + "#SteamFromDrumFlow",
+            parameters.set(mainSteamFromDrumFlowHandle[idx],
                     -mainSteamDrumNode[idx].getFlow(loopSteamDrum[idx]));
 
             // Trim valve percentage:
             for (int jdx = 0; jdx < 4; jdx++) {
-                outputValues.setParameterValue(
-                        "Loop" + (idx + 1) + "#mcp" + (jdx + 1) + "TrimValve",
+                parameters.set(loopMcpTrimValveHandle[idx][jdx],
                         loopTrimValve[idx][jdx].getOpening());
             }
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#McpInTemp",
+            parameters.set(loopMcpInTempHandle[idx],
                     loopCollector[idx].getTemperature() - 273.15);
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#McpInPressure",
+            parameters.set(loopMcpInPressureHandle[idx],
                     loopCollector[idx].getEffort() / 100000 - 1.0);
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#FuelInTemp",
+            parameters.set(loopFuelInTempHandle[idx],
                     loopDistributor[idx].getTemperature() - 273.15);
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#FuelInPressure",
+            parameters.set(loopFuelInPressureHandle[idx],
                     loopDistributor[idx].getEffort() / 100000 - 1.0);
 
             // The MCP cooldown value is the temperature drop before the MCP 
             // inlet. Used to prevent cavitation but below 100 °C this does not
             // matter. The MPC cavitation is calculated different to make things
             // worse.
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#McpCooldown",
+            parameters.set(loopMcpCooldownHandle[idx],
                     loopDistributor[idx].getTemperature()
                     - loopSteamDrum[idx].getTemperature());
 
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#DownFlow",
+            parameters.set(loopDownFlowHandle[idx],
                     loopDownflow[idx].getFlow());
 
-            outputValues.setParameterValue("Loop" + (idx + 1)
-                    + "#BlowdownFlowToFeedwaterIn",
+            parameters.set(loopBlowdownFlowToFeedwaterInHandle[idx],
                     -loopFeedwaterIn[idx].getFlow( // negative = into node
                             blowdownReturn[idx]));
 
             // Feedwater: Sum of feed into steam drums
-            outputValues.setParameterValue("Feedwater" + (idx + 1) + "#Flow",
+            parameters.set(feedwaterFlowHandle[idx],
                     -loopFeedwaterIn[idx].getFlow(
                             feedwaterFlowRegulationValve[idx][0]
                                     .getValveElement())
@@ -5453,142 +5960,129 @@ public class ThermalLayout extends Subsystem implements Runnable {
                             feedwaterFlowRegulationValve[idx][2]
                                     .getValveElement()));
 
-            outputValues.setParameterValue("Feedwater" + (idx + 1)
-                    + "#StartupReductionValve",
+            parameters.set(feedwaterStartupReductionValveHandle[idx],
                     feedwaterStartupReductionValve[idx].getOpening());
 
-            outputValues.setParameterValue("Deaerator" + (idx + 1) + "#Level",
+            parameters.set(deaeratorLevelHandle[idx],
                     deaerator[idx].getFillHeight() * 100); // m to cm
-            outputValues.setParameterValue(
-                    "Deaerator" + (idx + 1) + "#Pressure",
+            parameters.set(deaeratorPressureHandle[idx],
                     deaerator[idx].getEffort() * 1e-5 - 1.0); // Pa to bar rel.
-            outputValues.setParameterValue(
-                    "Deaerator" + (idx + 1) + "#Temperature",
+            parameters.set(deaeratorTemperatureHandle[idx],
                     deaerator[idx].getTemperature() - 273.15);
 
             // Feedwater from Deaerators to the pumps (this value is displayed
             // on the feedwater pumps mnemonics, not on the DA page)
-            outputValues.setParameterValue("Deaerator" + (idx + 1)
-                    + "#FeedFlow",
+            parameters.set(deaeratorFeedFlowHandle[idx],
                     deaeratorFeedwaterOutHeatNode[idx].getFlow(
                             feedwaterPump[idx][0].getSuctionValve())
                     + deaeratorFeedwaterOutHeatNode[idx].getFlow(
                             feedwaterPump[idx][1].getSuctionValve())
                     + deaeratorFeedwaterOutHeatNode[idx].getFlow(
                             feedwaterSparePumpInValve[idx].getValveElement()));
-            outputValues.setParameterValue("Deaerator" + (idx + 1)
-                    + "#SteamFlow",
+            parameters.set(deaeratorSteamFlowHandle[idx],
                     deaeratorSteamInRegValve[idx].getValveElement().getFlow());
         }
 
         // Blowdown and Cooldown system
-        outputValues.setParameterValue("Blowdown#InTemperature",
+        parameters.set(blowdownInTemperatureHandle,
                 blowdownInCollectorNode.getTemperature() - 273.5);
-        outputValues.setParameterValue("Blowdown#PassiveFlow",
+        parameters.set(blowdownPassiveFlowHandle,
                 blowdownInCollectorNode.getFlow(
                         blowdownValvePassiveFlow.getValveElement()));
-        outputValues.setParameterValue("Blowdown#RegeneratorPrimaryOutTemp",
+        parameters.set(blowdownRegeneratorPrimaryOutTempHandle,
                 ((HeatNode) blowdownRegenerator.getPrimarySide()
                         .getNode(1)).getTemperature() - 273.5);
-        outputValues.setParameterValue("Blowdown#CoolerPrimaryInTemp",
+        parameters.set(blowdownCoolerPrimaryInTempHandle,
                 ((HeatNode) blowdownCooldown.getPrimarySide()
                         .getNode(0)).getTemperature() - 273.5);
-        outputValues.setParameterValue("Blowdown#CoolerPrimaryFlow",
+        parameters.set(blowdownCoolerPrimaryFlowHandle,
                 blowdownCooldown.getPrimarySide().getNode(0)
                         .getFlow(blowdownCooldown.getPrimarySide()));
-        outputValues.setParameterValue("Blowdown#CoolerPrimaryOutTemp",
+        parameters.set(blowdownCoolerPrimaryOutTempHandle,
                 ((HeatNode) blowdownCooldown.getPrimarySide()
                         .getNode(1)).getTemperature() - 273.5);
-        outputValues.setParameterValue("Blowdown#TreatmentOutTemp",
+        parameters.set(blowdownTreatmentOutTempHandle,
                 blowdownTreatedOutNode.getTemperature() - 273.5);
-        outputValues.setParameterValue("Blowdown#TreatmentFlow",
+        parameters.set(blowdownTreatmentFlowHandle,
                 blowdownTreatment.getFlow());
-        outputValues.setParameterValue("Blowdown#RegeneratorSecondaryOutTemp",
+        parameters.set(blowdownRegeneratorSecondaryOutTempHandle,
                 ((HeatNode) blowdownRegenerator.getPrimarySide()
                         .getNode(1)).getTemperature() - 273.5);
-        outputValues.setParameterValue("Blowdown#CoolantOutTemp",
+        parameters.set(blowdownCoolantOutTempHandle,
                 ((HeatNode) blowdownCooldown.getSecondarySide()
                         .getNode(0)).getTemperature() - 273.5);
-        outputValues.setParameterValue("Blowdown#CoolantOutFlow",
+        parameters.set(blowdownCoolantOutFlowHandle,
                 blowdownValveCoolant.getValveElement().getFlow());
-        outputValues.setParameterValue("Blowdown#ValveDrain",
+        parameters.set(blowdownValveDrainHandle,
                 blowdownValveDrain.getValveElement().getOpening());
-        outputValues.setParameterValue("Blowdown#ValveDrainFlow",
+        parameters.set(blowdownValveDrainFlowHandle,
                 blowdownValveDrain.getValveElement().getFlow());
-        outputValues.setParameterValue("Blowdown#SumFlowToDrums",
+        parameters.set(blowdownSumFlowToDrumsHandle,
                 blowdownReturnValve[0].getValveElement().getFlow()
                 + blowdownReturnValve[1].getValveElement().getFlow());
-        outputValues.setParameterValue("Blowdown#ReturnTemp",
+        parameters.set(blowdownReturnTempHandle,
                 blowdownOutNode.getTemperature() - 273.5);
 
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "Feedwater" + (idx + 1) + "#Temperature",
+            parameters.set(feedwaterTemperatureHandle[idx],
                     feedwaterPumpCollectorNodes[idx].getTemperature() - 273.5);
-            outputValues.setParameterValue(
-                    "Feedwater" + (idx + 1) + "#Pressure",
+            parameters.set(feedwaterPressureHandle[idx],
                     feedwaterPumpCollectorNodes[idx]
                             .getEffort() / 100000 - 1.0);
         }
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "AuxCond" + (idx + 1) + "#Level",
+            parameters.set(auxCondLevelHandle[idx],
                     auxCondensers[idx].getPrimarySideReservoir()
                             .getFillHeight() * 100); // m to cm
-            outputValues.setParameterValue(
-                    "AuxCond" + (idx + 1) + "#Temperature",
+            parameters.set(auxCondTemperatureHandle[idx],
                     auxCondensers[idx].getPrimarySideReservoir()
                             .getTemperature() - 273.5);
-            outputValues.setParameterValue(
-                    "AuxCond" + (idx + 1) + "#SteamFlow",
+            parameters.set(auxCondSteamFlowHandle[idx],
                     auxCondSteamValve[idx].getValveElement().getFlow());
         }
-        outputValues.setParameterValue("AuxCond#CondensateTemperature",
+        parameters.set(auxCondCondensateTemperatureHandle,
                 auxCondCondInNode.getTemperature() - 273.5);
 
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "Main" + (idx + 1) + "#BypassFlow",
+            parameters.set(mainBypassFlowHandle[idx],
                     mainSteamDump[idx].getValveElement().getFlow());
         }
 
-        outputValues.setParameterValue("Hotwell#Level", // m to cm
+        parameters.set(hotwellLevelHandle, // m to cm
                 hotwell.getPrimarySideReservoir().getFillHeight() * 100);
-        outputValues.setParameterValue("Hotwell#Pressure", // m to cm
+        parameters.set(hotwellPressureHandle, // m to cm
                 hotwell.getPhasedNode(PhasedCondenserNoMass.PRIMARY_INNER)
                         .getEffort() / 100000); // bar absolute
-        outputValues.setParameterValue("Hotwell#Temperature",
+        parameters.set(hotwellTemperatureHandle,
                 hotwell.getPrimarySideReservoir().getTemperature() - 273.15);
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "Condensation" + (idx + 1) + "#FlowToDA",
+            parameters.set(condensationFlowToDAHandle[idx],
                     condensationValveToDA[idx].getValveElement().getFlow());
         }
-        outputValues.setParameterValue("Hotwell#FillFlow",
+        parameters.set(hotwellFillFlowHandle,
                 hotwellFillValve.getValveElement().getFlow());
-        outputValues.setParameterValue("Hotwell#DrainFlow",
+        parameters.set(hotwellDrainFlowHandle,
                 hotwellDrainValve.getValveElement().getFlow());
-        outputValues.setParameterValue("CircCoolant#CondensorOutTemp",
+        parameters.set(circCoolantCondensorOutTempHandle,
                 hotwell.getHeatNode(PhasedCondenserNoMass.SECONDARY_OUT)
                         .getTemperature() - 273.15);
-        outputValues.setParameterValue("Condensation#HotwellPumpsPressure",
+        parameters.set(condensationHotwellPumpsPressureHandle,
                 condensationPumpOut.getEffort() / 100000 - 1.0);
-        outputValues.setParameterValue("Condensation#HotwellPumpsOutTemp",
+        parameters.set(condensationHotwellPumpsOutTempHandle,
                 condensationPumpOut.getTemperature() - 273.15);
 
         // Make a 0..100 kPa value like in the old sim game with 0 being 
         // 1 barabs and 100 kPa being 0 barabs.
-        outputValues.setParameterValue("Condenser#Vacuum",
+        parameters.set(condenserVacuumHandle,
                 (1e5 - condenserVacuum.getOutput()) * 1e-3);
 
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "EjectorStartup" + (idx + 1) + "#Flow",
+            parameters.set(ejectorStartupFlowHandle[idx],
                     ejectorStartup[idx].getValveElement().getFlow());
         }
-        outputValues.setParameterValue("EjectorMain#SteamPressure",
+        parameters.set(ejectorMainSteamPressureHandle,
                 ejectorTurbineTapNode.getEffort() / 100000); // absolute
-        outputValues.setParameterValue("EjectorMain#SteamFlow",
+        parameters.set(ejectorMainSteamFlowHandle,
                 turbineLowPressureTapValve[3].getValveElement().getFlow());
 //        for (int idx = 0; idx < 3; idx++) {
 //            outputValues.setParameterValue(
@@ -5601,66 +6095,64 @@ public class ThermalLayout extends Subsystem implements Runnable {
 //                            .getTemperature() - 273.15);
 //        }
 
-        outputValues.setParameterValue("EjectorMain#FeedwaterTemperature",
+        parameters.set(ejectorMainFeedwaterTemperatureHandle,
                 condensationBoosterPumpIn.getTemperature() - 273.15);
-        outputValues.setParameterValue("EjectorMain#FeedwaterPressure",
+        parameters.set(ejectorMainFeedwaterPressureHandle,
                 condensationBoosterPumpIn.getEffort() / 100000 - 1.0); // rel
-        outputValues.setParameterValue("EjectorMain#FeedwaterFlow",
+        parameters.set(ejectorMainFeedwaterFlowHandle,
                 ejectorMainBypass.getValveElement().getFlow()
                 + ejectorMainFlowOut[0].getValveElement().getFlow()
                 + ejectorMainFlowOut[1].getValveElement().getFlow()
                 + ejectorMainFlowOut[2].getValveElement().getFlow());
 
-        outputValues.setParameterValue("Condensate#TemperatureAfterBoosterPumps",
+        parameters.set(condensateTemperatureAfterBoosterPumpsHandle,
                 preheaterCondensateIn.getTemperature() - 273.15);
 
         for (int idx = 0; idx < 3; idx++) {
-            outputValues.setParameterValue(
-                    "Preheater" + (idx + 1) + "#CondensateLevel",
+            parameters.set(preheaterCondensateLevelHandle[idx],
                     preheater[idx].getPrimarySideReservoir()
                             .getFillHeight() * 100 - 70);
-            outputValues.setParameterValue(
-                    "Preheater" + (idx + 1) + "#CondensateTemperature",
+            parameters.set(preheaterCondensateTemperatureHandle[idx],
                     preheater[idx].getPrimarySideReservoir()
                             .getTemperature() - 273.15);
         }
-        outputValues.setParameterValue("MainEjectors#SteamFlow",
+        parameters.set(mainEjectorsSteamFlowHandle,
                 turbineLowPressureTapValve[3].getValveElement().getFlow());
-        outputValues.setParameterValue("Preheater1#SteamFlow",
+        parameters.set(preheater1SteamFlowHandle,
                 turbineLowPressureTapValve[2].getValveElement().getFlow());
-        outputValues.setParameterValue("Preheater2#SteamFlow",
+        parameters.set(preheater2SteamFlowHandle,
                 turbineLowPressureTapValve[1].getValveElement().getFlow());
-        outputValues.setParameterValue("Preheater3#SteamFlow",
+        parameters.set(preheater3SteamFlowHandle,
                 turbineLowPressureTapValve[0].getValveElement().getFlow());
 
         // The "official" temperatures from the preheaters are those from the
         // heated masses, they will have a delay by that.
-        outputValues.setParameterValue("Preheater1#FeedOutTemp",
+        parameters.set(preheater1FeedOutTempHandle,
                 preheaterPiping[0].getHeatHandler().getTemperature() - 273.15);
-        outputValues.setParameterValue("Preheater2#FeedOutTemp",
+        parameters.set(preheater2FeedOutTempHandle,
                 preheaterPiping[1].getHeatHandler().getTemperature() - 273.15);
-        outputValues.setParameterValue("Preheater3#FeedOutTemp",
+        parameters.set(preheater3FeedOutTempHandle,
                 preheaterPiping[2].getHeatHandler().getTemperature() - 273.15);
 
         // These are model detail data, only supposed to be used for detail 
         // investigation of the thermal model.
-        outputValues.setParameterValue("Preheater1#DebugHeatExchangerOutTemp",
+        parameters.set(preheater1DebugHeatExchangerOutTempHandle,
                 preheater[0].getHeatNode(
                         PhasedCondenserNoMass.SECONDARY_OUT).getTemperature()
                 - 273.15);
-        outputValues.setParameterValue("Preheater2#DebugHeatExchangerOutTemp",
+        parameters.set(preheater2DebugHeatExchangerOutTempHandle,
                 preheater[1].getHeatNode(
                         PhasedCondenserNoMass.SECONDARY_OUT).getTemperature()
                 - 273.15);
-        outputValues.setParameterValue("Preheater3#DebugHeatExchangerOutTemp",
+        parameters.set(preheater3DebugHeatExchangerOutTempHandle,
                 preheater[2].getHeatNode(
                         PhasedCondenserNoMass.SECONDARY_OUT).getTemperature()
                 - 273.15);
-        outputValues.setParameterValue("Preheater1#DebugCondensateCoolerOutTemp",
+        parameters.set(preheater1DebugCondensateCoolerOutTempHandle,
                 preheater[0].getHeatNode(
                         PhasedCondenserNoMass.SECONDARY_IN).getTemperature()
                 - 273.15);
-        outputValues.setParameterValue("Preheater2#DebugCondensateCoolerOutTemp",
+        parameters.set(preheater2DebugCondensateCoolerOutTempHandle,
                 preheater[1].getHeatNode(
                         PhasedCondenserNoMass.SECONDARY_IN).getTemperature()
                 - 273.15);
@@ -5668,80 +6160,74 @@ public class ThermalLayout extends Subsystem implements Runnable {
         // Flow to turbine and startup ejectors, this is displayed as main flow
         // to turbine system on turbine panel. Includes the steam dump valves.
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "Turbine" + (idx + 1) + "#MainSteamFlow",
+            parameters.set(turbineMainSteamFlowHandle[idx],
                     steamOutToTurbine[idx]);
         }
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "Turbine" + (idx + 1) + "#MainSteamValveFlow",
+            parameters.set(turbineMainSteamValveFlowHandle[idx],
                     turbineMainSteamValve[idx].getValveElement().getFlow());
         }
         // Get the HP out temperature directly from the heated steam mass.
-        outputValues.setParameterValue("Turbine#HPOutTemp",
+        parameters.set(turbineHPOutTempHandle,
                 turbineHighPressureOutMass.getTemperature() - 273.15);
-        outputValues.setParameterValue("Turbine#LPInTemp",
+        parameters.set(turbineLPInTempHandle,
                 turbineLowPressureInMass.getTemperature() - 273.15);
 
-        outputValues.setParameterValue("Turbine#DebugHPInTemp",
+        parameters.set(turbineDebugHPInTempHandle,
                 turbineDebugHPInTemp - 273.15);
-        outputValues.setParameterValue("Turbine#DebugHPOutTemp",
+        parameters.set(turbineDebugHPOutTempHandle,
                 turbineDebugHPOutTemp - 273.15);
-        outputValues.setParameterValue("Turbine#DebugLPInTemp",
+        parameters.set(turbineDebugLPInTempHandle,
                 turbineDebugLPInTemp - 273.15);
 
-        outputValues.setParameterValue("Turbine#ReheaterOutTemp",
+        parameters.set(turbineReheaterOutTempHandle,
                 reheaterOutTemperature - 273.15);
-        outputValues.setParameterValue("Turbine#ReheaterOutQuality",
+        parameters.set(turbineReheaterOutQualityHandle,
                 reheaterOutQuality);
 
-        outputValues.setParameterValue("Turbine#ReheaterLevel",
+        parameters.set(turbineReheaterLevelHandle,
                 turbineReheater.getPrimarySideReservoir()
                         .getFillHeight() * 100); // m to cm
-        outputValues.setParameterValue("Turbine#ReheaterCondTemp",
+        parameters.set(turbineReheaterCondTempHandle,
                 turbineReheater.getPrimarySideReservoir()
                         .getTemperature() - 273.15); // K to °C
-        outputValues.setParameterValue("Turbine#ReheaterSteamInFlow",
+        parameters.set(turbineReheaterSteamInFlowHandle,
                 -turbineReheater.getPrimarySideCondenser().getFlow());
-        outputValues.setParameterValue("Turbine#ReheaterTemperatureSetpoint",
+        parameters.set(turbineReheaterTemperatureSetpointHandle,
                 turbineHPOutSatTemp
                 + setpointTurbineReheaterTemperature.getOutput()
                 - 273.15);
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "Turbine" + (idx + 1) + "#ReheaterToDAFlow",
+            parameters.set(turbineReheaterToDAFlowHandle[idx],
                     turbineReheaterCondensateValve[idx]
                             .getValveElement().getFlow());
         }
 
-        outputValues.setParameterValue("Turbine#HighPressureFlow",
+        parameters.set(turbineHighPressureFlowHandle,
                 turbineHighPressureFirst.getFlow());
-        outputValues.setParameterValue("Turbine#LowPressureFlow",
+        parameters.set(turbineLowPressureFlowHandle,
                 turbineLowPressureStage[0].getFlow());
 
         for (int idx = 0; idx < 4; idx++) {
-            outputValues.setParameterValue( // absolute pressure here
-                    "Turbine" + (idx + 1) + "#LowPressurePressure",
+            // absolute pressure here
+            parameters.set(turbineLowPressurePressureHandle[idx],
                     turbineLowPressureStageOut[idx].getEffort() / 100000);
         }
 
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "PRV" + (idx + 1) + "#ToPoolFlow",
+            parameters.set(prvToPoolFlowHandle[idx],
                     pressureReliefValveToPool[idx]
                             .getValveElement().getFlow());
-            outputValues.setParameterValue(
-                    "PRV" + (idx + 1) + "#ToEnvironmentFlow",
+            parameters.set(prvToEnvironmentFlowHandle[idx],
                     pressureReliefValveToEnvironment[idx]
                             .getValveElement().getFlow());
         }
-        outputValues.setParameterValue("BubblerPool#Level",
+        parameters.set(bubblerPoolLevelHandle,
                 bubblerPool.getFillHeight()); // this one uses meters?
-        outputValues.setParameterValue("BubblerPool#Temperature",
+        parameters.set(bubblerPoolTemperatureHandle,
                 bubblerPool.getTemperature() - 273.15);
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue(
-                    "ECCS" + (idx + 1) + "#PVPressure",
+            parameters.set(eccsPVPressureHandle[idx],
                     eccsPressureVessel[idx].getEffort() / 100000 + 1.0);
         }
         // </editor-fold>
@@ -5754,30 +6240,21 @@ public class ThermalLayout extends Subsystem implements Runnable {
      */
     public void reactorExplosion() {
         for (int idx = 0; idx < 2; idx++) {
-            outputValues.setParameterValue("Loop" + (idx + 1) + "#DrumLevel",
+            parameters.set(loopDrumLevelHandle[idx],
                     - 115);
-            outputValues.setParameterValue("Loop" + (idx + 1) + "#DrumPressure",
+            parameters.set(loopDrumPressureHandle[idx],
                     0.0);
-            outputValues.setParameterValue("Main" + (idx + 1)
-                    + "#SteamFromDrumFlow",0.0);
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#McpInPressure", 0.0);
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#FuelInPressure", 0.0);
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#McpCooldown", 0.0);
-            outputValues.setParameterValue(
-                    "Loop" + (idx + 1) + "#DownFlow", 0.0);
-            outputValues.setParameterValue("Loop" + (idx + 1)
-                    + "#BlowdownFlowToFeedwaterIn", 0.0);
-            outputValues.setParameterValue("Feedwater" + (idx + 1) + "#Flow",
+            parameters.set(mainSteamFromDrumFlowHandle[idx],0.0);
+            parameters.set(loopMcpInPressureHandle[idx], 0.0);
+            parameters.set(loopFuelInPressureHandle[idx], 0.0);
+            parameters.set(loopMcpCooldownHandle[idx], 0.0);
+            parameters.set(loopDownFlowHandle[idx], 0.0);
+            parameters.set(loopBlowdownFlowToFeedwaterInHandle[idx], 0.0);
+            parameters.set(feedwaterFlowHandle[idx],
                     0.0);
-            outputValues.setParameterValue(
-                    "Deaerator" + (idx + 1) + "#Pressure", 0.0);
-            outputValues.setParameterValue("Deaerator" + (idx + 1)
-                    + "#FeedFlow", 0.0);
-            outputValues.setParameterValue("Deaerator" + (idx + 1)
-                    + "#SteamFlow", 0.0);
+            parameters.set(deaeratorPressureHandle[idx], 0.0);
+            parameters.set(deaeratorFeedFlowHandle[idx], 0.0);
+            parameters.set(deaeratorSteamFlowHandle[idx], 0.0);
         }
     }
 
@@ -5828,6 +6305,8 @@ public class ThermalLayout extends Subsystem implements Runnable {
 
     @Override
     public void handleAction(ActionCommand ac) {
+        // Any user action might change something in a frozen partition.
+        partitions.wake();
         // <editor-fold defaultstate="collapsed" desc="Receive and process control commands from controller (GUI)">
         coolantAuxPump.handleAction(ac);
         coolantMainToAux.handleAction(ac);
@@ -6222,10 +6701,74 @@ public class ThermalLayout extends Subsystem implements Runnable {
                 || !turbineStartupSteamValve[1].getController().isManualMode();
     }
 
+    /**
+     * Exchanges the boundary values of the pressure vessel fill network with
+     * the main network. The fill network gets the pressures of the makeup
+     * storage and the pressure vessels, the main network gets the fill flows
+     * of the last cycle. The pressure vessels are large, slowly changing
+     * tanks, so a delay of one cycle does not make any difference.
+     */
+    private void coupleEccsPvFill() {
+        double makeupTemperature
+                = makeupStorage.getHeatHandler().getTemperature();
+        eccsPvFillOrigin.setOriginTemperature(makeupTemperature);
+        eccsPvFillInflowOrigin.setOriginTemperature(makeupTemperature);
+        eccsPvFillSuctionPressure.setEffort(makeupStorage.getEffort());
+        double fillFlow = 0.0;
+        double flow;
+        for (int idx = 0; idx < 2; idx++) {
+            eccsPvFillVesselPressure[idx].setEffort(
+                    eccsPressureVessel[idx].getEffort());
+            flow = coupledFlow(
+                    eccsPvFillValve[idx].getValveElement().getFlow());
+            eccsPvFillInflow[idx].setFlow(flow);
+            fillFlow += flow;
+        }
+        eccsPvFillMakeupDraw.setFlow(-fillFlow);
+    }
+
+    /**
+     * @param flow Flow of an element in a split off network
+     * @return The flow, or 0 if that network was not solved yet.
+     */
+    private static double coupledFlow(double flow) {
+        return Double.isFinite(flow) ? flow : 0.0;
+    }
+
+    /**
+     * Exchanges the boundary values of the aux condenser condensate network
+     * with the main network. The condensate network gets the pressures and
+     * temperatures of the condenser out nodes and the pressures of hotwell
+     * and makeup storage, the main network gets the flows of the last cycle.
+     * All of those pressures are given by reservoirs and tanks, the coupling
+     * does not depend on any flow resistance in the main network.
+     */
+    private void coupleAuxCond() {
+        for (int idx = 0; idx < 2; idx++) {
+            auxCondCondensateOrigin[idx].setOriginTemperature(
+                    auxCondCondenserOutNode[idx].getTemperature());
+            auxCondCondensatePressure[idx].setEffort(
+                    auxCondCondenserOutNode[idx].getEffort());
+            auxCondCondensateDraw[idx].setFlow(coupledFlow(
+                    auxCondCondensateValve[idx].getValveElement().getFlow()));
+        }
+        auxCondHotwellPressure.setEffort(
+                hotwell.getPrimarySideReservoir().getEffort());
+        auxCondDrainPressure.setEffort(makeupStorage.getEffort());
+        auxCondCouplingOrigin.setOriginTemperature(
+                auxCondDistributorNode.getTemperature());
+        auxCondToHotwellInflow.setFlow(coupledFlow(
+                auxCondValveToHotwell.getValveElement().getFlow()));
+        auxCondToDrainInflow.setFlow(coupledFlow(
+                auxCondValveToDrain.getValveElement().getFlow()));
+    }
+
     @Override
     public void saveTo(SaveGame save) {
-        save.addSolverState(solver.toString(),
-                solver.getCurrentNetworkCondition());
+        for (DomainAnalogySolver s : partitions.getPartitions()) {
+            save.addSolverState(s.toString(),
+                    s.getCurrentNetworkCondition());
+        }
         save.addRunnerState("thermalLayout",
                 runner.getCurrentAutomationCondition());
         save.setCondenserVacuum(condenserVacuum.getOutput());
@@ -6238,8 +6781,15 @@ public class ThermalLayout extends Subsystem implements Runnable {
 
     @Override
     public void load(SaveGame save) {
-        solver.setNetworkInitialCondition(
-                save.getSolverState(solver.toString()));
+        for (DomainAnalogySolver s : partitions.getPartitions()) {
+            // States saved before a network was split off do not have that
+            // partition, it just starts with its initial conditions then.
+            if (save.getSolverState(s.toString()) != null) {
+                s.setNetworkInitialCondition(
+                        save.getSolverState(s.toString()));
+            }
+        }
+        partitions.wake();
         runner.setRunnablesAutomationCondition(
                 save.getRunnerState("thermalLayout"));
         condenserVacuum.forceOutputValue(save.getCondenserVacuum());
@@ -6263,6 +6813,17 @@ public class ThermalLayout extends Subsystem implements Runnable {
         this.core = core;
     }
 
+    /**
+     * Sets the thread pool to solve the partitions at the same time, see
+     * PartitionedSolver.
+     *
+     * @param pool Thread pool
+     * @param threads Number of threads of the pool
+     */
+    public void setThreadPool(ExecutorService pool, int threads) {
+        partitions.setThreadPool(pool, threads);
+    }
+
     public void registerTurbine(Turbine turbine) {
         this.turbine = turbine;
     }
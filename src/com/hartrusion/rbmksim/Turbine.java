@@ -140,6 +140,12 @@ public class Turbine extends Subsystem implements Runnable {
      */
     private double shaftPower;
 
+    /**
+     * Set by solveLubeOil, reset by run. Written from a different thread, the
+     * main loop waits for that thread to finish before calling run.
+     */
+    private boolean lubeOilSolved;
+
     private final DomainAnalogySolver rotorSolver = new DomainAnalogySolver();
 
     private final AlarmUpdater alarmUpdater = new AlarmUpdater();
@@ -181,7 +187,45 @@ public class Turbine extends Subsystem implements Runnable {
 
     private final DomainAnalogySolver oilSolver = new DomainAnalogySolver();
 
+    /**
+     * The oil network is in a steady state most of the time, either with the
+     * turbine running at full speed or with everything switched off. It is
+     * not solved as long as the pumps do not change and the pressure does not
+     * move by more than 1 Pa per cycle for 5 seconds.
+     */
+    private final QuiescenceDetector oilQuiescence
+            = new QuiescenceDetector(1.0, 50);
+
+    /**
+     * Flow of the oil pump on the turbine shaft, used as input for the
+     * quiescence detection.
+     */
+    private double shaftOilPumpFlow;
+
     private final AutomationRunner runner = new AutomationRunner();
+
+    /**
+     * Handles of the output values in the parameter registry. The average
+     * temperatures share their handles as they were always written twice.
+     */
+    private int turbineLubeOilPressureHandle;
+    private int turbineSpeedSetpointTargetHandle;
+    private int turbineSpeedHandle;
+    private int generatorSyncAngleHandle;
+    private int generatorPowerHandle;
+    private int turbineTemperatureHpStatorInHandle;
+    private int turbineTemperatureHpRotorInHandle;
+    private int turbineTemperatureHpStatorOutHandle;
+    private int turbineTemperatureHpRotorOutHandle;
+    private int turbineTemperatureLpStatorInHandle;
+    private int turbineTemperatureLpRotorInHandle;
+    private int turbineTemperatureLpStatorOutHandle;
+    private int turbineTemperatureLpRotorOutHandle;
+    private int turbineTemperatureHpRotorAvgHandle;
+    private int turbineTemperatureHpStatorAvgHandle;
+    private int turbineHPDiffExpansionHandle;
+    private int turbineLPDiffExpansionHandle;
+    private int turbineAbsExpansionHandle;
     
     /**
      * Flow in kg/s for each active auxiliary lube oil pump
@@ -276,41 +320,7 @@ public class Turbine extends Subsystem implements Runnable {
         // This method is called after run() of ThermalLayout where the
         // solver is getting invoked, so all elements should be completely 
         // updated. 
-        // Generate average temperatures:
-        hpRotorTemperature = (thermalNodeRotor[0].getEffort()
-                + thermalNodeRotor[1].getEffort()) / 2.0;
-        hpStatorTemperature = (thermalNodeStator[0].getEffort()
-                + thermalNodeStator[1].getEffort()) / 2.0;
-        lpRotorTemperature = (thermalNodeRotor[2].getEffort()
-                + thermalNodeRotor[3].getEffort()) / 2.0;
-        lpStatorTemperature = (thermalNodeStator[2].getEffort()
-                + thermalNodeStator[3].getEffort()) / 2.0;
-
-        // Rotor and stator lengths are calculated by using the average
-        // temperatures of both and the lengths as follows:
-        // HP: 6 Meters
-        // LP: 17 Meters
-        // This is taken from the actual turbine but adapted to the simplified
-        // turbine that is modeled here. Those lengts are for 20 °C so the 
-        // current length is calculated with the 1.2e-5 1/K coefficient. 
-        double hpRotorLength
-                = HP_LENGTH * (1 + (hpRotorTemperature - 293.15) * EXP_C);
-        double hpStatorLength
-                = HP_LENGTH * (1 + (hpStatorTemperature - 293.15) * EXP_C);
-        double lpRotorLength
-                = LP_LENGTH * (1 + (lpRotorTemperature - 293.15) * EXP_C);
-        double lpStatorLength
-                = LP_LENGTH * (1 + (lpStatorTemperature - 293.15) * EXP_C);
-
-        // Calculate expansions: Stator lengths are manipulated as the stator
-        // is slightly colder due to contact to environment for cooldown 
-        // modeling. There's sure some formula (simply solve the network 
-        // circuit) but for now those numbers were taken from steady state using
-        // debugging. 
-        hpDiffExpansion = hpRotorLength - hpStatorLength * 1.03980254387591;
-        lpDiffExpansion = lpRotorLength - lpStatorLength * 1.03397295439119;
-        statorAbsExpansion = hpStatorLength + lpStatorLength
-                - LP_LENGTH - HP_LENGTH;
+        calculateExpansions();
 
         // Check if speed setpoint gradient was changed, if so, apply it
         // and send it back as a property to controller (to have a light
@@ -344,7 +354,14 @@ public class Turbine extends Subsystem implements Runnable {
         }
         oldTurningGearState = turningGearState;
 
-        runLubeOil();
+        // The lube oil might already be solved from the main loop while the
+        // thermal layout was calculated.
+        if (!lubeOilSolved) {
+            solveLubeOil();
+        }
+        lubeOilSolved = false;
+        parameters.set(turbineLubeOilPressureHandle,
+                oilPressure.getEffort() * 1e-5);
 
         // Calculate current turbine speed as long as the generator breaker
         // is open. We do not model the force of the generator towards the
@@ -400,8 +417,8 @@ public class Turbine extends Subsystem implements Runnable {
         if (!generatorSynched) {
             double tVel = turbineVelocity.getEffort();
             if (tVel >= 2900) {
-                // sum up using discrete steps of 0.1 s
-                syncAngle += tVel * 0.10471975512 * 0.1;
+                // sum up using the discrete model step time
+                syncAngle += tVel * 0.10471975512 * clock.getStepTime();
                 // limit between 0 and +2pi
                 syncAngle = syncAngle % (2 * Math.PI);
             } else {
@@ -454,56 +471,99 @@ public class Turbine extends Subsystem implements Runnable {
         }
 
         // Send target value back, used for the control panel lights
-        outputValues.setParameterValue("Turbine#SpeedSetpointTarget",
+        parameters.set(turbineSpeedSetpointTargetHandle,
                 targetTurbineSpeed);
 
         if (generatorSynched) {
-            outputValues.setParameterValue("Turbine#Speed", 3000.0);
+            parameters.set(turbineSpeedHandle, 3000.0);
         } else {
-            outputValues.setParameterValue("Turbine#Speed",
+            parameters.set(turbineSpeedHandle,
                     turbineVelocity.getEffort());
         }
 
-        outputValues.setParameterValue("Generator#SyncAngle", syncAngle);
-        outputValues.setParameterValue("Generator#Power", generatorPower);
+        parameters.set(generatorSyncAngleHandle, syncAngle);
+        parameters.set(generatorPowerHandle, generatorPower);
 
         // Sent temperatures
-        outputValues.setParameterValue("Turbine#TemperatureHpStatorIn",
+        parameters.set(turbineTemperatureHpStatorInHandle,
                 thermalNodeStator[0].getEffort() - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureHpRotorIn",
+        parameters.set(turbineTemperatureHpRotorInHandle,
                 thermalNodeRotor[0].getEffort() - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureHpStatorOut",
+        parameters.set(turbineTemperatureHpStatorOutHandle,
                 thermalNodeStator[1].getEffort() - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureHpRotorOut",
+        parameters.set(turbineTemperatureHpRotorOutHandle,
                 thermalNodeRotor[1].getEffort() - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureLpStatorIn",
+        parameters.set(turbineTemperatureLpStatorInHandle,
                 thermalNodeStator[2].getEffort() - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureLpRotorIn",
+        parameters.set(turbineTemperatureLpRotorInHandle,
                 thermalNodeRotor[2].getEffort() - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureLpStatorOut",
+        parameters.set(turbineTemperatureLpStatorOutHandle,
                 thermalNodeStator[3].getEffort() - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureLpRotorOut",
+        parameters.set(turbineTemperatureLpRotorOutHandle,
                 thermalNodeRotor[3].getEffort() - 273.15);
 
-        outputValues.setParameterValue("Turbine#TemperatureHpRotorAvg",
+        parameters.set(turbineTemperatureHpRotorAvgHandle,
                 hpRotorTemperature - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureHpStatorAvg",
+        parameters.set(turbineTemperatureHpStatorAvgHandle,
                 hpStatorTemperature - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureHpRotorAvg",
+        parameters.set(turbineTemperatureHpRotorAvgHandle,
                 lpRotorTemperature - 273.15);
-        outputValues.setParameterValue("Turbine#TemperatureHpStatorAvg",
+        parameters.set(turbineTemperatureHpStatorAvgHandle,
                 lpStatorTemperature - 273.15);
 
-        outputValues.setParameterValue("Turbine#HPDiffExpansion",
+        parameters.set(turbineHPDiffExpansionHandle,
                 hpDiffExpansion);
-        outputValues.setParameterValue("Turbine#LPDiffExpansion",
+        parameters.set(turbineLPDiffExpansionHandle,
                 lpDiffExpansion);
-        outputValues.setParameterValue("Turbine#AbsExpansion",
+        parameters.set(turbineAbsExpansionHandle,
                 statorAbsExpansion);
     }
 
+    /**
+     * Generates the average temperatures of rotor and stator from the thermal
+     * network and calculates the expansions from them.
+     */
+    private void calculateExpansions() {
+        // Generate average temperatures:
+        hpRotorTemperature = (thermalNodeRotor[0].getEffort()
+                + thermalNodeRotor[1].getEffort()) / 2.0;
+        hpStatorTemperature = (thermalNodeStator[0].getEffort()
+                + thermalNodeStator[1].getEffort()) / 2.0;
+        lpRotorTemperature = (thermalNodeRotor[2].getEffort()
+                + thermalNodeRotor[3].getEffort()) / 2.0;
+        lpStatorTemperature = (thermalNodeStator[2].getEffort()
+                + thermalNodeStator[3].getEffort()) / 2.0;
+
+        // Rotor and stator lengths are calculated by using the average
+        // temperatures of both and the lengths as follows:
+        // HP: 6 Meters
+        // LP: 17 Meters
+        // This is taken from the actual turbine but adapted to the simplified
+        // turbine that is modeled here. Those lengts are for 20 °C so the 
+        // current length is calculated with the 1.2e-5 1/K coefficient. 
+        double hpRotorLength
+                = HP_LENGTH * (1 + (hpRotorTemperature - 293.15) * EXP_C);
+        double hpStatorLength
+                = HP_LENGTH * (1 + (hpStatorTemperature - 293.15) * EXP_C);
+        double lpRotorLength
+                = LP_LENGTH * (1 + (lpRotorTemperature - 293.15) * EXP_C);
+        double lpStatorLength
+                = LP_LENGTH * (1 + (lpStatorTemperature - 293.15) * EXP_C);
+
+        // Calculate expansions: Stator lengths are manipulated as the stator
+        // is slightly colder due to contact to environment for cooldown 
+        // modeling. There's sure some formula (simply solve the network 
+        // circuit) but for now those numbers were taken from steady state using
+        // debugging. 
+        hpDiffExpansion = hpRotorLength - hpStatorLength * 1.03980254387591;
+        lpDiffExpansion = lpRotorLength - lpStatorLength * 1.03397295439119;
+        statorAbsExpansion = hpStatorLength + lpStatorLength
+                - LP_LENGTH - HP_LENGTH;
+    }
+
     @Override
     public void handleAction(ActionCommand ac) {
+        oilQuiescence.wake();
         switch (ac.getPropertyName()) {
             case "Turbine#SpeedSetpointTargetValue" -> {
                 targetTurbineSpeed = (double) ac.getValue();
@@ -671,6 +731,13 @@ public class Turbine extends Subsystem implements Runnable {
         oilPressureDelay.connectBetween(oilGnd, oilPressure);
 
         oilSolver.addNetwork(oilGnd);
+        for (DummyValve pump : lubeOilPump) {
+            oilQuiescence.addInput(pump::getOpening);
+        }
+        // The shaft speed is never exactly constant, a change of 0.01 kg/s
+        // oil flow is less than one rpm.
+        oilQuiescence.addInput(() -> shaftOilPumpFlow, 0.01);
+        oilQuiescence.addState(oilPressure::getEffort);
 
         // Assumptions:
         // Full speed turbine: 2.7 bar (2.7e5 Pa) with 40 kg/s flow
@@ -751,7 +818,15 @@ public class Turbine extends Subsystem implements Runnable {
         alarmUpdater.submit(am);
     }
 
-    public void runLubeOil() {
+    /**
+     * Solves the lube oil network for one cycle and applies the result to the
+     * turbine friction. The oil network only depends on the turbine speed and
+     * the oil pumps from the previous cycle, this is independent of the
+     * thermal layout and can be called on a different thread while the
+     * thermal layout is calculated. If it was not called before, this is done
+     * during run().
+     */
+    public void solveLubeOil() {
         // Set pump flow values from turbine speed (turbine has its own pump
         // driven by main shaft) and the auxiliary pumps, those pumps states 
         // are represented by dummy valve objects which generate a 0..100 %
@@ -763,15 +838,19 @@ public class Turbine extends Subsystem implements Runnable {
         // The velocity is not available on first run and will be skipped. 
         // loading a save will hard-write the value.
         if (turbineVelocity.effortUpdated()) {
-            oilPumpTurbine.setFlow(
-                    40.0 * turbineVelocity.getEffort() / 3000.0);
+            shaftOilPumpFlow = 40.0 * turbineVelocity.getEffort() / 3000.0;
         } else {
-            oilPumpTurbine.setFlow(0.0);
+            shaftOilPumpFlow = 0.0;
+        }
+        oilPumpTurbine.setFlow(shaftOilPumpFlow);
+
+        // run one cycle, unless nothing has changed for a while. The results
+        // from the last solve are still in the network then.
+        if (!oilQuiescence.isQuiescent()) {
+            oilSolver.prepareCalculation();
+            oilSolver.doCalculation();
+            oilQuiescence.update();
         }
-
-        // run one cycle
-        oilSolver.prepareCalculation();
-        oilSolver.doCalculation();
 
         // Manipulate the turbines turn resistance in case of low oil pressure
         // to show fatal bearin failure.
@@ -780,9 +859,7 @@ public class Turbine extends Subsystem implements Runnable {
             turnResistance = turnResistance / 8.0; // its not R, its friction
         }
         turbineFriction.setResistanceParameter(turnResistance);
-
-        outputValues.setParameterValue("Turbine#LubeOilPressure",
-                oilPressure.getEffort() * 1e-5);
+        lubeOilSolved = true;
     }
 
     /**
@@ -967,6 +1044,43 @@ public class Turbine extends Subsystem implements Runnable {
         setpointTurbineSpeed.registerParameterHandler(output);
     }
 
+    @Override
+    public void registerParameterRegistry(ParameterRegistry parameters) {
+        super.registerParameterRegistry(parameters);
+        turbineLubeOilPressureHandle = parameters.register(
+                "Turbine#LubeOilPressure");
+        turbineSpeedSetpointTargetHandle = parameters.register(
+                "Turbine#SpeedSetpointTarget");
+        turbineSpeedHandle = parameters.register("Turbine#Speed");
+        generatorSyncAngleHandle = parameters.register("Generator#SyncAngle");
+        generatorPowerHandle = parameters.register("Generator#Power");
+        turbineTemperatureHpStatorInHandle = parameters.register(
+                "Turbine#TemperatureHpStatorIn");
+        turbineTemperatureHpRotorInHandle = parameters.register(
+                "Turbine#TemperatureHpRotorIn");
+        turbineTemperatureHpStatorOutHandle = parameters.register(
+                "Turbine#TemperatureHpStatorOut");
+        turbineTemperatureHpRotorOutHandle = parameters.register(
+                "Turbine#TemperatureHpRotorOut");
+        turbineTemperatureLpStatorInHandle = parameters.register(
+                "Turbine#TemperatureLpStatorIn");
+        turbineTemperatureLpRotorInHandle = parameters.register(
+                "Turbine#TemperatureLpRotorIn");
+        turbineTemperatureLpStatorOutHandle = parameters.register(
+                "Turbine#TemperatureLpStatorOut");
+        turbineTemperatureLpRotorOutHandle = parameters.register(
+                "Turbine#TemperatureLpRotorOut");
+        turbineTemperatureHpRotorAvgHandle = parameters.register(
+                "Turbine#TemperatureHpRotorAvg");
+        turbineTemperatureHpStatorAvgHandle = parameters.register(
+                "Turbine#TemperatureHpStatorAvg");
+        turbineHPDiffExpansionHandle = parameters.register(
+                "Turbine#HPDiffExpansion");
+        turbineLPDiffExpansionHandle = parameters.register(
+                "Turbine#LPDiffExpansion");
+        turbineAbsExpansionHandle = parameters.register("Turbine#AbsExpansion");
+    }
+
     /**
      * Returns a reference to one of the thermal effort sources representing the
      * temperature of the steam volume inside the turbine. There are 4 volumes
@@ -1068,6 +1182,7 @@ public class Turbine extends Subsystem implements Runnable {
                 save.getSolverState(rotorSolver.toString()));
         oilSolver.setNetworkInitialCondition(
                 save.getSolverState(oilSolver.toString()));
+        oilQuiescence.wake();
         runner.setRunnablesAutomationCondition(
                 save.getRunnerState("turbineSetpoints"));
 
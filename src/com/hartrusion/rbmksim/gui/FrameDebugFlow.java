@@ -65,12 +65,12 @@ public class FrameDebugFlow extends javax.swing.JFrame implements UpdateReceiver
 
     @Override
     public void updateComponent(String propertyName, Object newValue) {
-
+        panelCoreDebugValues1.updateComponent(propertyName, newValue);
     }
 
     @Override
     public void updateComponent(String propertyName, double newValue) {
-        panelCoreDebugValues1.updateComponent(propertyName, newValue);
+
     }
 
     @Override
@@ -63,12 +63,12 @@ public class FrameDebugFuelTemperature extends javax.swing.JFrame implements Upd
 
     @Override
     public void updateComponent(String propertyName, Object newValue) {
-
+        panelCoreDebugValues1.updateComponent(propertyName, newValue);
     }
 
     @Override
     public void updateComponent(String propertyName, double newValue) {
-        panelCoreDebugValues1.updateComponent(propertyName, newValue);
+
     }
 
     @Override
@@ -124,7 +124,7 @@ public class InternalFrameCoreActivity extends javax.swing.JInternalFrame
      * Sets which parameter the core display evaluates. If a preset of the drop
      * down matches, the drop down follows the selection.
      *
-     * @param suffix for example with Fuel2134#Temperature it would be
+     * @param suffix for example with Core#FuelTemperature it would be
      * "Temperature"
      * @param threshold the value on which a channel will light up
      */
@@ -50,7 +50,7 @@ public class PanelCoreActivity extends JPanel implements UpdateReceiver {
     private static final Color AUTOROD_OFF = new Color(0, 0, 128);
     private static final Color AUTOROD_ON = new Color(0, 0, 255);
     
-    private String prefix = "Fuel";
+    private static final String ARRAY_PREFIX = "Core#Fuel";
     
     /**
      * The parameter suffix this panel listens for, e.g. {@code "Temperature"}.
@@ -58,10 +58,10 @@ public class PanelCoreActivity extends JPanel implements UpdateReceiver {
     private String suffix = "Affection";
     
     /**
-     * The full suffix token a property name must end with, e.g.
-     * {@code "#Temperature"}. Kept in sync with {@link #suffix}.
+     * The array parameter this panel evaluates, e.g.
+     * {@code "Core#FuelTemperature"}. Kept in sync with {@link #suffix}.
      */
-    private String suffixToken = "#" + suffix;
+    private String arrayName = ARRAY_PREFIX + suffix;
     
     /**
      * Value that has to be reached to make the display glow up
@@ -187,48 +187,31 @@ public class PanelCoreActivity extends JPanel implements UpdateReceiver {
     }
     
     /**
-     * Parses a fuel parameter name of the form {@code "Fuel<coord>#<suffix>"}
-     * and writes the formatted value to the matching label. Property names that
-     * do not start with {@code "Fuel"} or that do not carry the configured
-     * suffix are ignored.
+     * Lights up each fuel channel of the given array parameter which is above
+     * the threshold. The array holds one value for each grid position, see
+     * {@link ChannelData#getGridIndex(int, int)}, control rods and empty
+     * positions are ignored.
      *
-     * @param propertyName the full parameter name, e.g. {@code "Fuel3237#Temperature"}
-     * @param newValue the value to display
+     * @param values one value for each grid position
      */
-    private void handleFuelValue(String propertyName, double newValue) {
-        if (propertyName == null || !propertyName.startsWith(prefix)) {
-            return;
-        }
-        if (!propertyName.endsWith(suffixToken)) {
-            return;
-        }
-
-        // The coordinate number is everything between "Fuel" and "#suffix".
-        String coord = propertyName.substring(
-                prefix.length(),
-                propertyName.length() - suffixToken.length());
-
-        int encoded;
-        try {
-            encoded = Integer.parseInt(coord);
-        } catch (NumberFormatException ex) {
-            return;
-        }
-
-        // Coordinate is encoded as (100 * idx + jdx), see FuelElement.
-        int idx = encoded / 100;
-        int jdx = encoded % 100;
-
-        JLabel label = getLabel(idx, jdx);
-        if (label != null) {
-            boolean toHighlight = newValue > threshold;
-
-            if (toHighlight != highlight[idx - ChannelData.MIN_NUMBER][jdx - ChannelData.MIN_NUMBER]) {
-                if (label != null) {
+    private void handleCoreArray(double[] values) {
+        JLabel label;
+        boolean toHighlight;
+        for (int idx = ChannelData.MIN_NUMBER;
+                idx <= ChannelData.MAX_NUMBER; idx++) {
+            for (int jdx = ChannelData.MIN_NUMBER;
+                    jdx <= ChannelData.MAX_NUMBER; jdx++) {
+                if (ChannelData.getChannelType(idx, jdx) != ChannelType.FUEL) {
+                    continue;
+                }
+                label = getLabel(idx, jdx);
+                toHighlight = values[ChannelData.getGridIndex(idx, jdx)]
+                        > threshold;
+                if (toHighlight != highlight[idx - ChannelData.MIN_NUMBER][jdx - ChannelData.MIN_NUMBER]) {
                     label.setBackground(
                             getColorForType(ChannelType.FUEL, toHighlight));
+                    highlight[idx - ChannelData.MIN_NUMBER][jdx - ChannelData.MIN_NUMBER] = toHighlight;
                 }
-                highlight[idx - ChannelData.MIN_NUMBER][jdx - ChannelData.MIN_NUMBER] = toHighlight;
             }
         }
     }
@@ -236,12 +219,12 @@ public class PanelCoreActivity extends JPanel implements UpdateReceiver {
     /**
      * Sets which parameters are to be analyzed and displayed on the panel.
      * 
-     * @param suffix - For example With Fuel2134#Temperature it would be "Temperature"
+     * @param suffix - For example With Core#FuelTemperature it would be "Temperature"
      * @param threshold - The value on which the label will light up
      */
     public void initMode(String suffix, double threshold) {
         this.suffix = suffix;
-        suffixToken = "#" + suffix;
+        arrayName = ARRAY_PREFIX + suffix;
         this.threshold = threshold;
     }
 
@@ -252,12 +235,14 @@ public class PanelCoreActivity extends JPanel implements UpdateReceiver {
 
     @Override
     public void updateComponent(String propertyName, Object newValue) {
-        
+        if (arrayName.equals(propertyName) && newValue instanceof double[]) {
+            handleCoreArray((double[]) newValue);
+        }
     }
 
     @Override
     public void updateComponent(String propertyName, double newValue) {
-        handleFuelValue(propertyName, newValue);
+        
     }
 
     @Override
@@ -31,16 +31,16 @@ import javax.swing.JPanel;
 
 /**
  * Debug-only display in the same style as {@link PanelCoreActivity}, but instead
- * of visualizing data with boolean values (lights) it parses
- * incoming parameters such as {@code "Fuel3237#Temperature"} and writes the
- * formatted double value onto the label that corresponds to the reactor
- * coordinate (in this example the tile formerly labeled {@code "32-37"}).
+ * of visualizing data with boolean values (lights) it receives array
+ * parameters such as {@code "Core#FuelTemperature"} and writes the formatted
+ * double value of each channel onto the label that corresponds to the reactor
+ * coordinate. The arrays hold one value for each grid position, see
+ * {@link ChannelData#getGridIndex(int, int)}.
  * <p>
  * The panel is configured with a single parameter suffix (e.g.
  * {@code "Temperature"} or {@code "Affection"}) and a {@link String#format}
- * pattern that determines how the double value is rendered. Only parameters
- * whose name starts with {@code "Fuel"} and whose suffix matches the configured
- * suffix are displayed; everything else is ignored.
+ * pattern that determines how the double value is rendered. Only the array
+ * {@code "Core#Fuel" + suffix} is displayed; everything else is ignored.
  * <p>
  * Coordinate system: idx (Y) runs from bottom (20) to top (42), jdx (X) runs
  * from left (20) to right (42). On screen, idx=42 is at the top (gridy=0) and
@@ -54,9 +54,9 @@ public class PanelCoreDebugValues extends JPanel implements UpdateReceiver {
     private static final Color FUEL_BG = new Color(255, 255, 255);
 
     /**
-     * Prefix every fuel parameter name starts with.
+     * Prefix of the array parameter names, the suffix is appended.
      */
-    private static final String FUEL_PREFIX = "Fuel";
+    private static final String ARRAY_PREFIX = "Core#Fuel";
 
     /**
      * Stores references to the JLabel for each grid position. Index [row][col]
@@ -72,10 +72,16 @@ public class PanelCoreDebugValues extends JPanel implements UpdateReceiver {
     private String suffix = "Temperature";
 
     /**
-     * The full suffix token a property name must end with, e.g.
-     * {@code "#Temperature"}. Kept in sync with {@link #suffix}.
+     * The array parameter this panel displays, e.g.
+     * {@code "Core#FuelTemperature"}. Kept in sync with {@link #suffix}.
      */
-    private String suffixToken = "#" + suffix;
+    private String arrayName = ARRAY_PREFIX + suffix;
+
+    /**
+     * Values that are displayed on the labels, to skip formatting the text
+     * of channels that did not change.
+     */
+    private final double[] displayed = new double[ChannelData.GRID_SIZE];
 
     /**
      * The {@link String#format} pattern used to render the double value.
@@ -103,7 +109,7 @@ public class PanelCoreDebugValues extends JPanel implements UpdateReceiver {
      */
     public PanelCoreDebugValues(String suffix, String valueFormat) {
         this.suffix = suffix;
-        this.suffixToken = "#" + suffix;
+        this.arrayName = ARRAY_PREFIX + suffix;
         this.valueFormat = valueFormat;
         initComponents();
     }
@@ -186,41 +192,33 @@ public class PanelCoreDebugValues extends JPanel implements UpdateReceiver {
     }
 
     /**
-     * Parses a fuel parameter name of the form {@code "Fuel<coord>#<suffix>"}
-     * and writes the formatted value to the matching label. Property names that
-     * do not start with {@code "Fuel"} or that do not carry the configured
-     * suffix are ignored.
+     * Writes the formatted values of the configured array parameter to the
+     * labels. Channels without a value (NaN) are left empty.
      *
-     * @param propertyName the full parameter name, e.g. {@code "Fuel3237#Temperature"}
-     * @param newValue the value to display
+     * @param values one value for each grid position
      */
-    private void handleFuelValue(String propertyName, double newValue) {
-        if (propertyName == null || !propertyName.startsWith(FUEL_PREFIX)) {
-            return;
-        }
-        if (!propertyName.endsWith(suffixToken)) {
-            return;
-        }
-
-        // The coordinate number is everything between "Fuel" and "#suffix".
-        String coord = propertyName.substring(
-                FUEL_PREFIX.length(),
-                propertyName.length() - suffixToken.length());
-
-        int encoded;
-        try {
-            encoded = Integer.parseInt(coord);
-        } catch (NumberFormatException ex) {
-            return;
-        }
-
-        // Coordinate is encoded as (100 * idx + jdx), see FuelElement.
-        int idx = encoded / 100;
-        int jdx = encoded % 100;
-
-        JLabel label = getLabel(idx, jdx);
-        if (label != null) {
-            label.setText(String.format(valueFormat, newValue));
+    private void handleCoreArray(double[] values) {
+        JLabel label;
+        double value;
+        int gridIndex;
+        for (int idx = ChannelData.MIN_NUMBER;
+                idx <= ChannelData.MAX_NUMBER; idx++) {
+            for (int jdx = ChannelData.MIN_NUMBER;
+                    jdx <= ChannelData.MAX_NUMBER; jdx++) {
+                label = getLabel(idx, jdx);
+                if (label == null) {
+                    continue;
+                }
+                gridIndex = ChannelData.getGridIndex(idx, jdx);
+                value = values[gridIndex];
+                if (Double.compare(value, displayed[gridIndex]) == 0
+                        && !label.getText().isEmpty()) {
+                    continue;
+                }
+                displayed[gridIndex] = value;
+                label.setText(Double.isNaN(value)
+                        ? "" : String.format(valueFormat, value));
+            }
         }
     }
 
@@ -234,8 +232,8 @@ public class PanelCoreDebugValues extends JPanel implements UpdateReceiver {
     }
 
     /**
-     * Sets the parameter suffix this panel listens for. Only parameters ending
-     * in {@code "#" + suffix} are displayed.
+     * Sets the parameter suffix this panel listens for. Only the array
+     * parameter {@code "Core#Fuel" + suffix} is displayed.
      *
      * @param suffix the parameter suffix, e.g. {@code "Temperature"} or
      * {@code "Affection"} (without the leading {@code '#'})
@@ -245,7 +243,7 @@ public class PanelCoreDebugValues extends JPanel implements UpdateReceiver {
     public void setSuffix(String suffix) {
         String old = this.suffix;
         this.suffix = suffix;
-        this.suffixToken = "#" + suffix;
+        this.arrayName = ARRAY_PREFIX + suffix;
         firePropertyChange("suffix", old, suffix);
     }
 
@@ -273,22 +271,21 @@ public class PanelCoreDebugValues extends JPanel implements UpdateReceiver {
 
     @Override
     public void updateComponent(PropertyChangeEvent evt) {
-        if (evt != null && evt.getNewValue() instanceof Number) {
-            handleFuelValue(evt.getPropertyName(),
-                    ((Number) evt.getNewValue()).doubleValue());
+        if (evt != null) {
+            updateComponent(evt.getPropertyName(), evt.getNewValue());
         }
     }
 
     @Override
     public void updateComponent(String propertyName, Object newValue) {
-        if (newValue instanceof Number) {
-            handleFuelValue(propertyName, ((Number) newValue).doubleValue());
+        if (arrayName.equals(propertyName) && newValue instanceof double[]) {
+            handleCoreArray((double[]) newValue);
         }
     }
 
     @Override
     public void updateComponent(String propertyName, double newValue) {
-        handleFuelValue(propertyName, newValue);
+        // Single values are not displayed by this debug value panel.
     }
 
     @Override
@@ -23,7 +23,6 @@ import com.hartrusion.plot.Line;
 import com.hartrusion.plot.MYAxes;
 import com.hartrusion.plot.SubPlot;
 import com.hartrusion.plot.YYAxes;
-import com.hartrusion.values.ValueHandler;
 import java.awt.Color;
 
 /**
@@ -38,7 +37,7 @@ import java.awt.Color;
  */
 public class DiagramPresets {
 
-    public static void drums(FigureJPane figure, ValueHandler plotData) {
+    public static void drums(FigureJPane figure, TrendLines trends) {
         figure.setYRulers(0);
         figure.setSubplotLayout(new int[]{2, 2});
         figure.setSubplotPosition(new float[]{0.19f, 0.12f, 0.75f, 0.8f});
@@ -53,12 +52,10 @@ public class DiagramPresets {
 
         subPlot.getAxes(1).setHold(true);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop1#DrumTemperature", 5));
+        trends.bind(l, "Loop1#DrumTemperature", 5);
         subPlot.getAxes(1).addLine(l);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop2#DrumTemperature", 5));
+        trends.bind(l, "Loop2#DrumTemperature", 5);
         subPlot.getAxes(1).addLine(l);
         subPlot.getAxes(1).ylabel("Temperature (°C)");
         subPlot.getAxes(1).yLim(50, 300);
@@ -66,12 +63,10 @@ public class DiagramPresets {
 
         subPlot.getAxes(2).setHold(true);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop1#DrumPressure", 5));
+        trends.bind(l, "Loop1#DrumPressure", 5);
         subPlot.getAxes(2).addLine(l);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop2#DrumPressure", 5));
+        trends.bind(l, "Loop2#DrumPressure", 5);
         subPlot.getAxes(2).addLine(l);
         subPlot.getAxes(2).ylabel("Pressure (bar)");
         subPlot.getAxes(2).yLim(0, 80);
@@ -79,12 +74,10 @@ public class DiagramPresets {
 
         subPlot.getAxes(3).setHold(true);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop1#DrumLevel", 5));
+        trends.bind(l, "Loop1#DrumLevel", 5);
         subPlot.getAxes(3).addLine(l);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop2#DrumLevel", 5));
+        trends.bind(l, "Loop2#DrumLevel", 5);
         subPlot.getAxes(3).addLine(l);
         subPlot.getAxes(3).ylabel("Level (cm)");
         subPlot.getAxes(3).yLim(-20, 20);
@@ -92,19 +85,17 @@ public class DiagramPresets {
 
         subPlot.getAxes(4).setHold(true);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Feedwater1#Flow", 5));
+        trends.bind(l, "Feedwater1#Flow", 5);
         subPlot.getAxes(4).addLine(l);
         l = new Line();
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Feedwater2#Flow", 5));
+        trends.bind(l, "Feedwater2#Flow", 5);
         subPlot.getAxes(4).addLine(l);
         subPlot.getAxes(4).ylabel("Feed flow (kg/s)");
         subPlot.getAxes(4).yLim(0, 1600);
         subPlot.getAxes(4).autoX();
     }
 
-    public static void globalControl(FigureJPane figure, ValueHandler plotData) {
+    public static void globalControl(FigureJPane figure, TrendLines trends) {
         figure.setYRulers(2);
 
         YYAxes ax = (YYAxes) figure.getLastAxes();
@@ -114,32 +105,28 @@ public class DiagramPresets {
 
         l = new Line();
         l.setLabel("Target Flux");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Reactor#TargetNeutronFlux", 1));
+        trends.bind(l, "Reactor#TargetNeutronFlux", 1);
         l.setLineColor(Color.GRAY);
         ax.addLine(1, l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Active Setpoint");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Reactor#SetpointNeutronFlux", 1));
+        trends.bind(l, "Reactor#SetpointNeutronFlux", 1);
         l.setLineColor(Color.BLACK);
         ax.addLine(1, l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Neutron Flux");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Reactor#NeutronFlux", 1));
+        trends.bind(l, "Reactor#NeutronFlux", 1);
         l.setLineColor(Color.BLUE);
         ax.addLine(1, l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Avg. Auto Rod Pos. (Y2)");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("GlobalControl#AvgActiveAutoRodsPos", 1));
+        trends.bind(l, "GlobalControl#AvgActiveAutoRodsPos", 1);
         ax.addLine(2, l);
         le.addLine(l);
 
@@ -155,27 +142,23 @@ public class DiagramPresets {
         le.setLocationInsideAxes(ax);
     }
 
-    public static void neutronFlux(FigureJPane figure, ValueHandler plotData) {
+    public static void neutronFlux(FigureJPane figure, TrendLines trends) {
         figure.setYRulers(4);
 
         MYAxes ax = (MYAxes) figure.getLastAxes();
         ax.setHold(true);
         Line l;
         l = new Line();
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Reactor#NeutronFlux", 1));
+        trends.bind(l, "Reactor#NeutronFlux", 1);
         ax.addLine(1, l);
         l = new Line();
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Reactor#NeutronFluxLog", 1));
+        trends.bind(l, "Reactor#NeutronFluxLog", 1);
         ax.addLine(2, l);
         l = new Line();
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Reactor#NeutronRate", 1));
+        trends.bind(l, "Reactor#NeutronRate", 1);
         ax.addLine(3, l);
         l = new Line();
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Reactor#Reactivity", 1));
+        trends.bind(l, "Reactor#Reactivity", 1);
         ax.addLine(4, l);
         l = new Line();
 
@@ -192,7 +175,7 @@ public class DiagramPresets {
         ax.ylabel(4, "Reactivity");
     }
 
-    public static void loopLevelControl(FigureJPane figure, ValueHandler plotData, int loop) {
+    public static void loopLevelControl(FigureJPane figure, TrendLines trends, int loop) {
         figure.setYRulers(2);
 
         YYAxes ax = (YYAxes) figure.getLastAxes();
@@ -202,35 +185,30 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Drum Level");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop" + loop + "#DrumLevel", 5));
+        trends.bind(l, "Loop" + loop + "#DrumLevel", 5);
         ax.addLine(1, l);
         l = new Line();
         le.addLine(l);
         l.setLabel("Setpoint");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Loop" + loop + "#DrumLevelSetpoint", 5));
+        trends.bind(l, "Loop" + loop + "#DrumLevelSetpoint", 5);
         l.setLineColor(Color.BLACK);
         ax.addLine(1, l);
         l = new Line();
         le.addLine(l);
         l.setLabel("Startup Valve");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Feedwater" + loop + "#FlowRegulationValve1", 5));
+        trends.bind(l, "Feedwater" + loop + "#FlowRegulationValve1", 5);
         l.setLineColor(new Color(0, 192, 0));
         ax.addLine(2, l);
         l = new Line();
         le.addLine(l);
         l.setLabel("Main 1");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Feedwater" + loop + "#FlowRegulationValve2", 5));
+        trends.bind(l, "Feedwater" + loop + "#FlowRegulationValve2", 5);
         l.setLineColor(new Color(0, 128, 0));
         ax.addLine(2, l);
         l = new Line();
         le.addLine(l);
         l.setLabel("Main 2");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Feedwater" + loop + "#FlowRegulationValve3", 5));
+        trends.bind(l, "Feedwater" + loop + "#FlowRegulationValve3", 5);
         l.setLineColor(new Color(0, 64, 0));
         ax.addLine(2, l);
 
@@ -246,27 +224,24 @@ public class DiagramPresets {
         ax.ylabel(2, "Flow Valve Positions (%)");
     }
 
-    public static void debugTurbineWarmup(FigureJPane figure, ValueHandler plotData) {
+    public static void debugTurbineWarmup(FigureJPane figure, TrendLines trends) {
         Axes ax = figure.getLastAxes();
         Legend le = new Legend();
         ax.setHold(true);
         Line l;
         l = new Line();
         l.setLabel("HP In");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Turbine#DebugHPInTemp", 2));
+        trends.bind(l, "Turbine#DebugHPInTemp", 2);
         ax.addLine(l);
         le.addLine(l);
         l = new Line();
         l.setLabel("HP Out");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Turbine#DebugHPOutTemp", 2));
+        trends.bind(l, "Turbine#DebugHPOutTemp", 2);
         ax.addLine(l);
         le.addLine(l);
         l = new Line();
         l.setLabel("LP In");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Turbine#DebugLPInTemp", 2));
+        trends.bind(l, "Turbine#DebugLPInTemp", 2);
         ax.addLine(l);
         le.addLine(l);
 
@@ -279,7 +254,7 @@ public class DiagramPresets {
         le.setLocationInsideAxes(ax);
     }
 
-    public static void turbineHPTemperatures(FigureJPane figure, ValueHandler plotData, boolean debug) {
+    public static void turbineHPTemperatures(FigureJPane figure, TrendLines trends, boolean debug) {
         Axes ax = figure.getLastAxes();
         Legend le = new Legend();
         ax.setHold(true);
@@ -287,29 +262,25 @@ public class DiagramPresets {
 
         l = new Line();
         l.setLabel("Stator In");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureHpStatorIn", 5));
+        trends.bind(l, "Turbine#TemperatureHpStatorIn", 5);
         ax.addLine(l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Rotor In");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureHpRotorIn", 5));
+        trends.bind(l, "Turbine#TemperatureHpRotorIn", 5);
         ax.addLine(l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Stator Out");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureHpStatorOut", 5));
+        trends.bind(l, "Turbine#TemperatureHpStatorOut", 5);
         ax.addLine(l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Rotor Out");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureHpRotorOut", 5));
+        trends.bind(l, "Turbine#TemperatureHpRotorOut", 5);
         ax.addLine(l);
         le.addLine(l);
         
@@ -317,14 +288,12 @@ public class DiagramPresets {
         if (debug) {
             l = new Line();
             l.setLabel("Steam Temp In (Debug)");
-            l.setDataSource(plotData.getTime60(5),
-                    plotData.getParameterDoubleSeries("Turbine#DebugHPInTemp", 5));
+            trends.bind(l, "Turbine#DebugHPInTemp", 5);
             ax.addLine(l);
             le.addLine(l);
             l = new Line();
             l.setLabel("Steam Temp Out (Debug)");
-            l.setDataSource(plotData.getTime60(5),
-                    plotData.getParameterDoubleSeries("Turbine#DebugHPOutTemp", 5));
+            trends.bind(l, "Turbine#DebugHPOutTemp", 5);
             ax.addLine(l);
             le.addLine(l);
         }
@@ -338,7 +307,7 @@ public class DiagramPresets {
         le.setLocationInsideAxes(ax);
     }
     
-    public static void turbineLPTemperatures(FigureJPane figure, ValueHandler plotData, boolean debug) {
+    public static void turbineLPTemperatures(FigureJPane figure, TrendLines trends, boolean debug) {
         Axes ax = figure.getLastAxes();
         Legend le = new Legend();
         ax.setHold(true);
@@ -346,29 +315,25 @@ public class DiagramPresets {
 
         l = new Line();
         l.setLabel("Stator In");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureLpStatorIn", 5));
+        trends.bind(l, "Turbine#TemperatureLpStatorIn", 5);
         ax.addLine(l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Rotor In");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureLpRotorIn", 5));
+        trends.bind(l, "Turbine#TemperatureLpRotorIn", 5);
         ax.addLine(l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Stator Out");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureLpStatorOut", 5));
+        trends.bind(l, "Turbine#TemperatureLpStatorOut", 5);
         ax.addLine(l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Rotor Out");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine#TemperatureLpRotorOut", 5));
+        trends.bind(l, "Turbine#TemperatureLpRotorOut", 5);
         ax.addLine(l);
         le.addLine(l);
         
@@ -376,14 +341,12 @@ public class DiagramPresets {
         if (debug) {
             l = new Line();
             l.setLabel("Steam Temp In (Debug)");
-            l.setDataSource(plotData.getTime60(5),
-                    plotData.getParameterDoubleSeries("Turbine#DebugLPInTemp", 5));
+            trends.bind(l, "Turbine#DebugLPInTemp", 5);
             ax.addLine(l);
             le.addLine(l);
 //            l = new Line();
 //            l.setLabel("Steam Temp Out (Debug)");
-//            l.setDataSource(plotData.getTime60(5),
-//                    plotData.getParameterDoubleSeries("Turbine#DebugLPOutTemp", 5));
+//            trends.bind(l, "Turbine#DebugLPOutTemp", 5);
 //            ax.addLine(l);
 //            le.addLine(l);
         }
@@ -397,7 +360,7 @@ public class DiagramPresets {
         le.setLocationInsideAxes(ax);
     }
 
-    public static void turbineExpansion(FigureJPane figure, ValueHandler plotData) {
+    public static void turbineExpansion(FigureJPane figure, TrendLines trends) {
         figure.setYRulers(3);
         MYAxes ax = (MYAxes) figure.getLastAxes();
         Legend le = new Legend();
@@ -406,31 +369,27 @@ public class DiagramPresets {
         
         l = new Line();
         l.setLabel("HP Diff Exp");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Turbine#HPDiffExpansion", 2));
+        trends.bind(l, "Turbine#HPDiffExpansion", 2);
         ax.addLine(1, l);
         le.addLine(l);
         
         l = new Line();
         l.setLabel("LP Diff Exp");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Turbine#LPDiffExpansion", 2));
+        trends.bind(l, "Turbine#LPDiffExpansion", 2);
         l.setLineColor(new Color(0, 0, 0));
         ax.addLine(1, l);
         le.addLine(l);
         
         l = new Line();
         l.setLabel("Abs. Exp.");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Turbine#AbsExpansion", 2));
+        trends.bind(l, "Turbine#AbsExpansion", 2);
         l.setLineColor(new Color(0, 192, 0));
         ax.addLine(2, l);
         le.addLine(l);
         
         l = new Line();
         l.setLabel("Speed");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Turbine#Speed", 2));
+        trends.bind(l, "Turbine#Speed", 2);
         l.setLineColor(new Color(255, 0, 0));
         ax.addLine(3, l);
         le.addLine(l);
@@ -448,7 +407,7 @@ public class DiagramPresets {
         le.setLocationInsideAxes(ax);
     }
     
-    public static void reheaterControl(FigureJPane figure, ValueHandler plotData) {
+    public static void reheaterControl(FigureJPane figure, TrendLines trends) {
         figure.setYRulers(2);
 
         YYAxes ax = (YYAxes) figure.getLastAxes();
@@ -459,8 +418,7 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Reheater Out Temperature");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Turbine#ReheaterOutTemp", 1));
+        trends.bind(l, "Turbine#ReheaterOutTemp", 1);
         l.setMarker('x');
         l.setMarkerInterval(122);
         ax.addLine(1, l);
@@ -468,8 +426,7 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Turbine HP Out Temperature");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Turbine#HPOutTemp", 1));
+        trends.bind(l, "Turbine#HPOutTemp", 1);
         l.setLineColor(Color.RED);
         l.setMarker('o');
         l.setMarkerInterval(143);
@@ -478,8 +435,7 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Reheater Setpoint");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Turbine#ReheaterTemperatureSetpoint", 1));
+        trends.bind(l, "Turbine#ReheaterTemperatureSetpoint", 1);
         l.setLineColor(Color.BLACK);
         l.setMarker('s');
         l.setMarkerInterval(150);
@@ -488,8 +444,7 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Valve 1");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Turbine1#ReheaterSteamValve", 1));
+        trends.bind(l, "Turbine1#ReheaterSteamValve", 1);
         l.setLineColor(new Color(0, 192, 0));
         l.setMarker('o');
         l.setMarkerInterval(85);
@@ -498,8 +453,7 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Valve 2");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Turbine2#ReheaterSteamValve", 1));
+        trends.bind(l, "Turbine2#ReheaterSteamValve", 1);
         l.setLineColor(new Color(0, 192, 0));
         l.setMarker('v');
         l.setMarkerInterval(100);
@@ -518,7 +472,7 @@ public class DiagramPresets {
         ax.ylabel(2, "Valve Positions (%)");
     }
     
-    public static void loopPressureRelievValves(FigureJPane figure, ValueHandler plotData, int loop) {
+    public static void loopPressureRelievValves(FigureJPane figure, TrendLines trends, int loop) {
         figure.setYRulers(3);
 
         YYAxes ax = (MYAxes) figure.getLastAxes();
@@ -529,40 +483,35 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Drum Pressure");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Loop" + loop + "#DrumPressure", 2));
+        trends.bind(l, "Loop" + loop + "#DrumPressure", 2);
         ax.addLine(1, l);
         l.setLineColor(Color.BLUE);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("PRV to Bubbler Pool");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("PRV" + loop + "#ToPool", 2));
+        trends.bind(l, "PRV" + loop + "#ToPool", 2);
         ax.addLine(2, l);
         l.setLineColor(new Color(0, 192, 0));
         
         l = new Line();
         le.addLine(l);
         l.setLabel("PRV to Environment");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("PRV" + loop + "#ToEnvironment", 2));
+        trends.bind(l, "PRV" + loop + "#ToEnvironment", 2);
         ax.addLine(2, l);
         l.setLineColor(new Color(0, 255, 0));
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Flow to Bubbler Pool");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("PRV" + loop + "#ToPoolFlow", 2));
+        trends.bind(l, "PRV" + loop + "#ToPoolFlow", 2);
         ax.addLine(3, l);
         l.setLineColor(new Color(255,0,0));
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Flow into Environment");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("PRV" + loop + "#ToEnvironmentFlow", 2));
+        trends.bind(l, "PRV" + loop + "#ToEnvironmentFlow", 2);
         ax.addLine(3, l);
         l.setLineColor(new Color(255, 0, 0));
         
@@ -580,7 +529,7 @@ public class DiagramPresets {
         ax.ylabel(3, "Flow (kg/s)");
     }
     
-    public static void daSteam(FigureJPane figure, ValueHandler plotData, int loop) {
+    public static void daSteam(FigureJPane figure, TrendLines trends, int loop) {
         figure.setYRulers(3);
 
         YYAxes ax = (MYAxes) figure.getLastAxes();
@@ -591,40 +540,35 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Temperature");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Deaerator" + loop + "#Temperature", 5));
+        trends.bind(l, "Deaerator" + loop + "#Temperature", 5);
         ax.addLine(1, l);
         l.setLineColor(Color.BLUE);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Steam Valve");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Deaerator" + loop + "#SteamInRegValve", 5));
+        trends.bind(l, "Deaerator" + loop + "#SteamInRegValve", 5);
         ax.addLine(2, l);
         l.setLineColor(new Color(0, 192, 0));
       
         l = new Line();
         le.addLine(l);
         l.setLabel("Steam Flow");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Deaerator" + loop + "#SteamFlow", 5));
+        trends.bind(l, "Deaerator" + loop + "#SteamFlow", 5);
         ax.addLine(3, l);
         l.setLineColor(new Color(255,0,0));
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Condensate Flow");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Condensation" + loop + "#FlowToDA", 5));
+        trends.bind(l, "Condensation" + loop + "#FlowToDA", 5);
         ax.addLine(3, l);
         l.setLineColor(new Color(192, 0, 0));
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Reheater Condensate");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Turbine" + loop + "#ReheaterToDAFlow", 5));
+        trends.bind(l, "Turbine" + loop + "#ReheaterToDAFlow", 5);
         ax.addLine(3, l);
         l.setLineColor(new Color(192, 192, 0));
 
@@ -642,7 +586,7 @@ public class DiagramPresets {
         ax.ylabel(3, "Flow (kg/s)");
     }
     
-    public static void hotwellAndDaLevels(FigureJPane figure, ValueHandler plotData) {
+    public static void hotwellAndDaLevels(FigureJPane figure, TrendLines trends) {
         figure.setYRulers(2);
 
         YYAxes ax = (YYAxes) figure.getLastAxes();
@@ -653,24 +597,21 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("DA 1");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Deaerator1#Level", 5));
+        trends.bind(l, "Deaerator1#Level", 5);
         l.setLineColor(new Color(0, 0, 192));
         ax.addLine(1, l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("DA 2");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Deaerator2#Level", 5));
+        trends.bind(l, "Deaerator2#Level", 5);
         l.setLineColor(new Color(192, 0, 192));
         ax.addLine(1, l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Hotwell");
-        l.setDataSource(plotData.getTime60(5),
-                plotData.getParameterDoubleSeries("Hotwell#Level", 5));
+        trends.bind(l, "Hotwell#Level", 5);
         l.setLineColor(new Color(0, 128, 0));
         ax.addLine(2, l);
 
@@ -686,7 +627,7 @@ public class DiagramPresets {
         ax.ylabel(2, "Hotwell Level (cm)");
     }
     
-   public static void drumPressures(FigureJPane figure, ValueHandler plotData) {
+   public static void drumPressures(FigureJPane figure, TrendLines trends) {
         Axes ax = figure.getLastAxes();
         Legend le = new Legend();
         ax.setHold(true);
@@ -694,22 +635,19 @@ public class DiagramPresets {
 
         l = new Line();
         l.setLabel("Drum 1");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Loop1#DrumPressure", 2));
+        trends.bind(l, "Loop1#DrumPressure", 2);
         ax.addLine(l);
         le.addLine(l);
 
         l = new Line();
         l.setLabel("Drum 2");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("Loop2#DrumPressure", 2));
+        trends.bind(l, "Loop2#DrumPressure", 2);
         ax.addLine(l);
         le.addLine(l);
         
         l = new Line();
         l.setLabel("Setpoint");
-        l.setDataSource(plotData.getTime60(2),
-                plotData.getParameterDoubleSeries("LoopPressureSetpoint", 2));
+        trends.bind(l, "LoopPressureSetpoint", 2);
         ax.addLine(l);
         le.addLine(l);
 
@@ -722,7 +660,7 @@ public class DiagramPresets {
         le.setLocationInsideAxes(ax);
     }
     
-    public static void preheaterTemperaturesDebugging(FigureJPane figure, ValueHandler plotData) {
+    public static void preheaterTemperaturesDebugging(FigureJPane figure, TrendLines trends) {
         // figure.setYRulers(2);
         // YYAxes ax = (YYAxes) figure.getLastAxes();
         Axes ax = figure.getLastAxes();
@@ -733,43 +671,37 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Booster Pumps");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Condensate#TemperatureAfterBoosterPumps", 1));
+        trends.bind(l, "Condensate#TemperatureAfterBoosterPumps", 1);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Cooler 1 Out");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Preheater1#DebugCondensateCoolerOutTemp", 1));
+        trends.bind(l, "Preheater1#DebugCondensateCoolerOutTemp", 1);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Preheater 1 Out");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Preheater1#DebugHeatExchangerOutTemp", 1));
+        trends.bind(l, "Preheater1#DebugHeatExchangerOutTemp", 1);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Cooler 2 Out");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Preheater2#DebugCondensateCoolerOutTemp", 1));
+        trends.bind(l, "Preheater2#DebugCondensateCoolerOutTemp", 1);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Preheater 2 Out");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Preheater2#DebugHeatExchangerOutTemp", 1));
+        trends.bind(l, "Preheater2#DebugHeatExchangerOutTemp", 1);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Preheater 3 Out");
-        l.setDataSource(plotData.getTime60(1),
-                plotData.getParameterDoubleSeries("Preheater3#DebugHeatExchangerOutTemp", 1));
+        trends.bind(l, "Preheater3#DebugHeatExchangerOutTemp", 1);
         ax.addLine(l);
 
         ax.yLim(0, 300);
@@ -782,7 +714,7 @@ public class DiagramPresets {
         ax.ylabel("Temperature (°C)");
     }
     
-    public static void coreReactivityComponents(FigureJPane figure, ValueHandler plotData) {
+    public static void coreReactivityComponents(FigureJPane figure, TrendLines trends) {
         Axes ax = figure.getLastAxes();
         Legend le = new Legend();
         ax.setHold(true);
@@ -793,36 +725,31 @@ public class DiagramPresets {
         l = new Line();
         le.addLine(l);
         l.setLabel("Xenon");
-        l.setDataSource(plotData.getTime60(timeDiv),
-                plotData.getParameterDoubleSeries("Reactor#ReactivityXenon", timeDiv));
+        trends.bind(l, "Reactor#ReactivityXenon", timeDiv);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Graphite");
-        l.setDataSource(plotData.getTime60(timeDiv),
-                plotData.getParameterDoubleSeries("Reactor#ReactivityGraphite", timeDiv));
+        trends.bind(l, "Reactor#ReactivityGraphite", timeDiv);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Temperature");
-        l.setDataSource(plotData.getTime60(timeDiv),
-                plotData.getParameterDoubleSeries("Reactor#ReactivityTemperature", timeDiv));
+        trends.bind(l, "Reactor#ReactivityTemperature", timeDiv);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Voiding");
-        l.setDataSource(plotData.getTime60(timeDiv),
-                plotData.getParameterDoubleSeries("Reactor#ReactivityVoding", timeDiv));
+        trends.bind(l, "Reactor#ReactivityVoding", timeDiv);
         ax.addLine(l);
         
         l = new Line();
         le.addLine(l);
         l.setLabel("Rod Absorption");
-        l.setDataSource(plotData.getTime60(timeDiv),
-                plotData.getParameterDoubleSeries("Reactor#RodAbsorption", timeDiv));
+        trends.bind(l, "Reactor#RodAbsorption", timeDiv);
         ax.addLine(l);
         
         ax.yLim(0, 100);
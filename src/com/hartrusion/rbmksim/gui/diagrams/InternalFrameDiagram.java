@@ -63,7 +63,35 @@ public class InternalFrameDiagram extends javax.swing.JInternalFrame {
     // End of variables declaration//GEN-END:variables
 
     
+    /**
+     * Lines of this diagram that show values of the trend history, null if
+     * the diagram does not use the history.
+     */
+    private TrendLines trendLines;
+
+    /**
+     * Creates the connection of this diagrams lines to the history. The
+     * recording of the values stops as soon as the frame is closed.
+     *
+     * @param history History that records the values
+     * @return Instance to bind the lines of this diagram to.
+     */
+    public TrendLines createTrendLines(TrendHistory history) {
+        trendLines = new TrendLines(history);
+        addInternalFrameListener(new javax.swing.event.InternalFrameAdapter() {
+            @Override
+            public void internalFrameClosed(
+                    javax.swing.event.InternalFrameEvent e) {
+                trendLines.release();
+            }
+        });
+        return trendLines;
+    }
+
     public void updatePlots() {
+        if (trendLines != null) {
+            trendLines.update();
+        }
         figureJPane1.notifyDataChanged();
     }
     
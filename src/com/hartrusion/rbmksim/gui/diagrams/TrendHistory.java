@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim.gui.diagrams;
+
+import com.hartrusion.values.ValueHandler;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the history of values for the line diagrams. Only parameters that
+ * are used by an open diagram are recorded, each one in its own ring buffer
+ * of primitive doubles. The buffers are allocated on subscription and never
+ * grow, so the memory does not depend on how long the session runs and
+ * recording a value does not allocate anything.
+ * <p>
+ * A trend records every timeDiv-th cycle, with one cycle each 100 ms the
+ * line of a diagram shows the last WINDOW_SAMPLES values, which is 60
+ * seconds times timeDiv. The ring holds exactly that window, there is no
+ * scroll back in the diagrams that could show anything older.
+ * <p>
+ * Single values are read by index in O(1). The lines of jmplot only take
+ * their data as float arrays with setData, so a line gets the whole window
+ * copied with copyWindow when its trend got a new value, which is O(window)
+ * for that cycle. Trends without a new value are not copied again.
+ * <p>
+ * Subscriptions are counted, two diagrams showing the same parameter with
+ * the same timeDiv share one trend. Everything here is to be used from the
+ * EDT only.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class TrendHistory {
+
+    private static final Logger LOGGER = Logger.getLogger(
+            TrendHistory.class.getName());
+
+    /**
+     * Number of values that are shown by a line, 60 s with 10 values per
+     * second.
+     */
+    public static final int WINDOW_SAMPLES = 600;
+
+    /**
+     * History of one parameter, time and value in two rings.
+     */
+    public static final class Trend {
+
+        private final String parameter;
+        private final int timeDiv;
+        private final double[] time;
+        private final double[] values;
+
+        /**
+         * Index where the next value will be written.
+         */
+        private int head;
+        private int count;
+
+        /**
+         * Number of all values that were ever appended, to detect changes.
+         */
+        private long appendCount;
+        private int cycleCounter;
+        private int subscribers;
+
+        private Trend(String parameter, int timeDiv, int capacity) {
+            this.parameter = parameter;
+            this.timeDiv = timeDiv;
+            time = new double[capacity];
+            values = new double[capacity];
+        }
+
+        private void append(double t, double value) {
+            time[head] = t;
+            values[head] = value;
+            head++;
+            if (head == time.length) {
+                head = 0;
+            }
+            if (count < time.length) {
+                count++;
+            }
+            appendCount++;
+        }
+
+        public String getParameter() {
+            return parameter;
+        }
+
+        public int getTimeDiv() {
+            return timeDiv;
+        }
+
+        /**
+         * @return Number of values in the ring, up to its capacity.
+         */
+        public int size() {
+            return count;
+        }
+
+        /**
+         * @return Number of values that were appended since the trend was
+         * created, changes with each new value.
+         */
+        public long getAppendCount() {
+            return appendCount;
+        }
+
+        public int getCapacity() {
+            return time.length;
+        }
+
+        /**
+         * Time of a recorded value, 0 is the oldest one.
+         *
+         * @param idx 0 to size() - 1
+         * @return Simulation time in seconds
+         */
+        public double getTime(int idx) {
+            return time[ringIndex(idx)];
+        }
+
+        /**
+         * Recorded value, 0 is the oldest one.
+         *
+         * @param idx 0 to size() - 1
+         * @return Value of the parameter
+         */
+        public double getValue(int idx) {
+            return values[ringIndex(idx)];
+        }
+
+        private int ringIndex(int idx) {
+            int ring = head - count + idx;
+            return ring < 0 ? ring + time.length : ring;
+        }
+
+        /**
+         * Copies the newest values into the given arrays, the time is in
+         * minutes. If there are less values than the arrays can hold, only
+         * the beginning is written.
+         *
+         * @param x Receives the time
+         * @param y Receives the values
+         * @return Number of values that were written.
+         */
+        public int copyWindow(float[] x, float[] y) {
+            int n = Math.min(count, Math.min(x.length, y.length));
+            int first = count - n;
+            int ring;
+            for (int idx = 0; idx < n; idx++) {
+                ring = ringIndex(first + idx);
+                x[idx] = (float) (time[ring] / 60.0);
+                y[idx] = (float) values[ring];
+            }
+            return n;
+        }
+    }
+
+    private final Map<String, Trend> trends = new HashMap<>();
+
+    /**
+     * Same trends as in the map, to iterate them on each record.
+     */
+    private final List<Trend> trendList = new ArrayList<>();
+
+    /**
+     * Starts recording the given parameter, or returns the trend that is
+     * already recorded. Each call has to be paired with an unsubscribe.
+     *
+     * @param parameter Name of the parameter
+     * @param timeDiv Record each timeDiv-th cycle, 1 for every cycle
+     * @return The trend with the recorded values.
+     */
+    public Trend subscribe(String parameter, int timeDiv) {
+        String key = parameter + "/" + timeDiv;
+        Trend trend = trends.get(key);
+        if (trend == null) {
+            trend = new Trend(parameter, timeDiv, WINDOW_SAMPLES);
+            trends.put(key, trend);
+            trendList.add(trend);
+            LOGGER.log(Level.INFO, "Recording " + key + ", history uses "
+                    + getMemoryUsage() / 1024 + " kB");
+        }
+        trend.subscribers++;
+        return trend;
+    }
+
+    /**
+     * Stops recording if there is no other subscriber to the trend left, the
+     * memory of it will be released.
+     *
+     * @param trend Trend that was returned by subscribe
+     */
+    public void unsubscribe(Trend trend) {
+        trend.subscribers--;
+        if (trend.subscribers <= 0) {
+            trends.remove(trend.parameter + "/" + trend.timeDiv);
+            trendList.remove(trend);
+        }
+    }
+
+    /**
+     * Records the current values of all subscribed parameters, to be called
+     * once for each received snapshot.
+     *
+     * @param time Simulation time in seconds
+     * @param values ValueHandler with the current values
+     */
+    public void record(double time, ValueHandler values) {
+        for (Trend trend : trendList) {
+            trend.cycleCounter++;
+            if (trend.cycleCounter >= trend.timeDiv) {
+                trend.cycleCounter = 0;
+                trend.append(time, values.getParameterDouble(trend.parameter));
+            }
+        }
+    }
+
+    public int getTrendCount() {
+        return trendList.size();
+    }
+
+    /**
+     * @return Memory used by the ring buffers in bytes.
+     */
+    public long getMemoryUsage() {
+        long bytes = 0;
+        for (Trend trend : trendList) {
+            bytes += 2L * Double.BYTES * trend.getCapacity();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim.gui.diagrams;
+
+import com.hartrusion.plot.Line;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connects the lines of one diagram to the trends of the TrendHistory. Each
+ * line gets its own float arrays for the data, the newest window of the trend
+ * is copied into them when the trend got a new value, so updating does not
+ * allocate anything.
+ * The subscriptions have to be released when the diagram is closed.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class TrendLines {
+
+    private static final class Binding {
+
+        private final Line line;
+        private final TrendHistory.Trend trend;
+        private final float[] x = new float[TrendHistory.WINDOW_SAMPLES];
+        private final float[] y = new float[TrendHistory.WINDOW_SAMPLES];
+
+        /**
+         * Arrays with the exact length while the trend is not filled yet.
+         */
+        private float[] partialX;
+        private float[] partialY;
+
+        /**
+         * Append count of the trend at the last update, -1 before the first.
+         */
+        private long updatedCount = -1;
+
+        private Binding(Line line, TrendHistory.Trend trend) {
+            this.line = line;
+            this.trend = trend;
+        }
+
+        private void update() {
+            // Most trends record only each timeDiv-th cycle, nothing to copy
+            // in between.
+            if (trend.getAppendCount() == updatedCount) {
+                return;
+            }
+            updatedCount = trend.getAppendCount();
+            int n = trend.copyWindow(x, y);
+            if (n == x.length) {
+                line.setData(x, y);
+                partialX = null;
+                partialY = null;
+                return;
+            }
+            // Only during the first window, the line must not show the
+            // unused zeros at the end.
+            if (partialX == null || partialX.length != n) {
+                partialX = new float[n];
+                partialY = new float[n];
+            }
+            System.arraycopy(x, 0, partialX, 0, n);
+            System.arraycopy(y, 0, partialY, 0, n);
+            line.setData(partialX, partialY);
+        }
+    }
+
+    private final TrendHistory history;
+
+    private final List<Binding> bindings = new ArrayList<>();
+
+    public TrendLines(TrendHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Makes the line show the history of the given parameter.
+     *
+     * @param line Line of the diagram
+     * @param parameter Name of the parameter
+     * @param timeDiv Record each timeDiv-th cycle, the line shows 60 seconds
+     * times timeDiv.
+     */
+    public void bind(Line line, String parameter, int timeDiv) {
+        bindings.add(new Binding(line,
+                history.subscribe(parameter, timeDiv)));
+    }
+
+    /**
+     * Writes the newest values to all lines.
+     */
+    public void update() {
+        for (Binding b : bindings) {
+            b.update();
+        }
+    }
+
+    /**
+     * Stops recording the parameters of this diagram.
+     */
+    public void release() {
+        for (Binding b : bindings) {
+            history.unsubscribe(b.trend);
+        }
+        bindings.clear();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+/**
+ * Verifies the multi rate calculation of the slow reactor models. The xenon
+ * and graphite models are run once with each step of 0.1 s as a reference
+ * and once the same way as the ReactorCore does it, with the average flux
+ * each second. Both are fed with the same flux and the maximum deviation of
+ * the outputs is compared against the allowed error bound. Throws an
+ * AssertionError if the bound is exceeded.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class MultiRateVerification {
+
+    /**
+     * Maximum allowed deviation of the model outputs in percent. Most of the
+     * deviation is from the larger forward euler step, not from averaging
+     * the flux, it is about 0.15 % for xenon and 0.35 % for graphite.
+     */
+    static final double ERROR_BOUND = 0.5;
+
+    /**
+     * Returns the neutron flux for the given time in seconds. This is the
+     * accident sequence from XenonBuildup with a small oscillation added,
+     * which is faster than the period of the slow models.
+     */
+    private double neutronFlux(double time) {
+        double minutes = time / 60;
+        double flux;
+        if (minutes > 49) {
+            flux = 6.3;
+        } else if (minutes > 48) {
+            flux = 6 * minutes - 287.7;
+        } else if (minutes > 45) {
+            flux = 0.9;
+        } else if (minutes > 42) {
+            flux = -16.3666666666667 * minutes + 737.4;
+        } else if (minutes > 7) {
+            flux = 50;
+        } else if (minutes > 5) {
+            flux = -25 * minutes + 225;
+        } else {
+            flux = 100;
+        }
+        return flux * (1.0 + 0.05 * Math.sin(2 * Math.PI * time / 0.7));
+    }
+
+    public void run() {
+        final long stepMillis = 100;
+        final int steps = 60 * 60 * 10; // 1 h
+
+        SimulationClock clock = new SimulationClock(stepMillis);
+        XenonModel xenonReference = new XenonModel();
+        XenonModel xenonModel = new XenonModel();
+        GraphiteEffectModel graphiteReference = new GraphiteEffectModel();
+        GraphiteEffectModel graphiteModel = new GraphiteEffectModel();
+        MultiRateInput xenonInput = new MultiRateInput(1000, 0);
+        MultiRateInput graphiteInput = new MultiRateInput(1000, 500);
+
+        xenonReference.setInititalState(100, 100);
+        xenonModel.setInititalState(100, 100);
+        xenonReference.setStepTime(clock.getStepTime());
+        graphiteReference.setStepTime(clock.getStepTime());
+
+        double flux;
+        double xenonError = 0.0;
+        double graphiteError = 0.0;
+        for (int idx = 0; idx < steps; idx++) {
+            flux = neutronFlux(clock.getTime());
+
+            xenonReference.setInputs(flux);
+            xenonReference.run();
+            graphiteReference.setInputs(flux);
+            graphiteReference.run();
+
+            xenonInput.add(flux);
+            if (xenonInput.isDue(clock)) {
+                xenonModel.setStepTime(xenonInput.getStepTime(clock));
+                xenonModel.setInputs(xenonInput.getAverage());
+                xenonModel.run();
+                xenonInput.reset();
+            }
+            graphiteInput.add(flux);
+            if (graphiteInput.isDue(clock)) {
+                graphiteModel.setStepTime(graphiteInput.getStepTime(clock));
+                graphiteModel.setInputs(graphiteInput.getAverage());
+                graphiteModel.run();
+                graphiteInput.reset();
+            }
+
+            // The multi rate models lag behind up to one period, compare
+            // only when both have seen the same input.
+            if (clock.isDue(1000, 0)) {
+                xenonError = Math.max(xenonError, Math.abs(
+                        xenonModel.getYXenon() - xenonReference.getYXenon()));
+            }
+            if (clock.isDue(1000, 500)) {
+                graphiteError = Math.max(graphiteError, Math.abs(
+                        graphiteModel.getYGraphie()
+                        - graphiteReference.getYGraphie()));
+            }
+            clock.advance();
+        }
+
+        System.out.printf("Xenon:    max deviation %.6f %%%n", xenonError);
+        System.out.printf("Graphite: max deviation %.6f %%%n", graphiteError);
+        if (xenonError > ERROR_BOUND || graphiteError > ERROR_BOUND) {
+            throw new AssertionError("Deviation of the multi rate models "
+                    + "is above " + ERROR_BOUND + " %.");
+        }
+    }
+
+    /**
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        MultiRateVerification app = new MultiRateVerification();
+        app.run();
+    }
+}
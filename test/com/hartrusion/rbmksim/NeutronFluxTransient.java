@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Compares the neutron flux model with fixed forward euler steps and with
+ * adaptive sub steps against a reference that is calculated with a very
+ * small step time. Two transients are used, a fast rod withdrawal that gets
+ * close to the prompt excursion and a scram. Prints the maximum deviation
+ * and the number of sub steps used.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class NeutronFluxTransient {
+
+    /**
+     * Step time of the simulation in seconds.
+     */
+    static final double STEP_TIME = 0.1;
+
+    /**
+     * Number of steps the reference uses for each step of the simulation.
+     */
+    static final int REFERENCE_DIVISION = 1000;
+
+    /**
+     * Absorber rod input for the withdrawal: steady at 60 % and pulled to
+     * 53 % within 2 seconds, this is just below the prompt excursion.
+     */
+    private double withdrawal(double time) {
+        if (time < 1.0) {
+            return 60.0;
+        } else if (time < 3.0) {
+            return 60.0 - 3.5 * (time - 1.0);
+        }
+        return 53.0;
+    }
+
+    /**
+     * Absorber rod input for the scram, the rods are inserted from 60 % to
+     * 100 % within 4 seconds.
+     */
+    private double scram(double time) {
+        if (time < 1.0) {
+            return 60.0;
+        } else if (time < 5.0) {
+            return 60.0 + 10.0 * (time - 1.0);
+        }
+        return 100.0;
+    }
+
+    private NeutronFluxModel createModel(double stepTime, boolean adaptive) {
+        NeutronFluxModel model = new NeutronFluxModel();
+        model.setStepTime(stepTime);
+        model.setAdaptiveStepping(adaptive);
+        model.setInitialConditions(60.0, 60.0, 50.0);
+        model.setInputs(60.0, 60.0);
+        return model;
+    }
+
+    public void compare(String name, DoubleUnaryOperator rods,
+            double duration) {
+        NeutronFluxModel reference = createModel(
+                STEP_TIME / REFERENCE_DIVISION, false);
+        NeutronFluxModel euler = createModel(STEP_TIME, false);
+        NeutronFluxModel adaptive = createModel(STEP_TIME, true);
+
+        int steps = (int) Math.round(duration / STEP_TIME);
+        double time, eulerError = 0.0, adaptiveError = 0.0;
+        int maxSubSteps = 0, totalSubSteps = 0;
+        for (int idx = 0; idx < steps; idx++) {
+            time = idx * STEP_TIME;
+            for (int jdx = 0; jdx < REFERENCE_DIVISION; jdx++) {
+                reference.setInputs(rods.applyAsDouble(time), 60.0);
+                reference.run();
+            }
+            euler.setInputs(rods.applyAsDouble(time), 60.0);
+            euler.run();
+            adaptive.setInputs(rods.applyAsDouble(time), 60.0);
+            adaptive.run();
+            maxSubSteps = Math.max(maxSubSteps, adaptive.getSubSteps());
+            totalSubSteps += adaptive.getSubSteps();
+
+            eulerError = Math.max(eulerError, relativeError(
+                    euler.getYNeutronFlux(), reference.getYNeutronFlux()));
+            adaptiveError = Math.max(adaptiveError, relativeError(
+                    adaptive.getYNeutronFlux(), reference.getYNeutronFlux()));
+        }
+        System.out.printf("%-10s euler: %8.4f %%, adaptive: %8.4f %%, "
+                + "sub steps avg %.2f max %d, prompt excursion: %b%n", name,
+                eulerError * 100, adaptiveError * 100,
+                (double) totalSubSteps / steps, maxSubSteps,
+                reference.isPromptExcursion());
+    }
+
+    /**
+     * Relative error, flux values below 0.1 % are compared absolute.
+     */
+    private double relativeError(double value, double reference) {
+        return Math.abs(value - reference) / Math.max(reference, 0.1);
+    }
+
+    public void run() {
+        compare("Withdrawal", this::withdrawal, 60.0);
+        compare("Scram", this::scram, 30.0);
+    }
+
+    /**
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        NeutronFluxTransient app = new NeutronFluxTransient();
+        app.run();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import com.hartrusion.modeling.phasedfluid.Water;
+
+/**
+ * Compares the SteamTable against the functions of Water for different table
+ * resolutions. Checks the maximum error against the allowed error bound and
+ * that the interpolated saturation temperature is monotone. Prints the
+ * results and throws an AssertionError if the default table does not meet
+ * the error bound.
+ *
+ * @author Viktor Alexander Hartung
+ */
+public class SteamTableAccuracy {
+
+    /**
+     * Maximum allowed error of the saturation temperature in Kelvin.
+     */
+    static final double ERROR_BOUND = 0.01;
+
+    /**
+     * Number of pressures to check, spaced logarithmic over the table range.
+     */
+    static final int SAMPLES = 200000;
+
+    /**
+     * Checks one table and returns the maximum error.
+     */
+    public double check(SteamTable table) {
+        double logMin = Math.log(table.getMinPressure());
+        double logMax = Math.log(table.getMaxPressure());
+        double pressure, value, error;
+        double maxError = 0.0;
+        double maxErrorPressure = 0.0;
+        double lastValue = Double.NEGATIVE_INFINITY;
+        for (int idx = 0; idx < SAMPLES; idx++) {
+            pressure = Math.exp(logMin
+                    + (logMax - logMin) * idx / (SAMPLES - 1));
+            value = table.getSaturationTemperature(pressure);
+            error = Math.abs(value
+                    - Water.INSTANCE.getSaturationTemperature(pressure));
+            if (error > maxError) {
+                maxError = error;
+                maxErrorPressure = pressure;
+            }
+            if (value < lastValue) {
+                throw new AssertionError("Not monotone at "
+                        + pressure + " Pa");
+            }
+            lastValue = value;
+        }
+        System.out.printf("%6d points: max error %.6f K at %.1f Pa%n",
+                table.size(), maxError, maxErrorPressure);
+        return maxError;
+    }
+
+    public void run() {
+        for (int points : new int[]{128, 256, 512, 1024, 2048}) {
+            check(new SteamTable(1e3, 2.2e7, points));
+        }
+        double error = check(SteamTable.INSTANCE);
+        if (error > ERROR_BOUND) {
+            throw new AssertionError("Default steam table error " + error
+                    + " K is above " + ERROR_BOUND + " K.");
+        }
+        if (SteamTable.INSTANCE.getSpecificHeatCapacity()
+                != Water.INSTANCE.getSpecificHeatCapacity()
+                || SteamTable.INSTANCE.getVaporizationHeatEnergy()
+                != Water.INSTANCE.getVaporizationHeatEnergy()) {
+            throw new AssertionError("Constants differ from Water.");
+        }
+        System.out.println("Steam table is within the error bound of "
+                + ERROR_BOUND + " K.");
+    }
+
+    public static void main(String args[]) {
+        SteamTableAccuracy app = new SteamTableAccuracy();
+        app.run();
+    }
+}
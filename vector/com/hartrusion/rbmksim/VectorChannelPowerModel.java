@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2026 Viktor Alexander Hartung
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hartrusion.rbmksim;
+
+import static com.hartrusion.rbmksim.FuelChannelKernel.DECAY_DOWN_MODIFIER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.DISTRIBUTED_FLUX;
+import static com.hartrusion.rbmksim.FuelChannelKernel.FLUX_TO_DISPLAY_POWER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.FLUX_TO_POWER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.LOCAL_IDLE_POWER;
+import static com.hartrusion.rbmksim.FuelChannelKernel.P_DECAY;
+import static com.hartrusion.rbmksim.FuelChannelKernel.REFERENCE_CHANNELS;
+import static com.hartrusion.rbmksim.FuelChannelKernel.T_DECAY;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Power model of the fuel channels using the incubating vector API, it
+ * calculates as many channels at once as the CPU supports. This class is in
+ * its own source directory as it can only be compiled with --add-modules
+ * jdk.incubator.vector, it is loaded by FuelChannelKernel.createPowerModel if
+ * the module is available at runtime.
+ * <p>
+ * The operations are done in exactly the same order as in the scalar
+ * implementation, without fused multiply add, so the results are exactly the
+ * same. The branches of the scalar model are replaced by masks. The remaining
+ * channels that do not fill a whole vector are calculated by the scalar
+ * implementation. The sum of the display power is also done in a scalar loop
+ * afterwards as adding up the lanes would change the order of the additions.
+ *
+ * @author Viktor Alexander Hartung
+ */
+final class VectorChannelPowerModel implements ChannelPowerModel {
+
+    private static final VectorSpecies<Double> SPECIES
+            = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public double runPowerModel(FuelChannelKernel kernel, int from, int to) {
+        final double globalFlux = kernel.getGlobalFlux();
+        final double averageAffection = kernel.getAverageAffection();
+        final double stepTime = kernel.getStepTime();
+        final double[] affection = kernel.affection;
+        final double[] localFlux = kernel.localFlux;
+        final double[] radialWeight = kernel.radialWeight;
+        final double[] xFirstDelay = kernel.xFirstDelay;
+        final double[] xDelayedPower = kernel.xDelayedPower;
+        final double[] fissionPower = kernel.fissionPower;
+        final double[] fissionPowerDisplay = kernel.fissionPowerDisplay;
+        final double[] fuelTemperature = kernel.fuelTemperature;
+        final double[] thermalFlow = kernel.thermalFlow;
+
+        // Same constant parts as in the scalar formula, evaluated in the same
+        // order.
+        final double undistributedFlux = globalFlux * (1.0 - DISTRIBUTED_FLUX);
+        final double distributedFlux = globalFlux * DISTRIBUTED_FLUX;
+        final DoubleVector zero = DoubleVector.zero(SPECIES);
+
+        DoubleVector localAffection, flux, xFirst, xDelayed, dXFirstDelay,
+                dXDelayedPower, delayedStep, heat, power, heatFlow;
+        VectorMask<Double> decreasing, overheated;
+
+        int idx = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        for (; idx < upperBound; idx += SPECIES.length()) {
+            if (averageAffection > 0.0) {
+                localAffection = DoubleVector.fromArray(
+                        SPECIES, affection, idx).div(averageAffection);
+            } else {
+                localAffection = DoubleVector.broadcast(SPECIES, 1.0);
+            }
+
+            flux = DoubleVector.broadcast(SPECIES, undistributedFlux)
+                    .add(localAffection.mul(distributedFlux))
+                    .add(DoubleVector.fromArray(SPECIES, radialWeight, idx)
+                            .sub(1.0).mul(globalFlux))
+                    .div(REFERENCE_CHANNELS);
+            flux.intoArray(localFlux, idx);
+
+            xFirst = DoubleVector.fromArray(SPECIES, xFirstDelay, idx);
+            xDelayed = DoubleVector.fromArray(SPECIES, xDelayedPower, idx);
+            dXFirstDelay = flux.mul(P_DECAY).sub(xFirst).div(T_DECAY);
+            dXDelayedPower = xFirst.sub(xDelayed).div(T_DECAY);
+
+            // Forward Euler, the decay goes down slower.
+            xFirst = xFirst.add(dXFirstDelay.mul(stepTime));
+            xFirst.intoArray(xFirstDelay, idx);
+            decreasing = dXDelayedPower.compare(VectorOperators.LT, 0.0);
+            delayedStep = dXDelayedPower.mul(stepTime);
+            delayedStep = delayedStep.blend(
+                    delayedStep.mul(DECAY_DOWN_MODIFIER), decreasing);
+            xDelayed = xDelayed.add(delayedStep);
+            xDelayed.intoArray(xDelayedPower, idx);
+
+            heat = flux.mul(1 - P_DECAY).add(xDelayed);
+
+            power = heat.mul(FLUX_TO_POWER).add(LOCAL_IDLE_POWER);
+            power.intoArray(fissionPower, idx);
+
+            overheated = DoubleVector.fromArray(SPECIES, fuelTemperature, idx)
+                    .compare(VectorOperators.GT, 7000.0);
+            heatFlow = power.mul(1e6).blend(zero, overheated); // MW to W
+            heatFlow.intoArray(thermalFlow, idx);
+
+            heat.mul(FLUX_TO_DISPLAY_POWER).intoArray(fissionPowerDisplay, idx);
+        }
+
+        // Remaining channels
+        if (idx < to) {
+            ScalarChannelPowerModel.INSTANCE.runPowerModel(kernel, idx, to);
+        }
+
+        double displaySum = 0.0;
+        for (idx = from; idx < to; idx++) {
+            displaySum += fissionPowerDisplay[idx];
+        }
+        return displaySum;
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+}